@@ -0,0 +1,81 @@
+package dev.danilbel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ArithmeticBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000", "10000000"})
+    public int digits;
+
+    private BigInt first;
+    private BigInt second;
+    private BigInt negativeSecond;
+    private BigInt firstCopy;
+
+    @Setup
+    public void setUp() {
+        first = Operands.random(digits, 1);
+        second = Operands.random(digits, 2);
+        negativeSecond = second.negate();
+        firstCopy = new BigInt(first.toString());
+    }
+
+    @Benchmark
+    public BigInt add() {
+        return first.add(second);
+    }
+
+    @Benchmark
+    public BigInt addOppositeSigns() {
+        return first.add(negativeSecond);
+    }
+
+    @Benchmark
+    public BigInt subtract() {
+        return first.subtract(second);
+    }
+
+    @Benchmark
+    public BigInt multiply() {
+        return first.multiply(second);
+    }
+
+    @Benchmark
+    public BigInt parallelMultiply() {
+        return first.parallelMultiply(second);
+    }
+
+    @Benchmark
+    public BigInt square() {
+        return first.square();
+    }
+
+    @Benchmark
+    public BigInt negate() {
+        return first.negate();
+    }
+
+    @Benchmark
+    public boolean isLessThan() {
+        return first.isLessThan(firstCopy);
+    }
+
+    @Benchmark
+    public boolean isEqualsTo() {
+        return first.isEqualsTo(firstCopy);
+    }
+}
@@ -0,0 +1,42 @@
+package dev.danilbel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConversionBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000", "10000000"})
+    public int digits;
+
+    private String decimal;
+    private BigInt number;
+
+    @Setup
+    public void setUp() {
+        decimal = Operands.randomDigits(digits, 9);
+        number = new BigInt(decimal);
+    }
+
+    @Benchmark
+    public BigInt parse() {
+        return new BigInt(decimal);
+    }
+
+    @Benchmark
+    public String toDecimalString() {
+        return number.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package dev.danilbel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Divides a {@code digits}-digit dividend by a divisor of half its length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DivisionBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000", "10000000"})
+    public int digits;
+
+    private BigInt dividend;
+    private BigInt divisor;
+
+    @Setup
+    public void setUp() {
+        dividend = Operands.random(digits, 3);
+        divisor = Operands.random(Math.max(1, digits / 2), 4);
+    }
+
+    @Benchmark
+    public BigInt divide() {
+        return dividend.divide(divisor);
+    }
+
+    @Benchmark
+    public BigInt remainder() {
+        return dividend.remainder(divisor);
+    }
+
+    @Benchmark
+    public BigInt[] divideAndRemainder() {
+        return dividend.divideAndRemainder(divisor);
+    }
+
+    @Benchmark
+    public BigInt mod() {
+        return dividend.mod(divisor);
+    }
+}
@@ -0,0 +1,52 @@
+package dev.danilbel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Modular exponentiation with a {@code digits}-digit base, exponent and modulus. The running time
+ * grows with the cube of the size, so the sizes stop well below the other benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ModPowBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int digits;
+
+    private BigInt base;
+    private BigInt exponent;
+    private BigInt oddModulus;
+    private BigInt evenModulus;
+
+    @Setup
+    public void setUp() {
+        base = Operands.random(digits, 6);
+        exponent = Operands.random(digits, 7);
+        BigInt modulus = Operands.random(digits, 8);
+        BigInt two = new BigInt(2);
+        oddModulus = modulus.remainder(two).isEqualsTo(new BigInt(0)) ? modulus.add(new BigInt(1)) : modulus;
+        evenModulus = oddModulus.add(new BigInt(1));
+    }
+
+    @Benchmark
+    public BigInt modPowOddModulus() {
+        return base.modPow(exponent, oddModulus);
+    }
+
+    @Benchmark
+    public BigInt modPowEvenModulus() {
+        return base.modPow(exponent, evenModulus);
+    }
+}
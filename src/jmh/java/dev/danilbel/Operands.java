@@ -0,0 +1,26 @@
+package dev.danilbel;
+
+import java.util.Random;
+
+final class Operands {
+
+    private Operands() {
+    }
+
+    /**
+     * Returns a decimal string of exactly {@code digits} digits without a leading zero.
+     */
+    static String randomDigits(int digits, long seed) {
+        Random random = new Random(seed);
+        char[] chars = new char[digits];
+        chars[0] = (char) ('1' + random.nextInt(9));
+        for (int i = 1; i < digits; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    static BigInt random(int digits, long seed) {
+        return new BigInt(randomDigits(digits, seed));
+    }
+}
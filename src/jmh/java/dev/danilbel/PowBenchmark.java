@@ -0,0 +1,41 @@
+package dev.danilbel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Raises a base of up to 20 digits to the power that gives a result of about {@code digits} digits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PowBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000", "10000000"})
+    public int digits;
+
+    private BigInt base;
+    private int exponent;
+
+    @Setup
+    public void setUp() {
+        int baseDigits = Math.min(20, digits);
+        base = Operands.random(baseDigits, 5);
+        exponent = digits / baseDigits;
+    }
+
+    @Benchmark
+    public BigInt pow() {
+        return base.pow(exponent);
+    }
+}
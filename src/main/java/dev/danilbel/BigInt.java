@@ -1,62 +1,168 @@
 package dev.danilbel;
 
-import java.util.ArrayList;
+import dev.danilbel.BigIntMetrics.Algorithm;
+import dev.danilbel.BigIntMetrics.Operation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntBinaryOperator;
 
 public class BigInt {
 
-    private static final String REGEX_INTEGER = "-?\\d+";
+    // null for magnitudes below 2^63, which are held in small instead
+    private final int[] limbs;
+    private final int length;
+    private final boolean isNegative;
+    private final long small;
 
-    private final ArrayList<Integer> digits = new ArrayList<>();
-    private boolean isNegative = false;
+    private final static int CACHE_LOW = -128;
+    private final static int CACHE_HIGH = 1024;
+    private final static BigInt[] CACHE = new BigInt[CACHE_HIGH - CACHE_LOW + 1];
 
-    private final static BigInt ZERO = new BigInt(0);
-    private final static BigInt ONE = new BigInt(1);
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new BigInt((long) (i + CACHE_LOW));
+        }
+    }
+
+    private final static BigInt ZERO = valueOf(0);
+    private final static BigInt ONE = valueOf(1);
+
+    private final static int PRIME_CERTAINTY = 100;
 
-    private BigInt() {
+    BigInt(int[] limbs, int length, boolean isNegative) {
+        length = Limbs.normalizedLength(limbs, length);
+        isNegative = isNegative && length > 0;
+        boolean inline = fitsInline(limbs, length);
+        this.limbs = inline ? null : limbs;
+        this.length = length;
+        this.isNegative = isNegative;
+        this.small = inline ? inlineValue(limbs, length, isNegative) : 0;
+    }
+
+    private BigInt(int[] limbs, boolean isNegative) {
+        this(limbs, limbs.length, isNegative);
     }
 
     public BigInt(String number) {
         if (number == null || number.isEmpty()) {
             throw new IllegalArgumentException("Number is empty");
         }
-        if (!number.matches(REGEX_INTEGER)) {
+        if (!Radix.isInteger(number)) {
             throw new IllegalArgumentException("Number is not a valid integer");
         }
 
-        if (number.charAt(0) == '-') {
-            isNegative = true;
-            number = number.substring(1);
+        long start = BigIntMetrics.start();
+        int from = number.charAt(0) == '-' ? 1 : 0;
+        int[] parsed = Radix.parse(number, from, number.length());
+        int length = Limbs.normalizedLength(parsed, parsed.length);
+        boolean isNegative = from == 1 && length > 0;
+        boolean inline = fitsInline(parsed, length);
+
+        this.limbs = inline ? null : parsed;
+        this.length = length;
+        this.isNegative = isNegative;
+        this.small = inline ? inlineValue(parsed, length, isNegative) : 0;
+        BigIntMetrics.record(Operation.PARSE, this.length, start);
+    }
+
+    public BigInt(int number) {
+        this((long) number);
+    }
+
+    private BigInt(long value) {
+        long magnitude = Math.abs(value);
+        this.limbs = null;
+        this.length = magnitude == 0 ? 0 : magnitude >>> 32 == 0 ? 1 : 2;
+        this.isNegative = value < 0;
+        this.small = value;
+    }
+
+    /**
+     * Returns the value, shared for the small ones that are used most often.
+     */
+    public static BigInt valueOf(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[(int) value - CACHE_LOW];
         }
-        for (int i = number.length() - 1; i >= 0; i--) {
-            digits.add(Character.getNumericValue(number.charAt(i)));
+        if (value == Long.MIN_VALUE) {
+            return new BigInt(new int[]{0, Integer.MIN_VALUE}, true);
         }
+        return new BigInt(value);
     }
 
-    public BigInt(int number) {
-        this(String.valueOf(number));
+    private static boolean fitsInline(int[] limbs, int length) {
+        return length < 2 || length == 2 && limbs[1] >= 0;
     }
 
-    private int compareTo(BigInt other) {
-        if (this.isNegative && !other.isNegative) return -1;
-        if (!this.isNegative && other.isNegative) return 1;
+    private static long inlineValue(int[] limbs, int length, boolean isNegative) {
+        long magnitude = length == 0 ? 0 : length == 1 ? limbs[0] & Limbs.LONG_MASK : (long) limbs[1] << 32 | limbs[0] & Limbs.LONG_MASK;
+        return isNegative ? -magnitude : magnitude;
+    }
+
+    /**
+     * Reads a decimal integer, optionally followed by whitespace, until the end of the reader.
+     */
+    public static BigInt read(Reader reader) throws IOException {
+        return DecimalStreams.read(reader);
+    }
+
+    /**
+     * Reads an ASCII decimal integer, optionally followed by whitespace, until the end of the stream.
+     */
+    public static BigInt read(InputStream input) throws IOException {
+        return DecimalStreams.read(input);
+    }
+
+    /**
+     * Reads an ASCII decimal integer, optionally followed by whitespace, from a memory-mapped file.
+     */
+    public static BigInt read(Path path) throws IOException {
+        return DecimalStreams.read(path);
+    }
 
-        int thisSize = this.digits.size();
-        int otherSize = other.digits.size();
-        if (thisSize != otherSize) {
-            if (this.isNegative) return otherSize - thisSize;
-            return thisSize - otherSize;
+    /**
+     * Returns the magnitude as limbs, built on each call for an inline value.
+     */
+    int[] limbs() {
+        if (limbs != null) {
+            return limbs;
         }
+        long magnitude = Math.abs(small);
+        return new int[]{(int) magnitude, (int) (magnitude >>> 32)};
+    }
 
-        for (int i = thisSize - 1; i >= 0; i--) {
-            int thisDigit = this.digits.get(i);
-            int otherDigit = other.digits.get(i);
-            if (thisDigit != otherDigit) {
-                if (this.isNegative) return otherDigit - thisDigit;
-                return thisDigit - otherDigit;
-            }
+    int length() {
+        return length;
+    }
+
+    boolean isNegative() {
+        return isNegative;
+    }
+
+    private boolean isZero() {
+        return length == 0;
+    }
+
+    private int compareTo(BigInt other) {
+        if (this.limbs == null && other.limbs == null) {
+            return Long.compare(this.small, other.small);
         }
+        if (this.isNegative && !other.isNegative) return -1;
+        if (!this.isNegative && other.isNegative) return 1;
 
-        return 0;
+        int magnitudeComparison = Limbs.compare(this.limbs(), this.length, other.limbs(), other.length);
+        return this.isNegative ? -magnitudeComparison : magnitudeComparison;
     }
 
     public boolean isLessThan(BigInt other) {
@@ -80,228 +186,736 @@ public class BigInt {
     }
 
     public BigInt negate() {
-        if (this.isEqualsTo(ZERO)) {
+        if (this.isZero()) {
             return ZERO;
         }
-        BigInt result = new BigInt();
-        result.digits.addAll(this.digits);
-        result.isNegative = !this.isNegative;
-        return result;
+        if (this.limbs == null) {
+            return valueOf(-this.small);
+        }
+        return new BigInt(this.limbs(), this.length, !this.isNegative);
     }
 
     public BigInt abs() {
-        BigInt result = new BigInt();
-        result.digits.addAll(this.digits);
-        result.isNegative = false;
-        return result;
+        if (!this.isNegative) {
+            return this;
+        }
+        if (this.limbs == null) {
+            return valueOf(-this.small);
+        }
+        return new BigInt(this.limbs(), this.length, false);
+    }
+
+    private BigInt withSign(boolean negative) {
+        if (this.isNegative == negative) {
+            return this;
+        }
+        return new BigInt(this.limbs(), this.length, negative);
     }
 
     private BigInt addNumbers(BigInt first, BigInt second) {
-        if (first.isNegative != second.isNegative && !first.isEqualsTo(ZERO) && !second.isEqualsTo(ZERO)){
+        if (first.isNegative != second.isNegative && !first.isZero() && !second.isZero()) {
             throw new IllegalArgumentException("Numbers should have the same sign");
         }
 
-        BigInt result = new BigInt();
-        result.isNegative = first.isNegative;
+        int[] sum = Limbs.add(first.limbs(), first.length, second.limbs(), second.length);
+        return new BigInt(sum, first.isNegative || second.isNegative);
+    }
 
-        int carry = 0;
-        int firstSize = first.digits.size();
-        int secondSize = second.digits.size();
-        int maxSize = Math.max(firstSize, secondSize);
-        for (int i = 0; i < maxSize || carry != 0; i++) {
-            int sum = carry;
-            if (i < firstSize) sum += first.digits.get(i);
-            if (i < secondSize) sum += second.digits.get(i);
-            result.digits.add(sum % 10);
-            carry = sum / 10;
+    private BigInt subtractNumbers(BigInt first, BigInt second) {
+        if (first.isNegative == second.isNegative && !first.isZero() && !second.isZero()) {
+            throw new IllegalArgumentException("Numbers should have different signs");
         }
 
-        return result;
+        int magnitudeComparison = Limbs.compare(first.limbs(), first.length, second.limbs(), second.length);
+        if (magnitudeComparison == 0) {
+            return ZERO;
+        } else if (magnitudeComparison > 0) {
+            int[] difference = Limbs.subtract(first.limbs(), first.length, second.limbs(), second.length);
+            return new BigInt(difference, first.isNegative);
+        } else {
+            int[] difference = Limbs.subtract(second.limbs(), second.length, first.limbs(), first.length);
+            return new BigInt(difference, !first.isNegative);
+        }
     }
 
-    private void removeLeadingZeros() {
-        for (int i = digits.size() - 1; i > 0; i--) {
-            if (digits.get(i) == 0) {
-                digits.remove(i);
+    public BigInt add(BigInt other) {
+        long start = BigIntMetrics.start();
+        try {
+            if (this.limbs == null && other.limbs == null) {
+                try {
+                    return valueOf(Math.addExact(this.small, other.small));
+                } catch (ArithmeticException overflow) {
+                    // the sum takes all 64 bits and is added as limbs below
+                }
+            }
+            if (this.isNegative == other.isNegative) {
+                return addNumbers(this, other);
             } else {
-                break;
+                return subtractNumbers(this, other);
             }
+        } finally {
+            BigIntMetrics.record(Operation.ADD, Math.max(this.length, other.length), start);
         }
     }
 
-    private BigInt subtractNumbers(BigInt first, BigInt second) {
-        if (first.isNegative == second.isNegative && !first.isEqualsTo(ZERO) && !second.isEqualsTo(ZERO)) {
-            throw new IllegalArgumentException("Numbers should have different signs");
+    public BigInt subtract(BigInt other) {
+        long start = BigIntMetrics.start();
+        try {
+            if (this.limbs == null && other.limbs == null) {
+                try {
+                    return valueOf(Math.subtractExact(this.small, other.small));
+                } catch (ArithmeticException overflow) {
+                    // the difference takes all 64 bits and is subtracted as limbs below
+                }
+            }
+            if (this.isNegative == other.isNegative) {
+                return subtractNumbers(this, other.negate());
+            } else {
+                return addNumbers(this, other.negate());
+            }
+        } finally {
+            BigIntMetrics.record(Operation.SUBTRACT, Math.max(this.length, other.length), start);
         }
+    }
 
-        BigInt result = new BigInt();
-        BigInt bigger;
-        BigInt smaller;
-        BigInt firstAbs = first.abs();
-        BigInt secondAbs = second.abs();
+    public BigInt multiply(BigInt other) {
+        long start = BigIntMetrics.start();
+        try {
+            if (this.isZero() || other.isZero()) {
+                return ZERO;
+            }
+            if (this.limbs == null && other.limbs == null) {
+                return inlineProduct(this.small, other.small);
+            }
+            if (other.isPowerOfTwo()) {
+                BigIntMetrics.count(Algorithm.POWER_OF_TWO_SHIFT);
+                return this.shiftLeft(other.getLowestSetBit()).withSign(this.isNegative != other.isNegative);
+            }
+            if (this.isPowerOfTwo()) {
+                BigIntMetrics.count(Algorithm.POWER_OF_TWO_SHIFT);
+                return other.shiftLeft(this.getLowestSetBit()).withSign(this.isNegative != other.isNegative);
+            }
 
-        if (firstAbs.isEqualsTo(secondAbs)) {
-            return ZERO;
-        } else if (firstAbs.isGreaterThan(secondAbs)) {
-            bigger = first;
-            smaller = second;
-            result.isNegative = first.isNegative;
-        } else {
-            bigger = second;
-            smaller = first;
-            result.isNegative = !first.isNegative;
-        }
-
-        int carry = 0;
-        int biggerSize = bigger.digits.size();
-        int smallerSize = smaller.digits.size();
-        for (int i = 0; i < biggerSize || carry != 0; i++) {
-            int difference = carry;
-            if (i < biggerSize) difference += bigger.digits.get(i);
-            if (i < smallerSize) difference -= smaller.digits.get(i);
-            if (difference < 0) {
-                difference += 10;
-                carry = -1;
-            } else {
-                carry = 0;
+            if (this == other) {
+                return new BigInt(Multiplication.square(this.limbs(), this.length), false);
             }
-            result.digits.add(difference);
-        }
 
-        result.removeLeadingZeros();
+            int[] product = Multiplication.multiply(this.limbs(), this.length, other.limbs(), other.length);
+            return new BigInt(product, this.isNegative != other.isNegative);
+        } finally {
+            BigIntMetrics.record(Operation.MULTIPLY, Math.max(this.length, other.length), start);
+        }
+    }
 
-        return result;
+    public BigInt parallelMultiply(BigInt other) {
+        return parallelMultiply(other, ForkJoinPool.commonPool());
     }
 
-    public BigInt add(BigInt other) {
-        if (this.isNegative == other.isNegative) {
-            return addNumbers(this, other);
-        } else {
-            return subtractNumbers(this, other);
+    public BigInt parallelMultiply(BigInt other, ForkJoinPool pool) {
+        long start = BigIntMetrics.start();
+        try {
+            if (this.isZero() || other.isZero()) {
+                return ZERO;
+            }
+
+            if (this == other) {
+                return new BigInt(ParallelMultiplication.square(this.limbs(), this.length, pool), false);
+            }
+            int[] product = ParallelMultiplication.multiply(this.limbs(), this.length, other.limbs(), other.length, pool);
+            return new BigInt(product, this.isNegative != other.isNegative);
+        } finally {
+            BigIntMetrics.record(Operation.PARALLEL_MULTIPLY, Math.max(this.length, other.length), start);
         }
     }
 
-    public BigInt subtract(BigInt other) {
-        if (this.isNegative == other.isNegative) {
-            return subtractNumbers(this, other.negate());
-        } else {
-            return addNumbers(this, other.negate());
+    public BigInt square() {
+        long start = BigIntMetrics.start();
+        try {
+            if (this.isZero()) {
+                return ZERO;
+            }
+            if (this.limbs == null) {
+                return inlineProduct(this.small, this.small);
+            }
+
+            return new BigInt(Multiplication.square(this.limbs(), this.length), false);
+        } finally {
+            BigIntMetrics.record(Operation.SQUARE, this.length, start);
         }
     }
 
-    public BigInt multiply(BigInt other) {
-        if (this.isEqualsTo(ZERO) || other.isEqualsTo(ZERO)) {
-            return ZERO;
+    /**
+     * Multiplies two inline values. {@code Math.multiplyHigh} gives the overflow check of
+     * {@code Math.multiplyExact} and, when the product does not fit, its upper half.
+     */
+    private static BigInt inlineProduct(long x, long y) {
+        long low = x * y;
+        if (Math.multiplyHigh(x, y) == low >> 63) {
+            return valueOf(low);
+        }
+        long xMagnitude = Math.abs(x);
+        long yMagnitude = Math.abs(y);
+        long high = Math.multiplyHigh(xMagnitude, yMagnitude);
+        low = xMagnitude * yMagnitude;
+        return new BigInt(new int[]{(int) low, (int) (low >>> 32), (int) high, (int) (high >>> 32)}, (x < 0) != (y < 0));
+    }
+
+    public BigInt divide(BigInt other) {
+        return divideAndRemainder(other)[0];
+    }
+
+    public BigInt remainder(BigInt other) {
+        return divideAndRemainder(other)[1];
+    }
+
+    public BigInt[] divideAndRemainder(BigInt other) {
+        long start = BigIntMetrics.start();
+        try {
+            if (other.isZero()) {
+                throw new ArithmeticException("Division by zero");
+            }
+            if (this.limbs == null && other.limbs == null) {
+                return new BigInt[]{valueOf(this.small / other.small), valueOf(this.small % other.small)};
+            }
+            if (Limbs.compare(this.limbs(), this.length, other.limbs(), other.length) < 0) {
+                return new BigInt[]{ZERO, this};
+            }
+            if (other.isPowerOfTwo()) {
+                BigIntMetrics.count(Algorithm.POWER_OF_TWO_SHIFT);
+                int bits = other.getLowestSetBit();
+                return new BigInt[]{
+                        new BigInt(Limbs.shiftRight(this.limbs(), this.length, bits), this.isNegative != other.isNegative),
+                        new BigInt(Bits.lowBits(this.limbs(), this.length, bits), this.isNegative)
+                };
+            }
+
+            int[][] quotientAndRemainder = Division.divideAndRemainder(this.limbs(), this.length, other.limbs(), other.length);
+            return new BigInt[]{
+                    new BigInt(quotientAndRemainder[0], this.isNegative != other.isNegative),
+                    new BigInt(quotientAndRemainder[1], this.isNegative)
+            };
+        } finally {
+            BigIntMetrics.record(Operation.DIVIDE_AND_REMAINDER, this.length, start);
         }
+    }
 
-        BigInt result = new BigInt();
-        for (int i = 0; i < this.digits.size(); i++) {
-            for (int j = 0; j < other.digits.size(); j++) {
-                int product = this.digits.get(i) * other.digits.get(j);
-                int position = i + j;
-                while (position >= result.digits.size()) {
-                    result.digits.add(0);
-                }
-                result.digits.set(position, result.digits.get(position) + product);
+    public BigInt pow(int exponent) {
+        long start = BigIntMetrics.start();
+        try {
+            if (exponent < 0) {
+                throw new ArithmeticException("Negative exponent");
+            }
+            if (exponent == 0) {
+                return ONE;
             }
+            if (this.isZero() || exponent == 1) {
+                return this;
+            }
+
+            int[] power = Exponentiation.pow(this.limbs(), this.length, exponent);
+            return new BigInt(power, this.isNegative && (exponent & 1) != 0);
+        } finally {
+            BigIntMetrics.record(Operation.POW, this.length, start);
+        }
+    }
+
+    /**
+     * Returns {@code this * 2^bits}.
+     */
+    public BigInt shiftLeft(int bits) {
+        if (bits < 0) {
+            throw new IllegalArgumentException("Shift distance is negative");
         }
-        int carry = 0;
-        for (int i = 0; i < result.digits.size(); i++) {
-            int sum = result.digits.get(i) + carry;
-            result.digits.set(i, sum % 10);
-            carry = sum / 10;
+        if (this.isZero() || bits == 0) {
+            return this;
         }
-        while (carry > 0) {
-            result.digits.add(carry % 10);
-            carry /= 10;
+        if (this.limbs == null && bits < 63 && Math.abs(this.small) >>> (63 - bits) == 0) {
+            return valueOf(this.small << bits);
         }
-        result.isNegative = this.isNegative != other.isNegative;
-        return result;
+        return new BigInt(Limbs.shiftLeft(this.limbs(), this.length, bits), this.isNegative);
     }
 
-    public BigInt divide(BigInt other) {
-        if (other.isEqualsTo(ZERO)) {
-            throw new ArithmeticException("Division by zero");
+    /**
+     * Returns {@code floor(this / 2^bits)}, so negative values are rounded towards negative infinity.
+     */
+    public BigInt shiftRight(int bits) {
+        if (bits < 0) {
+            throw new IllegalArgumentException("Shift distance is negative");
         }
-        if (this.isEqualsTo(ZERO) || this.abs().isLessThan(other.abs())) {
-            return ZERO;
+        if (this.limbs == null) {
+            return valueOf(this.small >> Math.min(bits, 63));
+        }
+        return new BigInt(Bits.shiftRight(this.limbs, this.length, this.isNegative, bits), this.isNegative);
+    }
+
+    /**
+     * Returns the number of bits in the two's complement without the sign bit, which is
+     * {@code ceil(log2(this + 1))} for non-negative values and {@code ceil(log2(-this))} for negative ones.
+     */
+    public int bitLength() {
+        if (this.limbs == null) {
+            return 64 - Long.numberOfLeadingZeros(this.small < 0 ? ~this.small : this.small);
+        }
+        return Bits.bitLength(this.limbs, this.length, this.isNegative);
+    }
+
+    /**
+     * Returns bit {@code n} of the two's complement, which is set for every large {@code n} of a negative value.
+     */
+    public boolean testBit(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Bit index is negative");
+        }
+        if (this.limbs == null) {
+            return (this.small >> Math.min(n, 63) & 1) != 0;
+        }
+        return Bits.testBit(this.limbs, this.length, this.isNegative, n);
+    }
+
+    /**
+     * Returns the index of the lowest one bit, or -1 for zero.
+     */
+    public int getLowestSetBit() {
+        if (this.limbs == null) {
+            return this.small == 0 ? -1 : Long.numberOfTrailingZeros(this.small);
         }
+        return Bits.lowestSetBit(this.limbs, this.length);
+    }
 
-        BigInt result = new BigInt();
-        BigInt dividend = this.abs();
-        BigInt divisor = other.abs();
-        while (dividend.isGreaterThanOrEquals(divisor)) {
-            BigInt temp = divisor;
-            BigInt multiple = ONE;
-            while (dividend.isGreaterThanOrEquals(temp.add(temp))) {
-                temp = temp.add(temp);
-                multiple = multiple.add(multiple);
+    /**
+     * Returns the bitwise and of the two's complements, like the operators on {@code long}.
+     */
+    public BigInt and(BigInt other) {
+        if (this.limbs == null && other.limbs == null) {
+            return valueOf(this.small & other.small);
+        }
+        return bitwise(other, (x, y) -> x & y);
+    }
+
+    public BigInt or(BigInt other) {
+        if (this.limbs == null && other.limbs == null) {
+            return valueOf(this.small | other.small);
+        }
+        return bitwise(other, (x, y) -> x | y);
+    }
+
+    public BigInt xor(BigInt other) {
+        if (this.limbs == null && other.limbs == null) {
+            return valueOf(this.small ^ other.small);
+        }
+        return bitwise(other, (x, y) -> x ^ y);
+    }
+
+    private BigInt bitwise(BigInt other, IntBinaryOperator operator) {
+        int[] result = Bits.bitwise(this.limbs(), this.length, this.isNegative, other.limbs(), other.length, other.isNegative, operator);
+        return new BigInt(result, operator.applyAsInt(this.isNegative ? -1 : 0, other.isNegative ? -1 : 0) != 0);
+    }
+
+    private boolean isPowerOfTwo() {
+        if (this.limbs == null) {
+            long magnitude = Math.abs(this.small);
+            return magnitude != 0 && (magnitude & magnitude - 1) == 0;
+        }
+        return Bits.isPowerOfTwo(this.limbs, this.length);
+    }
+
+    public BigInt mod(BigInt modulus) {
+        long start = BigIntMetrics.start();
+        try {
+            if (modulus.isNegative || modulus.isZero()) {
+                throw new ArithmeticException("Modulus is not positive");
             }
-            dividend = dividend.subtract(temp);
-            result = result.add(multiple);
+
+            BigInt remainder = this.remainder(modulus);
+            return remainder.isNegative ? remainder.add(modulus) : remainder;
+        } finally {
+            BigIntMetrics.record(Operation.MOD, this.length, start);
         }
-        result.isNegative = this.isNegative != other.isNegative;
-        return result;
     }
 
-    public BigInt remainder(BigInt other) {
-        if (other.isEqualsTo(ZERO)) {
-            throw new ArithmeticException("Division by zero");
+    public BigInt modPow(BigInt exponent, BigInt modulus) {
+        long start = BigIntMetrics.start();
+        try {
+            if (modulus.isNegative || modulus.isZero()) {
+                throw new ArithmeticException("Modulus is not positive");
+            }
+            if (exponent.isNegative) {
+                throw new ArithmeticException("Negative exponent");
+            }
+            if (modulus.isEqualsTo(ONE)) {
+                return ZERO;
+            }
+            if (exponent.isZero()) {
+                return ONE;
+            }
+
+            BigInt base = this.mod(modulus);
+            if (base.isZero()) {
+                return ZERO;
+            }
+
+            int[] power = ModularExponentiation.modPow(base.limbs(), base.length, exponent.limbs(), exponent.length,
+                    modulus.limbs(), modulus.length);
+            return new BigInt(power, false);
+        } finally {
+            BigIntMetrics.record(Operation.MOD_POW, modulus.length, start);
         }
-        if (this.isEqualsTo(ZERO) || this.abs().isLessThan(other.abs())) {
-            return this;
+    }
+
+    /**
+     * Returns the non-negative greatest common divisor; {@code gcd(0, 0)} is zero.
+     */
+    public BigInt gcd(BigInt other) {
+        long start = BigIntMetrics.start();
+        try {
+            if (this.isZero()) {
+                return other.abs();
+            }
+            if (other.isZero()) {
+                return this.abs();
+            }
+            if (this.limbs == null && other.limbs == null) {
+                long x = Math.abs(this.small);
+                long y = Math.abs(other.small);
+                while (y != 0) {
+                    long r = x % y;
+                    x = y;
+                    y = r;
+                }
+                return valueOf(x);
+            }
+
+            return new BigInt(Gcd.gcd(this.limbs(), this.length, other.limbs(), other.length), false);
+        } finally {
+            BigIntMetrics.record(Operation.GCD, Math.max(this.length, other.length), start);
+        }
+    }
+
+    /**
+     * Returns {@code {g, s, t}} with {@code g = gcd(this, other) = s * this + t * other}.
+     * For a non-zero {@code other}, {@code |s| < |other|}.
+     */
+    public BigInt[] extendedGcd(BigInt other) {
+        long start = BigIntMetrics.start();
+        try {
+            if (other.isZero()) {
+                BigInt s = this.isZero() ? ZERO : this.isNegative ? ONE.negate() : ONE;
+                return new BigInt[]{this.abs(), s, ZERO};
+            }
+
+            int[][] gcdAndCofactor = Gcd.extendedGcd(this.limbs(), this.length, other.limbs(), other.length);
+            BigInt gcd = new BigInt(gcdAndCofactor[0], false);
+            BigInt s = new BigInt(gcdAndCofactor[1], this.isNegative);
+            BigInt t = gcd.subtract(s.multiply(this)).divide(other);
+            return new BigInt[]{gcd, s, t};
+        } finally {
+            BigIntMetrics.record(Operation.EXTENDED_GCD, Math.max(this.length, other.length), start);
         }
+    }
+
+    /**
+     * Returns the inverse in {@code [0, modulus)}; throws if {@code this} and the modulus are not coprime.
+     */
+    public BigInt modInverse(BigInt modulus) {
+        long start = BigIntMetrics.start();
+        try {
+            if (modulus.isNegative || modulus.isZero()) {
+                throw new ArithmeticException("Modulus is not positive");
+            }
+            if (modulus.isEqualsTo(ONE)) {
+                return ZERO;
+            }
 
-        BigInt dividend = this.abs();
-        BigInt divisor = other.abs();
-        while (dividend.isGreaterThanOrEquals(divisor)) {
-            BigInt temp = divisor;
-            while (dividend.isGreaterThanOrEquals(temp.add(temp))) {
-                temp = temp.add(temp);
+            BigInt value = this.mod(modulus);
+            int[][] gcdAndCofactor = Gcd.extendedGcd(value.limbs(), value.length, modulus.limbs(), modulus.length);
+            int[] gcd = gcdAndCofactor[0];
+            if (gcd.length != 1 || gcd[0] != 1) {
+                throw new ArithmeticException("Value is not invertible");
             }
-            dividend = dividend.subtract(temp);
+            return new BigInt(gcdAndCofactor[1], false);
+        } finally {
+            BigIntMetrics.record(Operation.MOD_INVERSE, modulus.length, start);
         }
+    }
+
+    /**
+     * Returns {@code floor(sqrt(this))}.
+     */
+    public BigInt sqrt() {
+        return nthRoot(2);
+    }
 
+    /**
+     * Returns {@code {s, this - s^2}} where {@code s} is {@link #sqrt()}.
+     */
+    public BigInt[] sqrtAndRemainder() {
+        BigInt root = sqrt();
+        return new BigInt[]{root, this.subtract(root.square())};
+    }
+
+    /**
+     * Returns the {@code n}-th root rounded towards zero. Odd roots of negative numbers are negative.
+     */
+    public BigInt nthRoot(int n) {
+        long start = BigIntMetrics.start();
+        try {
+            if (n <= 0) {
+                throw new ArithmeticException("Root degree is not positive");
+            }
+            if (this.isNegative && n % 2 == 0) {
+                throw new ArithmeticException(n == 2 ? "Square root of a negative number" : "Even root of a negative number");
+            }
+            if (this.isZero() || n == 1) {
+                return this;
+            }
+
+            return new BigInt(Roots.root(this.limbs(), this.length, n), this.isNegative);
+        } finally {
+            BigIntMetrics.record(Operation.ROOT, this.length, start);
+        }
+    }
+
+    public boolean isPerfectSquare() {
         if (this.isNegative) {
-            dividend = dividend.negate();
+            return false;
+        }
+        if (this.isZero()) {
+            return true;
+        }
+        if (!Roots.mayBeSquare(this.limbs(), this.length)) {
+            return false;
         }
+        return sqrtAndRemainder()[1].isZero();
+    }
 
-        return dividend;
+    public boolean isProbablePrime(int certainty) {
+        return isProbablePrime(certainty, null);
     }
 
-    public BigInt pow(int exponent) {
-        if (exponent < 0) {
-            throw new ArithmeticException("Negative exponent");
+    /**
+     * Returns {@code true} if this is prime with probability above {@code 1 - 2^-certainty}, and {@code false}
+     * if it is certainly composite. Values below two are not prime, and a non-positive certainty accepts
+     * everything. The Miller-Rabin rounds run in parallel on {@code pool}.
+     */
+    public boolean isProbablePrime(int certainty, ForkJoinPool pool) {
+        long start = BigIntMetrics.start();
+        try {
+            if (certainty <= 0) {
+                return true;
+            }
+            return !this.isNegative && Primes.isProbablePrime(this.limbs(), this.length, certainty, pool);
+        } finally {
+            BigIntMetrics.record(Operation.IS_PROBABLE_PRIME, this.length, start);
+        }
+    }
+
+    public BigInt nextProbablePrime() {
+        return nextProbablePrime(null);
+    }
+
+    /**
+     * Returns the smallest probable prime above this, which is composite with probability below 2^-100.
+     * The candidates that survive sieving by the small primes are tested in parallel on {@code pool}.
+     */
+    public BigInt nextProbablePrime(ForkJoinPool pool) {
+        long start = BigIntMetrics.start();
+        try {
+            if (this.isNegative) {
+                throw new ArithmeticException("Negative value");
+            }
+            return new BigInt(Primes.nextProbablePrime(this.limbs(), this.length, PRIME_CERTAINTY, pool), false);
+        } finally {
+            BigIntMetrics.record(Operation.PROBABLE_PRIME_SEARCH, this.length, start);
+        }
+    }
+
+    public static BigInt probablePrime(int bitLength, Random random) {
+        return probablePrime(bitLength, random, null);
+    }
+
+    /**
+     * Returns a random probable prime of exactly {@code bitLength} bits, which is composite with
+     * probability below 2^-100. A random start is searched upwards for the next probable prime.
+     */
+    public static BigInt probablePrime(int bitLength, Random random, ForkJoinPool pool) {
+        long start = BigIntMetrics.start();
+        try {
+            if (bitLength < 2) {
+                throw new ArithmeticException("Bit length is less than 2");
+            }
+            return new BigInt(Primes.randomProbablePrime(bitLength, PRIME_CERTAINTY, random, pool), false);
+        } finally {
+            BigIntMetrics.record(Operation.PROBABLE_PRIME_SEARCH, (bitLength + 31) >>> 5, start);
+        }
+    }
+
+    public static BigInt factorial(int n) {
+        return factorial(n, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns {@code n!} by the prime swing. The swings of the recursion levels and the nodes of every
+     * product tree are computed in parallel on {@code pool}.
+     */
+    public static BigInt factorial(int n, ForkJoinPool pool) {
+        if (n < 0) {
+            throw new ArithmeticException("Negative value");
         }
-        if (exponent == 0) {
-            return ONE;
+        return Factorials.factorial(n, pool);
+    }
+
+    public static BigInt binomial(int n, int k) {
+        return binomial(n, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the number of {@code k}-element subsets of an {@code n}-element set, which is zero for
+     * {@code k < 0} and {@code k > n}. It is the product of its prime powers, multiplied in a tree on {@code pool}.
+     */
+    public static BigInt binomial(int n, int k, ForkJoinPool pool) {
+        if (n < 0) {
+            throw new ArithmeticException("Negative value");
         }
-        BigInt result = this;
-        for (int i = 1; i < exponent; i++) {
-            result = result.multiply(this);
+        return k < 0 || k > n ? ZERO : Factorials.binomial(n, k, pool);
+    }
+
+    public static BigInt primorial(int n) {
+        return primorial(n, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the product of the primes up to {@code n}, multiplied in a tree on {@code pool}.
+     */
+    public static BigInt primorial(int n, ForkJoinPool pool) {
+        if (n < 0) {
+            throw new ArithmeticException("Negative value");
         }
-        return result;
+        return Factorials.primorial(n, pool);
     }
 
+    /**
+     * Returns the primes up to {@code n} in ascending order. They are copied from a sieve that is kept
+     * between calls and only grows, so repeated calls do not sieve again.
+     */
+    public static int[] primesUpTo(int n) {
+        if (n < 0) {
+            throw new ArithmeticException("Negative value");
+        }
+        int[] primes = Primes.primesUpTo(n);
+        int index = Arrays.binarySearch(primes, n);
+        return Arrays.copyOf(primes, index >= 0 ? index + 1 : -index - 1);
+    }
+
+    /**
+     * Returns the value, or {@link Integer#MIN_VALUE} or {@link Integer#MAX_VALUE} if it does not fit.
+     */
     public int toInt() {
-        if (this.isGreaterThanOrEquals(new BigInt(Integer.MAX_VALUE))) {
-            return Integer.MAX_VALUE;
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, toLong()));
+    }
+
+    /**
+     * Returns the value, or {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE} if it does not fit.
+     */
+    public long toLong() {
+        if (this.limbs == null) {
+            return this.small;
         }
-        if (this.isLessThanOrEquals(new BigInt(Integer.MIN_VALUE))) {
-            return Integer.MIN_VALUE;
+        return this.isNegative ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the nearest double, rounding half to even, or an infinity if the value is too large.
+     */
+    public double toDouble() {
+        if (this.limbs == null) {
+            return this.small;
         }
-        return Integer.parseInt(this.toString());
+        double magnitude = Limbs.toDouble(this.limbs(), this.length);
+        return this.isNegative ? -magnitude : magnitude;
+    }
+
+    /**
+     * Returns the number of bytes taken by {@link #toByteArray()} and {@link #writeTo(ByteBuffer)}.
+     */
+    public int serializedSize() {
+        return BinaryFormat.size(this);
+    }
+
+    /**
+     * Encodes the value as a little-endian header int holding the sign in bit 31 and the limb count
+     * in bits 0-30, followed by the 32-bit limbs of the magnitude, least significant first.
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[serializedSize()];
+        BinaryFormat.write(this, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Decodes a value encoded by {@link #toByteArray()}.
+     */
+    public static BigInt fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        BigInt value;
+        try {
+            value = BinaryFormat.read(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Encoding is truncated");
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Encoding has trailing bytes");
+        }
+        return value;
+    }
+
+    /**
+     * Writes the {@link #toByteArray()} encoding at the buffer's position.
+     *
+     * @throws BufferOverflowException if the remaining space is smaller than {@link #serializedSize()}
+     */
+    public void writeTo(ByteBuffer buffer) {
+        BinaryFormat.write(this, buffer);
+    }
+
+    /**
+     * Reads a {@link #toByteArray()} encoding at the buffer's position.
+     *
+     * @throws BufferUnderflowException if the buffer ends before the value, leaving the position unchanged
+     */
+    public static BigInt readFrom(ByteBuffer buffer) {
+        return BinaryFormat.read(buffer);
+    }
+
+    /**
+     * Writes the decimal form in chunks without building the whole string. The writer is not closed.
+     */
+    public void writeTo(Writer writer) throws IOException {
+        DecimalStreams.write(this, writer);
+    }
+
+    /**
+     * Writes the decimal form as ASCII in chunks without building the whole string. The stream is not closed.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        DecimalStreams.write(this, output);
     }
 
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
-        if (isNegative) {
-            result.append("-");
-        }
-        for (int i = digits.size() - 1; i >= 0; i--) {
-            result.append(digits.get(i));
+        long start = BigIntMetrics.start();
+        try {
+            if (limbs == null) {
+                return Long.toString(small);
+            }
+
+            StringBuilder result = new StringBuilder((int) (length * 9.64) + 2);
+            if (isNegative) {
+                result.append('-');
+            }
+            Radix.appendTo(result, limbs, length);
+            return result.toString();
+        } finally {
+            BigIntMetrics.record(Operation.TO_STRING, length, start);
         }
-        return result.toString();
     }
 }
@@ -0,0 +1,180 @@
+package dev.danilbel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Product and remainder trees over many values, and Bernstein's batch GCD built on them.
+ * Each level of a tree multiplies or divides neighbouring nodes of similar size, so the cost is a
+ * logarithmic number of balanced multiplications instead of one long operand growing against short
+ * ones. The nodes of a level are evaluated in parallel; levels with fewer nodes than the pool has
+ * threads use {@link BigInt#parallelMultiply(BigInt, ForkJoinPool)} instead.
+ */
+public final class BigIntBatch {
+
+    private BigIntBatch() {
+    }
+
+    public static BigInt product(List<BigInt> values) {
+        return product(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the product of the values. Only the current level of the tree is kept.
+     */
+    public static BigInt product(List<BigInt> values, ForkJoinPool pool) {
+        BigInt[] level = leaves(values);
+        while (level.length > 1) {
+            level = parents(level, pool);
+        }
+        return level[0];
+    }
+
+    public static List<List<BigInt>> productTree(List<BigInt> values) {
+        return productTree(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the levels of the product tree, from the values up to the single root. Every node is the
+     * product of two neighbours on the level below; an odd node at the end of a level moves up unchanged.
+     */
+    public static List<List<BigInt>> productTree(List<BigInt> values, ForkJoinPool pool) {
+        List<List<BigInt>> tree = new ArrayList<>();
+        for (BigInt[] level : levels(values, pool)) {
+            tree.add(List.of(level));
+        }
+        return tree;
+    }
+
+    public static List<BigInt> remainderTree(BigInt value, List<List<BigInt>> productTree) {
+        return remainderTree(value, productTree, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns {@code value mod leaf} for every leaf of a tree built by {@link #productTree}, in order.
+     * The remainders are taken from the root down, so each division is by a node about half the size of
+     * the dividend. Only the remainders of the current level are kept.
+     */
+    public static List<BigInt> remainderTree(BigInt value, List<List<BigInt>> productTree, ForkJoinPool pool) {
+        List<BigInt[]> levels = new ArrayList<>();
+        for (List<BigInt> level : productTree) {
+            levels.add(level.toArray(new BigInt[0]));
+        }
+        return List.of(descend(value, levels, false, pool));
+    }
+
+    public static List<BigInt> batchGcd(List<BigInt> moduli) {
+        return batchGcd(moduli, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns {@code gcd(n, product of the other moduli)} for every modulus {@code n}, in order.
+     * A result other than one reveals a factor shared with another modulus. Each level of the product
+     * tree is released as soon as the descent has passed it.
+     */
+    public static List<BigInt> batchGcd(List<BigInt> moduli, ForkJoinPool pool) {
+        List<BigInt[]> levels = levels(moduli, pool);
+        BigInt[] leaves = levels.get(0);
+        BigInt product = levels.get(levels.size() - 1)[0];
+
+        // (product mod n^2) / n = (product / n) mod n
+        BigInt[] remainders = descend(product, levels, true, pool);
+        return List.of(evaluate(leaves.length, i -> remainders[i].divide(leaves[i]).gcd(leaves[i]), pool));
+    }
+
+    /**
+     * Returns {@code (P / n) mod n} for every leaf {@code n} of a tree built by {@link #productTree}, where
+     * {@code P} is the root.
+     */
+    static BigInt[] cofactorResidues(List<List<BigInt>> productTree, ForkJoinPool pool) {
+        List<BigInt[]> levels = new ArrayList<>();
+        for (List<BigInt> level : productTree) {
+            levels.add(level.toArray(new BigInt[0]));
+        }
+        BigInt[] leaves = levels.get(0);
+        BigInt product = levels.get(levels.size() - 1)[0];
+        BigInt[] remainders = descend(product, levels, true, pool);
+        return evaluate(leaves.length, i -> remainders[i].divide(leaves[i]), pool);
+    }
+
+    /**
+     * Returns the sum of {@code coefficients[i] * P / n_i} over the leaves {@code n_i} of a tree built by
+     * {@link #productTree}, where {@code P} is the root. Neighbouring sums are joined on the way up as
+     * {@code left * right node + right * left node}, so the terms never grow to the size of {@code P}
+     * before the last level.
+     */
+    static BigInt sumOfCofactorMultiples(BigInt[] coefficients, List<List<BigInt>> productTree, ForkJoinPool pool) {
+        BigInt[] sums = coefficients;
+        for (int depth = 0; depth + 1 < productTree.size(); depth++) {
+            List<BigInt> level = productTree.get(depth);
+            BigInt[] children = sums;
+            sums = evaluate((level.size() + 1) / 2, i -> {
+                if (2 * i + 1 == level.size()) {
+                    return children[2 * i];
+                }
+                return children[2 * i].multiply(level.get(2 * i + 1)).add(children[2 * i + 1].multiply(level.get(2 * i)));
+            }, pool);
+        }
+        return sums[0];
+    }
+
+    private static BigInt[] leaves(List<BigInt> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No values");
+        }
+        return values.toArray(new BigInt[0]);
+    }
+
+    private static List<BigInt[]> levels(List<BigInt> values, ForkJoinPool pool) {
+        List<BigInt[]> levels = new ArrayList<>();
+        BigInt[] level = leaves(values);
+        levels.add(level);
+        while (level.length > 1) {
+            level = parents(level, pool);
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private static BigInt[] parents(BigInt[] level, ForkJoinPool pool) {
+        int count = (level.length + 1) / 2;
+        boolean parallelProducts = count < pool.getParallelism();
+        return evaluate(count, i -> {
+            if (2 * i + 1 == level.length) {
+                return level[2 * i];
+            }
+            BigInt left = level[2 * i];
+            BigInt right = level[2 * i + 1];
+            return parallelProducts ? left.parallelMultiply(right, pool) : left.multiply(right);
+        }, pool);
+    }
+
+    /**
+     * Reduces {@code value} by every node from the root down to the leaves, or by the squares of the nodes.
+     * Levels above the current one are dropped from {@code levels} once they are no longer needed.
+     */
+    private static BigInt[] descend(BigInt value, List<BigInt[]> levels, boolean squared, ForkJoinPool pool) {
+        BigInt[] remainders = {value};
+        for (int depth = levels.size() - 1; depth >= 0; depth--) {
+            BigInt[] level = levels.get(depth);
+            BigInt[] parentRemainders = remainders;
+            remainders = evaluate(level.length,
+                    i -> parentRemainders[i / 2].mod(squared ? level[i].square() : level[i]), pool);
+            if (depth + 1 < levels.size()) {
+                levels.set(depth + 1, null);
+            }
+        }
+        return remainders;
+    }
+
+    private static BigInt[] evaluate(int count, IntFunction<BigInt> node, ForkJoinPool pool) {
+        if (count == 1) {
+            return new BigInt[]{node.apply(0)};
+        }
+        // a parallel stream started from a task runs in that task's pool
+        return pool.submit(() -> IntStream.range(0, count).parallel().mapToObj(node).toArray(BigInt[]::new)).join();
+    }
+}
@@ -0,0 +1,94 @@
+package dev.danilbel;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Reads a sequence of {@link BigInt} values written by {@link BigIntOutput}.
+ */
+public final class BigIntInput implements Closeable {
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BigIntOutput.BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    public BigIntInput(ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+        buffer.flip();
+        if (!fill(2 * Integer.BYTES) || buffer.getInt() != BigIntOutput.MAGIC) {
+            throw new IOException("Not a BigInt stream");
+        }
+        int version = buffer.getInt();
+        if (version != BigIntOutput.VERSION) {
+            throw new IOException("Unsupported BigInt stream version " + version);
+        }
+    }
+
+    public BigIntInput(InputStream input) throws IOException {
+        this(Channels.newChannel(input));
+    }
+
+    /**
+     * Returns the next value, or {@code null} at the end of the stream.
+     */
+    public BigInt read() throws IOException {
+        if (!fill(BinaryFormat.HEADER_BYTES)) {
+            if (buffer.hasRemaining()) {
+                throw new EOFException("Truncated BigInt header");
+            }
+            return null;
+        }
+        int header = buffer.getInt();
+
+        int length = BinaryFormat.limbCount(header);
+        // the length comes from the stream, so the array only grows with the limbs that actually arrive
+        int[] limbs = new int[Math.min(length, buffer.remaining() / Integer.BYTES)];
+        int read = 0;
+        while (read < length) {
+            int count = Math.min(length - read, buffer.remaining() / Integer.BYTES);
+            if (count == 0) {
+                if (!fill(Integer.BYTES)) {
+                    throw new EOFException("Truncated BigInt limbs");
+                }
+                continue;
+            }
+            if (read + count > limbs.length) {
+                limbs = Arrays.copyOf(limbs, (int) Math.min(length, Math.max(read + count, 2L * limbs.length)));
+            }
+            BinaryFormat.getLimbs(buffer, limbs, read, count);
+            read += count;
+        }
+        return new BigInt(limbs, length, BinaryFormat.isNegative(header));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads from the channel until at least {@code bytes} bytes are buffered; returns false at the end of the stream.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            buffer.flip();
+        }
+    }
+}
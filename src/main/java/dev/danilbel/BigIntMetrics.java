@@ -0,0 +1,253 @@
+package dev.danilbel;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Optional counters for {@link BigInt} operations and the algorithms behind them.
+ * Collection is switched on with the system property {@code dev.danilbel.metrics=true} when the
+ * library is loaded. Otherwise every recording call is a branch on a constant, which the JIT
+ * removes, so the hot paths pay nothing. When it is on, the counters are also published as the
+ * MXBean {@code dev.danilbel:type=BigIntMetrics}.
+ * <p>
+ * Histograms have 64 power-of-two buckets: bucket {@code i} counts values {@code v} with
+ * {@code 2^(i-1) <= v < 2^i}, and bucket 0 counts zero. Operand sizes are in limbs and latencies
+ * in nanoseconds.
+ */
+public final class BigIntMetrics {
+
+    public enum Operation {
+        ADD, SUBTRACT, MULTIPLY, SQUARE, PARALLEL_MULTIPLY, DIVIDE_AND_REMAINDER, POW, MOD, MOD_POW,
+        GCD, EXTENDED_GCD, MOD_INVERSE, ROOT, IS_PROBABLE_PRIME, PROBABLE_PRIME_SEARCH, PARSE, TO_STRING
+    }
+
+    public enum Algorithm {
+        SCHOOLBOOK_MULTIPLICATION, KARATSUBA_MULTIPLICATION, NTT_MULTIPLICATION, PARALLEL_MULTIPLICATION,
+        SCHOOLBOOK_SQUARING, KARATSUBA_SQUARING, NTT_SQUARING, PARALLEL_SQUARING,
+        SINGLE_LIMB_DIVISION, KNUTH_DIVISION, BURNIKEL_ZIEGLER_DIVISION, POWER_OF_TWO_SHIFT,
+        SINGLE_LIMB_POWER, SLIDING_WINDOW_POWER, MONTGOMERY_REDUCTION, BARRETT_REDUCTION,
+        BINARY_GCD, LEHMER_GCD, HALF_GCD,
+        MILLER_RABIN_TEST, STRONG_LUCAS_TEST,
+        SCHOOLBOOK_RADIX_CONVERSION, DIVIDE_AND_CONQUER_RADIX_CONVERSION
+    }
+
+    static final boolean ENABLED = Boolean.getBoolean("dev.danilbel.metrics");
+
+    static final int BUCKETS = 64;
+
+    private static final int OPERATIONS = Operation.values().length;
+    private static final int ALGORITHMS = Algorithm.values().length;
+
+    private static final LongAdder[] calls = ENABLED ? adders(OPERATIONS) : null;
+    private static final LongAdder[] nanos = ENABLED ? adders(OPERATIONS) : null;
+    private static final LongAdder[] sizes = ENABLED ? adders(OPERATIONS * BUCKETS) : null;
+    private static final LongAdder[] latencies = ENABLED ? adders(OPERATIONS * BUCKETS) : null;
+    private static final LongAdder[] algorithms = ENABLED ? adders(ALGORITHMS) : null;
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(new MXBeanImpl(), new ObjectName("dev.danilbel:type=BigIntMetrics"));
+            } catch (JMException | SecurityException e) {
+                // the snapshot API keeps working without JMX
+            }
+        }
+    }
+
+    private BigIntMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static Snapshot snapshot() {
+        return new Snapshot(sum(calls, OPERATIONS), sum(nanos, OPERATIONS), sum(sizes, OPERATIONS * BUCKETS),
+                sum(latencies, OPERATIONS * BUCKETS), sum(algorithms, ALGORITHMS));
+    }
+
+    public static void reset() {
+        if (ENABLED) {
+            for (LongAdder[] adders : Arrays.asList(calls, nanos, sizes, latencies, algorithms)) {
+                for (LongAdder adder : adders) {
+                    adder.reset();
+                }
+            }
+        }
+    }
+
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    static void record(Operation operation, int size, long start) {
+        if (ENABLED) {
+            long elapsed = System.nanoTime() - start;
+            int index = operation.ordinal();
+            calls[index].increment();
+            nanos[index].add(elapsed);
+            sizes[index * BUCKETS + bucket(size)].increment();
+            latencies[index * BUCKETS + bucket(elapsed)].increment();
+        }
+    }
+
+    static void count(Algorithm algorithm) {
+        if (ENABLED) {
+            algorithms[algorithm.ordinal()].increment();
+        }
+    }
+
+    private static int bucket(long value) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(value, 0)));
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long[] sum(LongAdder[] adders, int count) {
+        long[] sums = new long[count];
+        if (adders != null) {
+            for (int i = 0; i < count; i++) {
+                sums[i] = adders[i].sum();
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * Counter values at one point in time. Counters that are updated concurrently with the snapshot
+     * may be read at slightly different moments.
+     */
+    public static final class Snapshot {
+
+        private final long[] calls;
+        private final long[] nanos;
+        private final long[] sizes;
+        private final long[] latencies;
+        private final long[] algorithms;
+
+        private Snapshot(long[] calls, long[] nanos, long[] sizes, long[] latencies, long[] algorithms) {
+            this.calls = calls;
+            this.nanos = nanos;
+            this.sizes = sizes;
+            this.latencies = latencies;
+            this.algorithms = algorithms;
+        }
+
+        public long calls(Operation operation) {
+            return calls[operation.ordinal()];
+        }
+
+        public long totalNanos(Operation operation) {
+            return nanos[operation.ordinal()];
+        }
+
+        public long[] operandSizeHistogram(Operation operation) {
+            int from = operation.ordinal() * BUCKETS;
+            return Arrays.copyOfRange(sizes, from, from + BUCKETS);
+        }
+
+        public long[] latencyHistogram(Operation operation) {
+            int from = operation.ordinal() * BUCKETS;
+            return Arrays.copyOfRange(latencies, from, from + BUCKETS);
+        }
+
+        public long count(Algorithm algorithm) {
+            return algorithms[algorithm.ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder();
+            for (Operation operation : Operation.values()) {
+                if (calls(operation) > 0) {
+                    result.append(operation).append(": ").append(calls(operation)).append(" calls, ")
+                            .append(totalNanos(operation) / 1_000_000).append(" ms\n");
+                }
+            }
+            for (Algorithm algorithm : Algorithm.values()) {
+                if (count(algorithm) > 0) {
+                    result.append(algorithm).append(": ").append(count(algorithm)).append('\n');
+                }
+            }
+            return result.toString();
+        }
+    }
+
+    public interface BigIntMetricsMXBean {
+
+        Map<String, Long> getCalls();
+
+        Map<String, Long> getTotalNanos();
+
+        Map<String, long[]> getOperandSizeHistograms();
+
+        Map<String, long[]> getLatencyHistograms();
+
+        Map<String, Long> getAlgorithmCounts();
+
+        void reset();
+    }
+
+    private static final class MXBeanImpl implements BigIntMetricsMXBean {
+
+        @Override
+        public Map<String, Long> getCalls() {
+            Snapshot snapshot = snapshot();
+            return byOperation(snapshot::calls);
+        }
+
+        @Override
+        public Map<String, Long> getTotalNanos() {
+            Snapshot snapshot = snapshot();
+            return byOperation(snapshot::totalNanos);
+        }
+
+        @Override
+        public Map<String, long[]> getOperandSizeHistograms() {
+            Snapshot snapshot = snapshot();
+            return byOperation(snapshot::operandSizeHistogram);
+        }
+
+        @Override
+        public Map<String, long[]> getLatencyHistograms() {
+            Snapshot snapshot = snapshot();
+            return byOperation(snapshot::latencyHistogram);
+        }
+
+        @Override
+        public Map<String, Long> getAlgorithmCounts() {
+            Snapshot snapshot = snapshot();
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (Algorithm algorithm : Algorithm.values()) {
+                result.put(algorithm.name(), snapshot.count(algorithm));
+            }
+            return result;
+        }
+
+        @Override
+        public void reset() {
+            BigIntMetrics.reset();
+        }
+
+        private static <T> Map<String, T> byOperation(Function<Operation, T> value) {
+            Map<String, T> result = new LinkedHashMap<>();
+            for (Operation operation : Operation.values()) {
+                result.put(operation.name(), value.apply(operation));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.danilbel;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a sequence of {@link BigInt} values in the bulk binary format read by {@link BigIntInput}:
+ * the magic bytes {@code BIGI} and a little-endian {@code int} version, followed by the values in the
+ * single-value layout of {@link BigInt#toByteArray()} back to back until the end of the stream.
+ * Values are staged in a direct buffer and copied limb by limb, with no per-value conversion.
+ */
+public final class BigIntOutput implements Closeable, Flushable {
+
+    static final int MAGIC = 0x49474942; // "BIGI" read as a little-endian int
+    static final int VERSION = 1;
+    static final int BUFFER_SIZE = 1 << 20;
+
+    private final WritableByteChannel channel;
+    // the stream under the channel, which may buffer on its own; null for a plain channel
+    private final Flushable target;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    public BigIntOutput(WritableByteChannel channel) {
+        this(channel, null);
+    }
+
+    public BigIntOutput(OutputStream output) {
+        this(Channels.newChannel(output), output);
+    }
+
+    private BigIntOutput(WritableByteChannel channel, Flushable target) {
+        this.channel = channel;
+        this.target = target;
+        buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    public void write(BigInt value) throws IOException {
+        if (buffer.remaining() < BinaryFormat.HEADER_BYTES) {
+            drain();
+        }
+        buffer.putInt(BinaryFormat.header(value));
+
+        int[] limbs = value.limbs();
+        int written = 0;
+        while (written < value.length()) {
+            int count = Math.min(value.length() - written, buffer.remaining() / Integer.BYTES);
+            if (count == 0) {
+                drain();
+                continue;
+            }
+            BinaryFormat.putLimbs(buffer, limbs, written, count);
+            written += count;
+        }
+    }
+
+    /**
+     * Writes the buffered values to the channel and flushes the stream it was created with.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (target != null) {
+            target.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,110 @@
+package dev.danilbel;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout of a single {@link BigInt}, with every field little-endian:
+ * <pre>
+ *   int    header   sign in bit 31 (set for negative values), limb count n in bits 0-30
+ *   int[n] limbs    magnitude in base 2^32, least significant limb first
+ * </pre>
+ * Zero is the single header {@code 0}. Readers accept high zero limbs and a negative zero, which
+ * decode to the normalized value.
+ */
+final class BinaryFormat {
+
+    static final int HEADER_BYTES = Integer.BYTES;
+
+    private static final int SIGN_BIT = 0x80000000;
+
+    // below this many limbs the bulk copy through an IntBuffer view costs more than it saves
+    private static final int BULK_COPY_LIMBS = 32;
+
+    private BinaryFormat() {
+    }
+
+    static int size(BigInt value) {
+        return Math.toIntExact(HEADER_BYTES + (long) Integer.BYTES * value.length());
+    }
+
+    static int header(BigInt value) {
+        return (value.isNegative() ? SIGN_BIT : 0) | value.length();
+    }
+
+    static int limbCount(int header) {
+        return header & ~SIGN_BIT;
+    }
+
+    static boolean isNegative(int header) {
+        return (header & SIGN_BIT) != 0;
+    }
+
+    /**
+     * Writes the value at the buffer's position. Leaves the position unchanged if it does not fit.
+     */
+    static void write(BigInt value, ByteBuffer buffer) {
+        if (buffer.remaining() < size(value)) {
+            throw new BufferOverflowException();
+        }
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(header(value));
+        putLimbs(buffer, value.limbs(), 0, value.length());
+        buffer.order(order);
+    }
+
+    /**
+     * Reads a value at the buffer's position. Leaves the position unchanged if the value is incomplete.
+     */
+    static BigInt read(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new BufferUnderflowException();
+        }
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int header = buffer.getInt(buffer.position());
+            int count = limbCount(header);
+            if ((buffer.remaining() - HEADER_BYTES) / Integer.BYTES < count) {
+                throw new BufferUnderflowException();
+            }
+            buffer.position(buffer.position() + HEADER_BYTES);
+            int[] limbs = new int[count];
+            getLimbs(buffer, limbs, 0, count);
+            return new BigInt(limbs, count, isNegative(header));
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * Copies limbs into a little-endian buffer with room for them.
+     */
+    static void putLimbs(ByteBuffer buffer, int[] limbs, int from, int count) {
+        if (count < BULK_COPY_LIMBS) {
+            for (int i = from; i < from + count; i++) {
+                buffer.putInt(limbs[i]);
+            }
+            return;
+        }
+        buffer.asIntBuffer().put(limbs, from, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+    }
+
+    /**
+     * Copies limbs out of a little-endian buffer that holds them.
+     */
+    static void getLimbs(ByteBuffer buffer, int[] limbs, int from, int count) {
+        if (count < BULK_COPY_LIMBS) {
+            for (int i = from; i < from + count; i++) {
+                limbs[i] = buffer.getInt();
+            }
+            return;
+        }
+        buffer.asIntBuffer().get(limbs, from, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+    }
+}
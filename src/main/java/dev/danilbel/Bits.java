@@ -0,0 +1,125 @@
+package dev.danilbel;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Bit-level operations on {@link Limbs} magnitudes with a sign.
+ * A negative value behaves as its infinite two's complement, so {@code -1} has every bit set and
+ * shifting right rounds towards negative infinity. Every operation is a single pass over the limbs.
+ */
+final class Bits {
+
+    private Bits() {
+    }
+
+    /**
+     * Returns the index of the lowest one bit, which is the same for both signs, or -1 for zero.
+     */
+    static int lowestSetBit(int[] x, int length) {
+        for (int i = 0; i < length; i++) {
+            if (x[i] != 0) {
+                return 32 * i + Integer.numberOfTrailingZeros(x[i]);
+            }
+        }
+        return -1;
+    }
+
+    static boolean isPowerOfTwo(int[] x, int length) {
+        if (length == 0 || Integer.bitCount(x[length - 1]) != 1) {
+            return false;
+        }
+        for (int i = 0; i < length - 1; i++) {
+            if (x[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of bits without the sign bit, so {@code -2^k} takes {@code k} bits like {@code 2^k - 1}.
+     */
+    static int bitLength(int[] x, int length, boolean negative) {
+        int bits = Limbs.bitLength(x, length);
+        return negative && isPowerOfTwo(x, length) ? bits - 1 : bits;
+    }
+
+    static boolean testBit(int[] x, int length, boolean negative, int n) {
+        int index = n >>> 5;
+        if (index >= length) {
+            return negative;
+        }
+        int word = x[index];
+        if (negative) {
+            // -m = ~(m - 1): the borrow of m - 1 runs through the zero limbs up to the lowest non-zero one
+            int lowest = 0;
+            while (x[lowest] == 0) {
+                lowest++;
+            }
+            word = index < lowest ? 0 : index == lowest ? -word : ~word;
+        }
+        return (word >>> (n & 31) & 1) != 0;
+    }
+
+    /**
+     * Returns the magnitude of {@code floor(x / 2^bits)}, which is one more than the truncated quotient
+     * when a negative value loses one bits.
+     */
+    static int[] shiftRight(int[] x, int length, boolean negative, int bits) {
+        int[] quotient = Limbs.shiftRight(x, length, bits);
+        if (negative && lowestSetBit(x, length) < bits) {
+            int quotientLength = Limbs.normalizedLength(quotient, quotient.length);
+            return Limbs.add(quotient, quotientLength, new int[]{1}, 1);
+        }
+        return quotient;
+    }
+
+    /**
+     * Returns the magnitude of {@code x mod 2^bits}.
+     */
+    static int[] lowBits(int[] x, int length, int bits) {
+        int words = Math.min(length, (bits + 31) >>> 5);
+        int[] result = Arrays.copyOf(x, words);
+        if (words * 32 > bits) {
+            result[words - 1] &= -1 >>> (32 - (bits & 31));
+        }
+        return result;
+    }
+
+    /**
+     * Applies the operator to the two's complements word by word and returns the magnitude of the result.
+     * The result is negative when the operator applied to the sign words {@code 0} and {@code -1} is non-zero.
+     */
+    static int[] bitwise(int[] x, int xLength, boolean xNegative, int[] y, int yLength, boolean yNegative,
+                         IntBinaryOperator operator) {
+        int words = Math.max(xLength, yLength) + 1;
+        int[] result = twosComplement(x, xLength, xNegative, words);
+        int[] other = twosComplement(y, yLength, yNegative, words);
+        for (int i = 0; i < words; i++) {
+            result[i] = operator.applyAsInt(result[i], other[i]);
+        }
+        if (result[words - 1] < 0) {
+            negate(result);
+        }
+        return result;
+    }
+
+    private static int[] twosComplement(int[] x, int length, boolean negative, int words) {
+        int[] result = new int[words];
+        System.arraycopy(x, 0, result, 0, length);
+        if (negative) {
+            negate(result);
+        }
+        return result;
+    }
+
+    private static void negate(int[] x) {
+        long carry = 1;
+        for (int i = 0; i < x.length; i++) {
+            carry += ~x[i] & Limbs.LONG_MASK;
+            x[i] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+}
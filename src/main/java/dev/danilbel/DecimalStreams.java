@@ -0,0 +1,213 @@
+package dev.danilbel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Decimal input and output of {@link BigInt} values without materializing the whole string.
+ * Input is an optional minus sign and ASCII digits, optionally followed by whitespace such as a
+ * trailing line break. Readers and streams are packed into nine-digit chunks while they are read,
+ * files are mapped and parsed in place, and output is written in runs of a few thousand digits.
+ */
+final class DecimalStreams {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private DecimalStreams() {
+    }
+
+    static BigInt read(Reader reader) throws IOException {
+        ChunkBuilder builder = new ChunkBuilder();
+        char[] buffer = new char[BUFFER_SIZE];
+        for (int count = reader.read(buffer); count >= 0; count = reader.read(buffer)) {
+            for (int i = 0; i < count; i++) {
+                builder.append(buffer[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    static BigInt read(InputStream input) throws IOException {
+        ChunkBuilder builder = new ChunkBuilder();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int count = input.read(buffer); count >= 0; count = input.read(buffer)) {
+            for (int i = 0; i < count; i++) {
+                builder.append((char) (buffer[i] & 0xFF));
+            }
+        }
+        return builder.build();
+    }
+
+    static BigInt read(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Number is too long");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        AsciiSequence text = new AsciiSequence(mapped, 0, mapped.limit());
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (end == 0) {
+            throw new IllegalArgumentException("Number is empty");
+        }
+        CharSequence number = text.subSequence(0, end);
+        if (!Radix.isInteger(number)) {
+            throw new IllegalArgumentException("Number is not a valid integer");
+        }
+
+        int start = number.charAt(0) == '-' ? 1 : 0;
+        int[] parsed = Radix.parse(number, start, end);
+        return new BigInt(parsed, parsed.length, start == 1);
+    }
+
+    static void write(BigInt value, Writer writer) throws IOException {
+        if (value.isNegative()) {
+            writer.write('-');
+        }
+        if (value.length() == 0) {
+            writer.write('0');
+            return;
+        }
+        Radix.write(writer::write, value.limbs(), value.length());
+    }
+
+    static void write(BigInt value, OutputStream output) throws IOException {
+        if (value.isNegative()) {
+            output.write('-');
+        }
+        if (value.length() == 0) {
+            output.write('0');
+            return;
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        Radix.write((digits, offset, length) -> {
+            for (int from = offset, end = offset + length; from < end; from += buffer.length) {
+                int count = Math.min(buffer.length, end - from);
+                for (int i = 0; i < count; i++) {
+                    buffer[i] = (byte) digits[from + i];
+                }
+                output.write(buffer, 0, count);
+            }
+        }, value.limbs(), value.length());
+    }
+
+    /**
+     * Validates characters one at a time and packs the digits into nine-digit chunks, so the digits
+     * take a little more room than the limbs they become.
+     */
+    private static final class ChunkBuilder {
+
+        private int[] chunks = new int[16];
+        private int chunkCount;
+        private int partial;
+        private int partialDigits;
+
+        private boolean signed;
+        private boolean digitsSeen;
+        private boolean finished;
+        private long characterCount;
+
+        void append(char c) {
+            characterCount++;
+            if (finished) {
+                if (!Character.isWhitespace(c)) {
+                    throw new IllegalArgumentException("Number is not a valid integer");
+                }
+                return;
+            }
+            if (c >= '0' && c <= '9') {
+                digitsSeen = true;
+                partial = partial * 10 + (c - '0');
+                if (++partialDigits == Radix.DECIMAL_CHUNK_DIGITS) {
+                    if (chunkCount == chunks.length) {
+                        chunks = Arrays.copyOf(chunks, chunkCount + chunkCount / 2);
+                    }
+                    chunks[chunkCount++] = partial;
+                    partial = 0;
+                    partialDigits = 0;
+                }
+            } else if (c == '-' && characterCount == 1) {
+                signed = true;
+            } else if (digitsSeen && Character.isWhitespace(c)) {
+                finished = true;
+            } else {
+                throw new IllegalArgumentException("Number is not a valid integer");
+            }
+        }
+
+        BigInt build() {
+            if (characterCount == 0) {
+                throw new IllegalArgumentException("Number is empty");
+            }
+            if (!digitsSeen) {
+                throw new IllegalArgumentException("Number is not a valid integer");
+            }
+
+            int[] parsed = Radix.parseChunks(chunks, chunkCount);
+            int length = Limbs.normalizedLength(parsed, parsed.length);
+            if (partialDigits > 0) {
+                int scale = 1;
+                for (int i = 0; i < partialDigits; i++) {
+                    scale *= 10;
+                }
+                if (length == parsed.length) {
+                    parsed = Arrays.copyOf(parsed, length + 1);
+                }
+                length = Limbs.multiplyAdd(parsed, length, scale, partial);
+            }
+            return new BigInt(parsed, length, signed);
+        }
+    }
+
+    /**
+     * Views a range of single-byte characters as a {@link CharSequence} without copying them.
+     */
+    private static final class AsciiSequence implements CharSequence {
+
+        private final ByteBuffer bytes;
+        private final int offset;
+        private final int length;
+
+        AsciiSequence(ByteBuffer bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes.get(offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new AsciiSequence(bytes, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(length);
+            return result.append(this).toString();
+        }
+    }
+}
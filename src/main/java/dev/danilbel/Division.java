@@ -0,0 +1,211 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+
+import java.util.Arrays;
+
+import static dev.danilbel.Limbs.LONG_MASK;
+
+/**
+ * Division engines over {@link Limbs} magnitudes.
+ * Divisors shorter than the Burnikel-Ziegler threshold (in limbs) use schoolbook long division.
+ */
+final class Division {
+
+    static final int BURNIKEL_ZIEGLER_THRESHOLD =
+            Math.max(2, Integer.getInteger("dev.danilbel.burnikelZieglerThreshold", 80));
+
+    // The recursive division only pays off when the quotient is long as well
+    private static final int BURNIKEL_ZIEGLER_OFFSET = 40;
+
+    private static final int[] ONE = {1};
+
+    private Division() {
+    }
+
+    /**
+     * Returns the quotient and the remainder of {@code u / v}; the divisor must be non-zero.
+     */
+    static int[][] divideAndRemainder(int[] u, int uLength, int[] v, int vLength) {
+        if (vLength >= BURNIKEL_ZIEGLER_THRESHOLD && uLength - vLength >= BURNIKEL_ZIEGLER_OFFSET) {
+            BigIntMetrics.count(Algorithm.BURNIKEL_ZIEGLER_DIVISION);
+            return burnikelZiegler(u, uLength, v, vLength);
+        }
+        BigIntMetrics.count(vLength == 1 ? Algorithm.SINGLE_LIMB_DIVISION : Algorithm.KNUTH_DIVISION);
+        return schoolbook(u, uLength, v, vLength);
+    }
+
+    private static int[][] schoolbook(int[] u, int uLength, int[] v, int vLength) {
+        if (Limbs.compare(u, uLength, v, vLength) < 0) {
+            return new int[][]{Limbs.EMPTY, Arrays.copyOf(u, uLength)};
+        }
+        if (vLength == 1) {
+            return divideByLimb(u, uLength, v[0]);
+        }
+        return knuth(u, uLength, v, vLength);
+    }
+
+    private static int[][] divideByLimb(int[] u, int uLength, int divisor) {
+        long d = divisor & LONG_MASK;
+        int[] quotient = new int[uLength];
+        long remainder = 0;
+        for (int i = uLength - 1; i >= 0; i--) {
+            long dividend = (remainder << 32) | (u[i] & LONG_MASK);
+            long q = Long.divideUnsigned(dividend, d);
+            quotient[i] = (int) q;
+            remainder = dividend - q * d;
+        }
+        return new int[][]{quotient, new int[]{(int) remainder}};
+    }
+
+    /**
+     * Knuth, TAOCP vol. 2, 4.3.1, Algorithm D: the divisor is normalized so that its top limb has the
+     * high bit set, which keeps every estimated quotient limb at most two above the true one.
+     */
+    private static int[][] knuth(int[] u, int uLength, int[] v, int vLength) {
+        int shift = Integer.numberOfLeadingZeros(v[vLength - 1]);
+        int[] vn = Limbs.shiftLeft(v, vLength, shift);
+        int[] un = Limbs.shiftLeft(u, uLength, shift);
+
+        int n = vLength;
+        long vTop = vn[n - 1] & LONG_MASK;
+        long vNext = vn[n - 2] & LONG_MASK;
+        int[] quotient = new int[uLength - vLength + 1];
+
+        for (int j = uLength - vLength; j >= 0; j--) {
+            long numerator = ((un[j + n] & LONG_MASK) << 32) | (un[j + n - 1] & LONG_MASK);
+            long qhat = Long.divideUnsigned(numerator, vTop);
+            long rhat = numerator - qhat * vTop;
+            while (Long.compareUnsigned(qhat, LONG_MASK) > 0
+                    || Long.compareUnsigned(qhat * vNext, (rhat << 32) | (un[j + n - 2] & LONG_MASK)) > 0) {
+                qhat--;
+                rhat += vTop;
+                if (rhat > LONG_MASK) {
+                    break;
+                }
+            }
+
+            long borrow = 0;
+            long t;
+            for (int i = 0; i < n; i++) {
+                long product = qhat * (vn[i] & LONG_MASK);
+                t = (un[i + j] & LONG_MASK) - borrow - (product & LONG_MASK);
+                un[i + j] = (int) t;
+                borrow = (product >>> 32) - (t >> 32);
+            }
+            t = (un[j + n] & LONG_MASK) - borrow;
+            un[j + n] = (int) t;
+
+            if (t < 0) {
+                qhat--;
+                long carry = 0;
+                for (int i = 0; i < n; i++) {
+                    carry += (un[i + j] & LONG_MASK) + (vn[i] & LONG_MASK);
+                    un[i + j] = (int) carry;
+                    carry >>>= 32;
+                }
+                un[j + n] += (int) carry;
+            }
+            quotient[j] = (int) qhat;
+        }
+
+        return new int[][]{quotient, Limbs.shiftRight(un, n, shift)};
+    }
+
+    /**
+     * Burnikel and Ziegler, "Fast Recursive Division" (1998), Algorithm 3: the divisor is padded to
+     * {@code m * j} limbs with its top bit set and the dividend is consumed in blocks of that size.
+     */
+    private static int[][] burnikelZiegler(int[] a, int aLength, int[] b, int bLength) {
+        int m = 1 << (32 - Integer.numberOfLeadingZeros(bLength / BURNIKEL_ZIEGLER_THRESHOLD));
+        int j = (bLength + m - 1) / m;
+        int n = j * m;
+        long n32 = 32L * n;
+        int sigma = (int) Math.max(0, n32 - Limbs.bitLength(b, bLength));
+
+        int[] bShifted = Limbs.trimmed(Limbs.shiftLeft(b, bLength, sigma));
+        int[] aShifted = Limbs.trimmed(Limbs.shiftLeft(a, aLength, sigma));
+        int t = (int) Math.max((Limbs.bitLength(aShifted, aShifted.length) + n32) / n32, 2);
+
+        int[] quotient = new int[t * n];
+        int[] z = block(aShifted, (t - 2) * n, t * n);
+        for (int i = t - 2; i > 0; i--) {
+            int[][] qr = divide2n1n(z, bShifted, n);
+            Limbs.addInto(quotient, i * n, qr[0], qr[0].length);
+            z = join(qr[1], n, block(aShifted, (i - 1) * n, i * n));
+        }
+        int[][] qr = divide2n1n(z, bShifted, n);
+        Limbs.addInto(quotient, 0, qr[0], qr[0].length);
+
+        return new int[][]{quotient, Limbs.shiftRight(qr[1], qr[1].length, sigma)};
+    }
+
+    /**
+     * Divides {@code a < b * B^n} by the {@code n}-limb divisor {@code b} whose top bit is set.
+     */
+    private static int[][] divide2n1n(int[] a, int[] b, int n) {
+        if (n % 2 != 0 || n < BURNIKEL_ZIEGLER_THRESHOLD) {
+            int[][] qr = schoolbook(a, a.length, b, b.length);
+            return new int[][]{Limbs.trimmed(qr[0]), Limbs.trimmed(qr[1])};
+        }
+
+        int half = n / 2;
+        int[][] first = divide3n2n(block(a, half, 2 * n), b, half);
+        int[][] second = divide3n2n(join(first[1], half, block(a, 0, half)), b, half);
+        return new int[][]{join(first[0], half, second[0]), second[1]};
+    }
+
+    /**
+     * Divides {@code a < b * B^n} of at most {@code 3n} limbs by the {@code 2n}-limb divisor {@code b}.
+     */
+    private static int[][] divide3n2n(int[] a, int[] b, int n) {
+        int[] a12 = block(a, n, 3 * n);
+        int[] b1 = block(b, n, 2 * n);
+        int[] b2 = block(b, 0, n);
+
+        int[] q;
+        int[] r1;
+        int[] a1 = block(a, 2 * n, 3 * n);
+        if (Limbs.compare(a1, a1.length, b1, b1.length) < 0) {
+            int[][] qr = divide2n1n(a12, b1, n);
+            q = qr[0];
+            r1 = qr[1];
+        } else {
+            // a1 == b1, so the quotient limb block is B^n - 1 and r1 = a12 - b1 * B^n + b1
+            q = new int[n];
+            Arrays.fill(q, -1);
+            int[] sum = Limbs.add(a12, a12.length, b1, b1.length);
+            int[] b1Shifted = join(b1, n, Limbs.EMPTY);
+            r1 = Limbs.trimmed(Limbs.subtract(sum, Limbs.normalizedLength(sum, sum.length), b1Shifted, b1Shifted.length));
+        }
+
+        int[] d = Limbs.trimmed(Multiplication.multiply(q, q.length, b2, b2.length));
+        int[] r = join(r1, n, block(a, 0, n));
+        while (Limbs.compare(r, r.length, d, d.length) < 0) {
+            r = Limbs.trimmed(Limbs.add(r, r.length, b, b.length));
+            q = Limbs.trimmed(Limbs.subtract(q, q.length, ONE, 1));
+        }
+        return new int[][]{q, Limbs.trimmed(Limbs.subtract(r, r.length, d, d.length))};
+    }
+
+    /**
+     * Returns {@code high * B^shift + low} for {@code low < B^shift}.
+     */
+    private static int[] join(int[] high, int shift, int[] low) {
+        if (high.length == 0) {
+            return low;
+        }
+        int[] result = new int[shift + high.length];
+        System.arraycopy(low, 0, result, 0, low.length);
+        System.arraycopy(high, 0, result, shift, high.length);
+        return result;
+    }
+
+    private static int[] block(int[] x, int from, int to) {
+        to = Math.min(to, x.length);
+        if (from >= to) {
+            return Limbs.EMPTY;
+        }
+        return Limbs.trimmed(Arrays.copyOfRange(x, from, to));
+    }
+}
@@ -0,0 +1,108 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Integer powers of {@link Limbs} magnitudes.
+ * Factors of two in the base become a single final shift, single-limb bases are raised by squaring
+ * and multiplying by the limb, and longer bases use left-to-right sliding-window exponentiation.
+ * The running power is a {@link MutableBigInt}, so the steps below the Karatsuba threshold alternate
+ * between two buffers instead of allocating a product each.
+ */
+final class Exponentiation {
+
+    private Exponentiation() {
+    }
+
+    /**
+     * Returns {@code x^exponent} for a non-zero magnitude and a positive exponent.
+     */
+    static int[] pow(int[] x, int length, int exponent) {
+        int trailingZeros = trailingZeroBits(x, length);
+        long shift = (long) trailingZeros * exponent;
+        if (shift > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Power is too large");
+        }
+
+        int[] base = trailingZeros == 0 ? x : Limbs.shiftRight(x, length, trailingZeros);
+        int baseLength = Limbs.normalizedLength(base, trailingZeros == 0 ? length : base.length);
+
+        int[] result;
+        if (baseLength == 1 && base[0] == 1) {
+            result = new int[]{1};
+        } else if (baseLength == 1) {
+            BigIntMetrics.count(Algorithm.SINGLE_LIMB_POWER);
+            result = powOfLimb(base[0], exponent);
+        } else {
+            BigIntMetrics.count(Algorithm.SLIDING_WINDOW_POWER);
+            result = slidingWindowPow(base, baseLength, exponent);
+        }
+
+        return shift == 0 ? result : Limbs.shiftLeft(result, Limbs.normalizedLength(result, result.length), (int) shift);
+    }
+
+    private static int trailingZeroBits(int[] x, int length) {
+        int limb = 0;
+        while (limb < length && x[limb] == 0) {
+            limb++;
+        }
+        return 32 * limb + Integer.numberOfTrailingZeros(x[limb]);
+    }
+
+    private static int[] powOfLimb(int base, int exponent) {
+        int[] limb = {base};
+        MutableBigInt result = new MutableBigInt(limb, 1);
+        for (int bit = 30 - Integer.numberOfLeadingZeros(exponent); bit >= 0; bit--) {
+            result.squareInPlace();
+            if ((exponent >>> bit & 1) != 0) {
+                result.multiplyInPlace(limb, 1);
+            }
+        }
+        return result.toLimbs();
+    }
+
+    private static int[] slidingWindowPow(int[] base, int baseLength, int exponent) {
+        int bits = 32 - Integer.numberOfLeadingZeros(exponent);
+        int window = bits <= 8 ? 2 : bits <= 24 ? 3 : 4;
+
+        // oddPowers[i] = base^(2i + 1)
+        int[][] oddPowers = new int[1 << (window - 1)][];
+        oddPowers[0] = Arrays.copyOf(base, baseLength);
+        if (oddPowers.length > 1) {
+            int[] baseSquared = Limbs.trimmed(Multiplication.square(base, baseLength));
+            for (int i = 1; i < oddPowers.length; i++) {
+                int[] previous = oddPowers[i - 1];
+                oddPowers[i] = Limbs.trimmed(Multiplication.multiply(previous, previous.length, baseSquared, baseSquared.length));
+            }
+        }
+
+        MutableBigInt result = null;
+        int bit = bits - 1;
+        while (bit >= 0) {
+            if ((exponent >>> bit & 1) == 0) {
+                result.squareInPlace();
+                bit--;
+                continue;
+            }
+
+            int low = Math.max(bit - window + 1, 0);
+            while ((exponent >>> low & 1) == 0) {
+                low++;
+            }
+            int value = (exponent >>> low) & ((1 << (bit - low + 1)) - 1);
+            int[] odd = oddPowers[value >>> 1];
+            if (result == null) {
+                result = new MutableBigInt(odd, odd.length);
+            } else {
+                for (int i = low; i <= bit; i++) {
+                    result.squareInPlace();
+                }
+                result.multiplyInPlace(odd, odd.length);
+            }
+            bit = low - 1;
+        }
+        return result.toLimbs();
+    }
+}
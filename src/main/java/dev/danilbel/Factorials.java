@@ -0,0 +1,115 @@
+package dev.danilbel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Factorials, binomial coefficients and primorials, assembled from their prime factorizations.
+ * The prime powers are packed into {@code long} leaves and multiplied by {@link BigIntBatch#product},
+ * so operands of similar size meet at every level instead of one product growing by a word at a time.
+ * <p>
+ * The factorial uses Luschny's prime swing {@code n! = (n/2)!^2 * swing(n)}. The exponent of {@code p}
+ * in {@code swing(n)} is the number of odd terms in {@code n/p, n/p^2, ...}, so its factorization is
+ * one short loop per prime. The power of two is split off and applied as a single shift at the end.
+ */
+final class Factorials {
+
+    // 20! is the largest factorial that fits in a long
+    private static final int LONG_FACTORIAL_LIMIT = 20;
+
+    private Factorials() {
+    }
+
+    static BigInt factorial(int n, ForkJoinPool pool) {
+        List<Integer> arguments = new ArrayList<>();
+        for (int m = n; m > LONG_FACTORIAL_LIMIT; m /= 2) {
+            arguments.add(m);
+        }
+        int[] primes = Primes.primesUpTo(n);
+        // the swings of the levels do not depend on each other
+        BigInt[] swings = pool.submit(() -> arguments.parallelStream()
+                .map(m -> oddSwing(m, primes, pool))
+                .toArray(BigInt[]::new)).join();
+
+        int m = arguments.isEmpty() ? n : arguments.get(arguments.size() - 1) / 2;
+        long smallFactorial = 1;
+        for (int i = 2; i <= m; i++) {
+            smallFactorial *= i;
+        }
+        BigInt result = BigInt.valueOf(smallFactorial >> Long.numberOfTrailingZeros(smallFactorial));
+        for (int i = swings.length - 1; i >= 0; i--) {
+            result = result.square().parallelMultiply(swings[i], pool);
+        }
+        // the exponent of 2 in n! is n minus the number of one bits of n
+        return result.shiftLeft(n - Integer.bitCount(n));
+    }
+
+    /**
+     * Returns the binomial coefficient for {@code 0 <= k <= n}. By Kummer's theorem the exponent of
+     * {@code p} is the number of borrows when {@code k} is subtracted from {@code n} in base {@code p}.
+     */
+    static BigInt binomial(int n, int k, ForkJoinPool pool) {
+        Leaves leaves = new Leaves();
+        int[] primes = Primes.primesUpTo(n);
+        for (int i = 0; i < primes.length && primes[i] <= n; i++) {
+            int p = primes[i];
+            int power = 1;
+            int borrow = 0;
+            for (int a = n, b = k; a > 0; a /= p, b /= p) {
+                borrow = a % p < b % p + borrow ? 1 : 0;
+                if (borrow != 0) {
+                    power *= p;
+                }
+            }
+            leaves.add(power);
+        }
+        return leaves.product(pool);
+    }
+
+    static BigInt primorial(int n, ForkJoinPool pool) {
+        Leaves leaves = new Leaves();
+        int[] primes = Primes.primesUpTo(n);
+        for (int i = 0; i < primes.length && primes[i] <= n; i++) {
+            leaves.add(primes[i]);
+        }
+        return leaves.product(pool);
+    }
+
+    /**
+     * Returns the odd part of {@code n! / ((n/2)!)^2}.
+     */
+    private static BigInt oddSwing(int n, int[] primes, ForkJoinPool pool) {
+        Leaves leaves = new Leaves();
+        for (int i = 1; i < primes.length && primes[i] <= n; i++) {
+            int p = primes[i];
+            int power = 1;
+            for (int q = n / p; q > 0; q /= p) {
+                if ((q & 1) != 0) {
+                    power *= p;
+                }
+            }
+            leaves.add(power);
+        }
+        return leaves.product(pool);
+    }
+
+    private static final class Leaves {
+
+        private final List<BigInt> values = new ArrayList<>();
+        private long current = 1;
+
+        void add(long factor) {
+            if (current > Long.MAX_VALUE / factor) {
+                values.add(BigInt.valueOf(current));
+                current = 1;
+            }
+            current *= factor;
+        }
+
+        BigInt product(ForkJoinPool pool) {
+            values.add(BigInt.valueOf(current));
+            return BigIntBatch.product(values, pool);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+
+import java.util.Arrays;
+
+import static dev.danilbel.Limbs.LONG_MASK;
+
+/**
+ * Greatest common divisors of {@link Limbs} magnitudes.
+ * Operands that fit in a long use binary GCD. Longer ones run Lehmer's algorithm: the Euclidean
+ * quotients of the leading 62 bits are replayed with single-precision cofactors, which are then
+ * applied to the whole numbers in one linear pass. Operands of at least the half-GCD threshold
+ * (in limbs) are first cut to half their length by the recursive half-GCD, which computes the
+ * cofactor matrix of the leading halves and applies it with a few large multiplications.
+ */
+final class Gcd {
+
+    static final int HALF_GCD_THRESHOLD =
+            Math.max(2, Integer.getInteger("dev.danilbel.halfGcdThreshold", 150));
+
+    private static final int[] ONE = {1};
+
+    private Gcd() {
+    }
+
+    /**
+     * Returns the greatest common divisor of two magnitudes, trimmed.
+     */
+    static int[] gcd(int[] x, int xLength, int[] y, int yLength) {
+        return new Reduction(x, xLength, y, yLength, false, false).run();
+    }
+
+    /**
+     * Returns the greatest common divisor {@code g} of two magnitudes and the cofactor {@code s}
+     * with {@code s * x = g (mod y)} and {@code 0 <= s < y}, both trimmed; {@code y} must be non-zero.
+     */
+    static int[][] extendedGcd(int[] x, int xLength, int[] y, int yLength) {
+        Reduction reduction = new Reduction(x, xLength, y, yLength, false, true);
+        int[] gcd = reduction.run();
+
+        // (x, y) = M (g, 0), so g = det(M) * (m11 * x - m01 * y)
+        int[] cofactor = reduction.bottom[1].toLimbs();
+        if (Limbs.compare(cofactor, cofactor.length, y, yLength) >= 0) {
+            cofactor = Limbs.trimmed(Division.divideAndRemainder(cofactor, cofactor.length, y, yLength)[1]);
+        }
+        if (reduction.odd && cofactor.length > 0) {
+            cofactor = Limbs.trimmed(Limbs.subtract(y, yLength, cofactor, cofactor.length));
+        }
+        return new int[][]{gcd, cofactor};
+    }
+
+    /**
+     * Reduces {@code a >= b} until {@code b} is about half as long as {@code a}, keeping {@code b} at least
+     * {@code n / 2 + 1} limbs long where {@code n} is the length of {@code a}. Remainders that long are
+     * large enough for the matrix to stay valid when {@code a} and {@code b} are leading parts of longer numbers.
+     */
+    private static Reduction halfGcd(int[] a, int[] b) {
+        int n = a.length;
+        int s = n / 2 + 1;
+        Reduction reduction = new Reduction(a, a.length, b, b.length, true, true);
+        if (b.length <= s) {
+            return reduction;
+        }
+
+        if (n >= HALF_GCD_THRESHOLD) {
+            reduction.reduceByLeadingPart(n / 2);
+            // the second recursion starts where its result lands just above s limbs
+            int p = 2 * s - reduction.a.length() + 1;
+            if (reduction.b.length() > s + 2 && p > 0 && reduction.a.length() - p <= n / 2 + 1) {
+                reduction.reduceByLeadingPart(p);
+            }
+        }
+        while (reduction.b.length() > s && (reduction.lehmerStep(s) || reduction.divisionStep(s))) {
+            // every step keeps the remainder at least s limbs long
+        }
+        return reduction;
+    }
+
+    /**
+     * A pair {@code (a, b)} reduced from the original operands by Euclidean steps, together with the
+     * requested rows of the matrix {@code M} with non-negative entries and determinant {@code (-1)^odd}
+     * that maps the reduced pair back: {@code (original a, original b) = M (a, b)}.
+     * <p>
+     * The pair and the rows are {@link MutableBigInt}s. A step writes the next values into the two spares and
+     * swaps them with the values they replace, so the loops reuse the same few buffers instead of
+     * allocating new numbers every step.
+     */
+    private static final class Reduction {
+
+        private MutableBigInt a;
+        private MutableBigInt b;
+        private boolean odd;
+        private boolean reduced;
+        // (m00, m01) and (m10, m11), or null when not tracked
+        private final MutableBigInt[] top;
+        private final MutableBigInt[] bottom;
+        private final MutableBigInt[][] rows;
+        private MutableBigInt first = new MutableBigInt();
+        private MutableBigInt second = new MutableBigInt();
+        private final MutableBigInt product = new MutableBigInt();
+
+        private Reduction(int[] x, int xLength, int[] y, int yLength, boolean trackTop, boolean trackBottom) {
+            this.a = new MutableBigInt(x, Limbs.normalizedLength(x, xLength));
+            this.b = new MutableBigInt(y, Limbs.normalizedLength(y, yLength));
+            this.top = trackTop ? new MutableBigInt[]{new MutableBigInt(ONE, 1), new MutableBigInt()} : null;
+            this.bottom = trackBottom ? new MutableBigInt[]{new MutableBigInt(), new MutableBigInt(ONE, 1)} : null;
+            this.rows = trackTop && trackBottom ? new MutableBigInt[][]{top, bottom}
+                    : trackTop ? new MutableBigInt[][]{top}
+                    : trackBottom ? new MutableBigInt[][]{bottom}
+                    : new MutableBigInt[0][];
+        }
+
+        private int[] run() {
+            if (bottom == null && a.length() <= 2 && b.length() <= 2) {
+                BigIntMetrics.count(Algorithm.BINARY_GCD);
+            } else {
+                BigIntMetrics.count(Math.min(a.length(), b.length()) >= HALF_GCD_THRESHOLD
+                        ? Algorithm.HALF_GCD
+                        : Algorithm.LEHMER_GCD);
+            }
+
+            if (compare(a, b) < 0) {
+                divisionStep(0);
+            }
+            while (b.length() > 0) {
+                if (bottom == null && b.length() == 1) {
+                    int[] remainder = Division.divideAndRemainder(a.limbs(), a.length(), b.limbs(), 1)[1];
+                    return fromLong(binaryGcd(b.limbs()[0] & LONG_MASK, limb(remainder, 0)));
+                }
+                if (bottom == null && a.length() <= 2) {
+                    return fromLong(binaryGcd(toLong(a.limbs()), toLong(b.limbs())));
+                }
+                if (b.length() >= HALF_GCD_THRESHOLD && a.length() - b.length() < b.length() / 2) {
+                    Reduction half = halfGcd(a.toLimbs(), b.toLimbs());
+                    if (half.reduced) {
+                        apply(half, half.a, half.b);
+                        continue;
+                    }
+                }
+                if (!lehmerStep(0)) {
+                    divisionStep(0);
+                }
+            }
+            return a.toLimbs();
+        }
+
+        /**
+         * Runs the half-GCD on the limbs of {@code a} and {@code b} above {@code p} and applies its matrix to the
+         * whole numbers. The matrix is dropped if it does not reduce them to a proper pair.
+         */
+        private void reduceByLeadingPart(int p) {
+            Reduction high = halfGcd(Arrays.copyOfRange(a.limbs(), p, a.length()),
+                    Arrays.copyOfRange(b.limbs(), p, b.length()));
+            if (!high.reduced) {
+                return;
+            }
+
+            // (a', b') = M^-1 (a, b) = det(M) * (m11 * a - m01 * b, m00 * b - m10 * a)
+            first.set(a).multiplyInPlace(high.bottom[1]).subtractInPlace(product.set(b).multiplyInPlace(high.top[1]));
+            second.set(b).multiplyInPlace(high.top[0]).subtractInPlace(product.set(a).multiplyInPlace(high.bottom[0]));
+            if (high.odd) {
+                first.negateInPlace();
+                second.negateInPlace();
+            }
+            if (first.isNegative() || second.isNegative() || compare(first, second) < 0) {
+                return;
+            }
+            apply(high, first, second);
+        }
+
+        /**
+         * Replaces the pair by {@code (nextA, nextB)}, reduced further by the matrix of {@code other}.
+         */
+        private void apply(Reduction other, MutableBigInt nextA, MutableBigInt nextB) {
+            a.set(nextA);
+            b.set(nextB);
+            odd ^= other.odd;
+            reduced = true;
+            for (MutableBigInt[] row : rows) {
+                first.set(row[0]).multiplyInPlace(other.top[0])
+                        .addInPlace(product.set(row[1]).multiplyInPlace(other.bottom[0]));
+                second.set(row[0]).multiplyInPlace(other.top[1])
+                        .addInPlace(product.set(row[1]).multiplyInPlace(other.bottom[1]));
+                replaceRow(row);
+            }
+        }
+
+        /**
+         * Replaces {@code (a, b)} by {@code (b, a mod b)} unless the remainder is shorter than {@code minLength} limbs.
+         */
+        private boolean divisionStep(int minLength) {
+            int[][] quotientAndRemainder = Division.divideAndRemainder(a.limbs(), a.length(), b.limbs(), b.length());
+            int[] remainder = quotientAndRemainder[1];
+            int remainderLength = Limbs.normalizedLength(remainder, remainder.length);
+            if (remainderLength < minLength) {
+                return false;
+            }
+            int[] quotient = quotientAndRemainder[0];
+            int quotientLength = Limbs.normalizedLength(quotient, quotient.length);
+
+            // (a, b) = (b, r) and (m0, m1) = (q * m0 + m1, m0) rotate the buffers, with the one dropped as the spare
+            first.set(remainder, remainderLength);
+            MutableBigInt swap = a;
+            a = b;
+            b = first;
+            first = swap;
+            odd = !odd;
+            reduced = true;
+            for (MutableBigInt[] row : rows) {
+                first.set(row[0]).multiplyInPlace(quotient, quotientLength).addInPlace(row[1]);
+                swap = row[1];
+                row[1] = row[0];
+                row[0] = first;
+                first = swap;
+            }
+            return true;
+        }
+
+        /**
+         * Runs Lehmer's inner loop on the leading 62 bits of {@code a} and {@code b} and applies the cofactors it found.
+         * With a positive {@code minLength} the remainders are kept at least that many limbs long.
+         * Returns false if the leading bits did not determine a single quotient.
+         */
+        private boolean lehmerStep(int minLength) {
+            int shift = Math.max(0, Limbs.bitLength(a.limbs(), a.length()) - 62);
+            long x = leadingBits(a.limbs(), shift);
+            long y = leadingBits(b.limbs(), shift);
+
+            // the true remainder is y * 2^shift give or take the largest cofactor times 2^shift
+            long floor = 0;
+            if (minLength > 0) {
+                int exponent = 32 * (minLength - 1) - shift;
+                if (exponent > 60) {
+                    return false;
+                }
+                floor = Integer.MAX_VALUE + (exponent <= 0 ? 1 : 1L << exponent);
+            }
+
+            long u0 = 1;
+            long u1 = 0;
+            long v0 = 0;
+            long v1 = 1;
+            while (true) {
+                long yv0 = y + v0;
+                long yv1 = y + v1;
+                if (yv0 == 0 || yv1 == 0) {
+                    break;
+                }
+                long q = (x + u0) / yv0;
+                if (q != (x + u1) / yv1 || q > Integer.MAX_VALUE) {
+                    break;
+                }
+                long nextV0 = u0 - q * v0;
+                long nextV1 = u1 - q * v1;
+                long nextY = x - q * y;
+                if (Math.abs(nextV0) > Integer.MAX_VALUE || Math.abs(nextV1) > Integer.MAX_VALUE || nextY < floor) {
+                    break;
+                }
+                u0 = v0;
+                u1 = v1;
+                v0 = nextV0;
+                v1 = nextV1;
+                x = y;
+                y = nextY;
+            }
+            if (u1 == 0) {
+                return false;
+            }
+
+            // (a', b') = (u0 * a + u1 * b, v0 * a + v1 * b), where each row mixes one sign
+            boolean oddStep = v1 < 0;
+            if (oddStep) {
+                first.setLinearDifference(b, u1, a, -u0);
+                second.setLinearDifference(a, v0, b, -v1);
+            } else {
+                first.setLinearDifference(a, u0, b, -u1);
+                second.setLinearDifference(b, v1, a, -v0);
+            }
+            replacePair();
+            odd ^= oddStep;
+            reduced = true;
+            for (MutableBigInt[] row : rows) {
+                first.setLinearSum(row[0], Math.abs(v1), row[1], Math.abs(v0));
+                second.setLinearSum(row[0], Math.abs(u1), row[1], Math.abs(u0));
+                replaceRow(row);
+            }
+            return true;
+        }
+
+        /**
+         * Swaps the spares in as the new {@code (a, b)}; the old pair becomes the spares.
+         */
+        private void replacePair() {
+            MutableBigInt swap = a;
+            a = first;
+            first = swap;
+            swap = b;
+            b = second;
+            second = swap;
+        }
+
+        private void replaceRow(MutableBigInt[] row) {
+            MutableBigInt swap = row[0];
+            row[0] = first;
+            first = swap;
+            swap = row[1];
+            row[1] = second;
+            second = swap;
+        }
+    }
+
+    private static int compare(MutableBigInt x, MutableBigInt y) {
+        return Limbs.compare(x.limbs(), x.length(), y.limbs(), y.length());
+    }
+
+    /**
+     * Returns the 62 bits of {@code x} starting at bit {@code shift}.
+     */
+    private static long leadingBits(int[] x, int shift) {
+        int limb = shift >>> 5;
+        int bits = shift & 31;
+        long result = (limb(x, limb) >>> bits) | (limb(x, limb + 1) << (32 - bits));
+        if (bits > 0) {
+            result |= limb(x, limb + 2) << (64 - bits);
+        }
+        return result & ((1L << 62) - 1);
+    }
+
+    private static long limb(int[] x, int i) {
+        return i < x.length ? x[i] & LONG_MASK : 0;
+    }
+
+    /**
+     * Stein's binary GCD of two unsigned longs.
+     */
+    private static long binaryGcd(long u, long v) {
+        if (u == 0 || v == 0) {
+            return u | v;
+        }
+        int shift = Long.numberOfTrailingZeros(u | v);
+        u >>>= Long.numberOfTrailingZeros(u);
+        do {
+            v >>>= Long.numberOfTrailingZeros(v);
+            if (Long.compareUnsigned(u, v) > 0) {
+                long swap = u;
+                u = v;
+                v = swap;
+            }
+            v -= u;
+        } while (v != 0);
+        return u << shift;
+    }
+
+    private static long toLong(int[] x) {
+        return limb(x, 0) | limb(x, 1) << 32;
+    }
+
+    private static int[] fromLong(long value) {
+        return Limbs.trimmed(new int[]{(int) value, (int) (value >>> 32)});
+    }
+}
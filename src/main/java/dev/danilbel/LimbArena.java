@@ -0,0 +1,140 @@
+package dev.danilbel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owns the off-heap memory of {@link OffHeapBigInt} values and releases all of it on {@link #close()}.
+ * Memory comes either from direct buffers or from temporary files mapped into memory, which lets the
+ * operating system page giant operands out. Values must not be used once their arena is closed.
+ * An arena and its values are meant for a single thread.
+ */
+public final class LimbArena implements AutoCloseable {
+
+    // sun.misc.Unsafe.invokeCleaner frees a direct or mapped buffer without waiting for the collector
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private final Path directory;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+    private boolean closed;
+
+    private LimbArena(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns an arena that allocates direct buffers.
+     */
+    public static LimbArena ofDirect() {
+        return new LimbArena(null);
+    }
+
+    /**
+     * Returns an arena that allocates memory-mapped temporary files in the directory and deletes them on close.
+     */
+    public static LimbArena ofMappedFiles(Path directory) {
+        return new LimbArena(directory);
+    }
+
+    /**
+     * Copies a value into this arena.
+     */
+    public OffHeapBigInt copyOf(BigInt value) {
+        int length = value.length();
+        IntBuffer limbs = allocate(length);
+        limbs.put(0, value.limbs(), 0, length);
+        return new OffHeapBigInt(this, limbs, length, value.isNegative());
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer buffer : buffers) {
+            free(buffer);
+        }
+        buffers.clear();
+
+        IOException failure = null;
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        files.clear();
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Arena is closed");
+        }
+    }
+
+    /**
+     * Returns zero-filled little-endian storage for the given number of limbs.
+     */
+    IntBuffer allocate(int limbs) {
+        ensureOpen();
+        int bytes = Math.toIntExact((long) Math.max(limbs, 1) * Integer.BYTES);
+        ByteBuffer buffer = directory == null ? ByteBuffer.allocateDirect(bytes) : map(bytes);
+        buffers.add(buffer);
+        return buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private ByteBuffer map(int bytes) {
+        try {
+            Path file = Files.createTempFile(directory, "limbs", ".bin");
+            files.add(file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable e) {
+            // the collector frees the buffer instead
+        }
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
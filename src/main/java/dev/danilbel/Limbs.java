@@ -0,0 +1,332 @@
+package dev.danilbel;
+
+import java.util.Arrays;
+
+/**
+ * Kernels over little-endian magnitudes stored as {@code int[]} limbs in base 2^32.
+ * Every magnitude is passed as an array together with its significant length.
+ */
+final class Limbs {
+
+    static final long LONG_MASK = 0xFFFFFFFFL;
+
+    static final int[] EMPTY = new int[0];
+
+    // jdk.incubator.vector is only in the boot layer when it is added with --add-modules
+    static final boolean VECTORIZED = Boolean.parseBoolean(System.getProperty("dev.danilbel.vector", "true"))
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    static final int VECTOR_THRESHOLD =
+            Math.max(2, Integer.getInteger("dev.danilbel.vectorThreshold", 16));
+
+    private Limbs() {
+    }
+
+    static int normalizedLength(int[] x, int length) {
+        while (length > 0 && x[length - 1] == 0) {
+            length--;
+        }
+        return length;
+    }
+
+    static int[] trimmed(int[] x) {
+        int length = normalizedLength(x, x.length);
+        return length == x.length ? x : Arrays.copyOf(x, length);
+    }
+
+    static int bitLength(int[] x, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        return 32 * length - Integer.numberOfLeadingZeros(x[length - 1]);
+    }
+
+    /**
+     * Returns the magnitude rounded to the nearest double. The top 64 bits are kept, with any lower
+     * bit folded into the last one so that the single conversion still rounds correctly.
+     */
+    static double toDouble(int[] x, int length) {
+        int shift = bitLength(x, length) - 64;
+        if (shift <= 0) {
+            long value = length == 0 ? 0 : length == 1 ? x[0] & LONG_MASK : (long) x[1] << 32 | x[0] & LONG_MASK;
+            return (double) (value >>> 1 | value & 1) * 2;
+        }
+        int index = shift >>> 5;
+        int bits = shift & 31;
+        long low = x[index] & LONG_MASK;
+        long middle = x[index + 1] & LONG_MASK;
+        long top;
+        boolean sticky = false;
+        if (bits == 0) {
+            top = middle << 32 | low;
+        } else {
+            long high = index + 2 < length ? x[index + 2] & LONG_MASK : 0;
+            top = high << 64 - bits | middle << 32 - bits | low >>> bits;
+            sticky = (low & (1L << bits) - 1) != 0;
+        }
+        for (int i = 0; i < index && !sticky; i++) {
+            sticky = x[i] != 0;
+        }
+        double value = (double) (top >>> 1 | top & 1 | (sticky ? 1 : 0)) * 2;
+        return Math.scalb(value, shift);
+    }
+
+    static int[] shiftLeft(int[] x, int length, int bits) {
+        int limbShift = bits >>> 5;
+        int bitShift = bits & 31;
+        int[] result = new int[length + limbShift + 1];
+        if (bitShift == 0) {
+            System.arraycopy(x, 0, result, limbShift, length);
+            return result;
+        }
+        int shiftedOut = 0;
+        for (int i = 0; i < length; i++) {
+            result[i + limbShift] = (x[i] << bitShift) | shiftedOut;
+            shiftedOut = x[i] >>> (32 - bitShift);
+        }
+        result[length + limbShift] = shiftedOut;
+        return result;
+    }
+
+    static int[] shiftRight(int[] x, int length, int bits) {
+        int limbShift = bits >>> 5;
+        int bitShift = bits & 31;
+        if (limbShift >= length) {
+            return EMPTY;
+        }
+        int[] result = new int[length - limbShift];
+        if (bitShift == 0) {
+            System.arraycopy(x, limbShift, result, 0, result.length);
+            return result;
+        }
+        for (int i = 0; i < result.length - 1; i++) {
+            result[i] = (x[i + limbShift] >>> bitShift) | (x[i + limbShift + 1] << (32 - bitShift));
+        }
+        result[result.length - 1] = x[length - 1] >>> bitShift;
+        return result;
+    }
+
+    static int compare(int[] x, int xLength, int[] y, int yLength) {
+        if (xLength != yLength) {
+            return xLength < yLength ? -1 : 1;
+        }
+        for (int i = xLength - 1; i >= 0; i--) {
+            if (x[i] != y[i]) {
+                return Integer.compareUnsigned(x[i], y[i]);
+            }
+        }
+        return 0;
+    }
+
+    static int[] add(int[] x, int xLength, int[] y, int yLength) {
+        if (xLength < yLength) {
+            return add(y, yLength, x, xLength);
+        }
+        int[] result = new int[xLength + 1];
+        long carry = 0;
+        int i = 0;
+        for (; i < yLength; i++) {
+            carry += (x[i] & LONG_MASK) + (y[i] & LONG_MASK);
+            result[i] = (int) carry;
+            carry >>>= 32;
+        }
+        for (; i < xLength; i++) {
+            carry += x[i] & LONG_MASK;
+            result[i] = (int) carry;
+            carry >>>= 32;
+        }
+        result[xLength] = (int) carry;
+        return result;
+    }
+
+    /**
+     * Computes {@code x - y}; the caller guarantees that {@code x >= y}.
+     */
+    static int[] subtract(int[] x, int xLength, int[] y, int yLength) {
+        int[] result = new int[xLength];
+        long borrow = 0;
+        int i = 0;
+        for (; i < yLength; i++) {
+            borrow = (x[i] & LONG_MASK) - (y[i] & LONG_MASK) + borrow;
+            result[i] = (int) borrow;
+            borrow >>= 32;
+        }
+        for (; i < xLength; i++) {
+            borrow = (x[i] & LONG_MASK) + borrow;
+            result[i] = (int) borrow;
+            borrow >>= 32;
+        }
+        return result;
+    }
+
+    static int[] multiply(int[] x, int xLength, int[] y, int yLength) {
+        int[] result = new int[xLength + yLength];
+        multiplyInto(x, xLength, y, yLength, result);
+        return result;
+    }
+
+    static void multiplyInto(int[] x, int xLength, int[] y, int yLength, int[] result) {
+        multiplyInto(x, xLength, y, yLength, result, null);
+    }
+
+    /**
+     * Writes {@code x * y} into the first {@code xLength + yLength} limbs of {@code result}. {@code columns}
+     * is scratch space for the vector kernel from {@link #columns}, or null to allocate it when needed.
+     */
+    static void multiplyInto(int[] x, int xLength, int[] y, int yLength, int[] result, long[] columns) {
+        if (VECTORIZED && Math.min(xLength, yLength) >= VECTOR_THRESHOLD) {
+            VectorLimbs.multiplyInto(x, xLength, y, yLength, result, columns(columns, xLength, yLength));
+            return;
+        }
+        Arrays.fill(result, 0, xLength + yLength, 0);
+        for (int i = 0; i < xLength; i++) {
+            long xi = x[i] & LONG_MASK;
+            if (xi == 0) {
+                continue;
+            }
+            long carry = 0;
+            for (int j = 0; j < yLength; j++) {
+                carry += xi * (y[j] & LONG_MASK) + (result[i + j] & LONG_MASK);
+                result[i + j] = (int) carry;
+                carry >>>= 32;
+            }
+            result[i + yLength] = (int) carry;
+        }
+    }
+
+    /**
+     * Returns scratch space for the vector kernels on operands of these lengths: {@code columns} itself when
+     * it is long enough or the kernels do not run at these lengths, a new array otherwise, or null when the
+     * kernels are not in use. Callers that multiply in a loop keep the result to stay free of allocations.
+     */
+    static long[] columns(long[] columns, int xLength, int yLength) {
+        if (!VECTORIZED) {
+            return null;
+        }
+        if (Math.min(xLength, yLength) < VECTOR_THRESHOLD) {
+            return columns;
+        }
+        int size = 3 * (xLength + yLength);
+        return columns != null && columns.length >= size ? columns : new long[size];
+    }
+
+    static int[] square(int[] x, int length) {
+        int[] result = new int[2 * length];
+        squareInto(x, length, result);
+        return result;
+    }
+
+    static void squareInto(int[] x, int length, int[] result) {
+        squareInto(x, length, result, null);
+    }
+
+    /**
+     * Writes {@code x * x} into the first {@code 2 * length} limbs of {@code result}, with {@code columns} as
+     * in {@link #multiplyInto(int[], int, int[], int, int[], long[])}.
+     */
+    static void squareInto(int[] x, int length, int[] result, long[] columns) {
+        if (VECTORIZED && length >= VECTOR_THRESHOLD) {
+            VectorLimbs.squareInto(x, length, result, columns(columns, length, length));
+            return;
+        }
+        Arrays.fill(result, 0, 2 * length, 0);
+        for (int i = 0; i < length; i++) {
+            long xi = x[i] & LONG_MASK;
+            long carry = 0;
+            for (int j = i + 1; j < length; j++) {
+                carry += xi * (x[j] & LONG_MASK) + (result[i + j] & LONG_MASK);
+                result[i + j] = (int) carry;
+                carry >>>= 32;
+            }
+            result[i + length] = (int) carry;
+        }
+
+        int shiftedOut = 0;
+        for (int i = 0; i < 2 * length; i++) {
+            int limb = result[i];
+            result[i] = (limb << 1) | shiftedOut;
+            shiftedOut = limb >>> 31;
+        }
+
+        long carry = 0;
+        for (int i = 0; i < length; i++) {
+            long xi = x[i] & LONG_MASK;
+            long diagonal = xi * xi;
+            carry += (diagonal & LONG_MASK) + (result[2 * i] & LONG_MASK);
+            result[2 * i] = (int) carry;
+            carry >>>= 32;
+            carry += (diagonal >>> 32) + (result[2 * i + 1] & LONG_MASK);
+            result[2 * i + 1] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+
+    /**
+     * Adds {@code x} into {@code target} starting at limb {@code offset}, propagating the carry upwards.
+     * The target must be large enough to hold the sum.
+     */
+    static void addInto(int[] target, int offset, int[] x, int xLength) {
+        long carry = 0;
+        int i = 0;
+        for (; i < xLength; i++) {
+            carry += (target[offset + i] & LONG_MASK) + (x[i] & LONG_MASK);
+            target[offset + i] = (int) carry;
+            carry >>>= 32;
+        }
+        for (int k = offset + i; carry != 0; k++) {
+            carry += target[k] & LONG_MASK;
+            target[k] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+
+    /**
+     * Replaces {@code target} with {@code target - x}; the caller guarantees that {@code target >= x}.
+     */
+    static void subtractInPlace(int[] target, int targetLength, int[] x, int xLength) {
+        long borrow = 0;
+        int i = 0;
+        for (; i < xLength; i++) {
+            borrow = (target[i] & LONG_MASK) - (x[i] & LONG_MASK) + borrow;
+            target[i] = (int) borrow;
+            borrow >>= 32;
+        }
+        for (; borrow != 0 && i < targetLength; i++) {
+            borrow = (target[i] & LONG_MASK) + borrow;
+            target[i] = (int) borrow;
+            borrow >>= 32;
+        }
+    }
+
+    /**
+     * Replaces {@code x} with {@code x * multiplier + addend} and returns the new significant length.
+     * The array must have room for one more limb than {@code length}.
+     */
+    static int multiplyAdd(int[] x, int length, int multiplier, int addend) {
+        long m = multiplier & LONG_MASK;
+        long carry = addend & LONG_MASK;
+        for (int i = 0; i < length; i++) {
+            carry += m * (x[i] & LONG_MASK);
+            x[i] = (int) carry;
+            carry >>>= 32;
+        }
+        if (carry != 0) {
+            x[length++] = (int) carry;
+        }
+        return length;
+    }
+
+    /**
+     * Replaces {@code x} with {@code x / divisor} and returns the remainder.
+     * The divisor must be positive.
+     */
+    static int divideInPlace(int[] x, int length, int divisor) {
+        long remainder = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            long dividend = (remainder << 32) | (x[i] & LONG_MASK);
+            x[i] = (int) (dividend / divisor);
+            remainder = dividend % divisor;
+        }
+        return (int) remainder;
+    }
+}
@@ -0,0 +1,109 @@
+package dev.danilbel;
+
+import dev.danilbel.ModularExponentiation.Reducer;
+
+import java.util.Arrays;
+
+/**
+ * Multiplication modulo a fixed modulus, for loops that multiply by the same modulus many times.
+ * Values are held in the domain of the reducer behind {@link BigInt#modPow}: {@code xR mod m} with
+ * Montgomery multiplication for an odd modulus, and the plain residue with Barrett reduction for an
+ * even one. Neither divides per product. Sums, differences and multiples by an integer are the same in
+ * the domain, so only the values entering and leaving a loop go through {@link #toDomain} and
+ * {@link #fromDomain}.
+ * <p>
+ * The reducer keeps scratch buffers, so a context must not be shared between threads.
+ */
+public final class ModularContext {
+
+    private final BigInt modulus;
+    private final int length;
+    private final Reducer reducer;
+    private final BigInt one;
+
+    private ModularContext(BigInt modulus) {
+        this.modulus = modulus;
+        this.length = modulus.length();
+        this.reducer = ModularExponentiation.reducer(modulus.limbs(), length);
+        this.one = toDomain(BigInt.valueOf(1));
+    }
+
+    /**
+     * Returns a context for a modulus greater than one.
+     */
+    public static ModularContext forModulus(BigInt modulus) {
+        if (!modulus.isGreaterThan(BigInt.valueOf(1))) {
+            throw new ArithmeticException("Modulus is less than two");
+        }
+        return new ModularContext(modulus);
+    }
+
+    public BigInt modulus() {
+        return modulus;
+    }
+
+    /**
+     * Returns one in the domain.
+     */
+    public BigInt one() {
+        return one;
+    }
+
+    /**
+     * Returns {@code x mod m} in the domain.
+     */
+    public BigInt toDomain(BigInt x) {
+        BigInt residue = x.mod(modulus);
+        if (residue.length() == 0) {
+            return residue;
+        }
+        return wrap(reducer.toDomain(residue.limbs(), residue.length()));
+    }
+
+    /**
+     * Returns the residue in {@code [0, m)} of a value in the domain.
+     */
+    public BigInt fromDomain(BigInt x) {
+        return wrap(reducer.fromDomain(padded(x)));
+    }
+
+    public BigInt multiply(BigInt x, BigInt y) {
+        int[] product = new int[length];
+        reducer.multiply(padded(x), padded(y), product);
+        return wrap(product);
+    }
+
+    public BigInt square(BigInt x) {
+        int[] product = new int[length];
+        reducer.square(padded(x), product);
+        return wrap(product);
+    }
+
+    /**
+     * Returns {@code x^exponent} in the domain for a value in the domain.
+     */
+    public BigInt pow(BigInt x, BigInt exponent) {
+        if (exponent.isNegative()) {
+            throw new ArithmeticException("Negative exponent");
+        }
+        if (exponent.length() == 0) {
+            return one;
+        }
+        return wrap(ModularExponentiation.slidingWindowPow(reducer, padded(x), exponent.limbs(), exponent.length()));
+    }
+
+    /**
+     * Returns the limbs of a value in the domain, zero-extended to the modulus length.
+     */
+    private int[] padded(BigInt x) {
+        if (x.isNegative() || !x.isLessThan(modulus)) {
+            throw new IllegalArgumentException("Value is not in [0, modulus)");
+        }
+        int[] limbs = x.limbs();
+        return limbs.length == length ? limbs : Arrays.copyOf(limbs, length);
+    }
+
+    private static BigInt wrap(int[] limbs) {
+        return new BigInt(limbs, limbs.length, false);
+    }
+}
@@ -0,0 +1,294 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+
+import java.util.Arrays;
+
+import static dev.danilbel.Limbs.LONG_MASK;
+
+/**
+ * Modular exponentiation over {@link Limbs} magnitudes.
+ * Odd moduli use Montgomery multiplication, even moduli use Barrett reduction. Both run a
+ * sliding-window exponentiation whose multiplications write into buffers allocated up front.
+ */
+final class ModularExponentiation {
+
+    private ModularExponentiation() {
+    }
+
+    /**
+     * Returns {@code base^exponent mod modulus} padded to the modulus length.
+     * Expects {@code base < modulus}, a positive exponent and a modulus greater than one.
+     */
+    static int[] modPow(int[] base, int baseLength, int[] exponent, int exponentLength,
+                        int[] modulus, int modulusLength) {
+        Reducer reducer = reducer(modulus, modulusLength);
+        return reducer.fromDomain(slidingWindowPow(reducer, reducer.toDomain(base, baseLength), exponent, exponentLength));
+    }
+
+    /**
+     * Returns a new reducer for a modulus greater than one; reducers keep scratch buffers and are not thread-safe.
+     */
+    static Reducer reducer(int[] modulus, int length) {
+        BigIntMetrics.count((modulus[0] & 1) != 0 ? Algorithm.MONTGOMERY_REDUCTION : Algorithm.BARRETT_REDUCTION);
+        return (modulus[0] & 1) != 0
+                ? new MontgomeryReducer(modulus, length)
+                : new BarrettReducer(modulus, length);
+    }
+
+    /**
+     * Returns {@code -m^-1 mod 2^32} for an odd {@code m}.
+     */
+    static int montgomeryInverse(int m) {
+        // Newton iteration doubles the number of correct low bits each step, and m is its own inverse to three
+        int inverse = m;
+        for (int i = 0; i < 4; i++) {
+            inverse *= 2 - m * inverse;
+        }
+        return -inverse;
+    }
+
+    /**
+     * Returns {@code base^exponent} for a base in the reducer's domain, also in the domain.
+     */
+    static int[] slidingWindowPow(Reducer reducer, int[] base, int[] exponent, int exponentLength) {
+        int bits = Limbs.bitLength(exponent, exponentLength);
+        int window = bits <= 7 ? 1 : bits <= 25 ? 2 : bits <= 81 ? 3 : bits <= 241 ? 4 : bits <= 673 ? 5 : 6;
+        int n = base.length;
+
+        // oddPowers[i] = base^(2i + 1)
+        int[][] oddPowers = new int[1 << (window - 1)][];
+        oddPowers[0] = base;
+        if (oddPowers.length > 1) {
+            int[] baseSquared = new int[n];
+            reducer.square(base, baseSquared);
+            for (int i = 1; i < oddPowers.length; i++) {
+                oddPowers[i] = new int[n];
+                reducer.multiply(oddPowers[i - 1], baseSquared, oddPowers[i]);
+            }
+        }
+
+        int[] result = new int[n];
+        int[] temp = new int[n];
+        boolean started = false;
+        int bit = bits - 1;
+        while (bit >= 0) {
+            if (!testBit(exponent, bit)) {
+                reducer.square(result, temp);
+                int[] swap = result;
+                result = temp;
+                temp = swap;
+                bit--;
+                continue;
+            }
+
+            int low = Math.max(bit - window + 1, 0);
+            while (!testBit(exponent, low)) {
+                low++;
+            }
+            int value = 0;
+            for (int i = bit; i >= low; i--) {
+                value = (value << 1) | (testBit(exponent, i) ? 1 : 0);
+            }
+
+            int[] odd = oddPowers[value >>> 1];
+            if (!started) {
+                System.arraycopy(odd, 0, result, 0, n);
+                started = true;
+            } else {
+                for (int i = low; i <= bit; i++) {
+                    reducer.square(result, temp);
+                    int[] swap = result;
+                    result = temp;
+                    temp = swap;
+                }
+                reducer.multiply(result, odd, temp);
+                int[] swap = result;
+                result = temp;
+                temp = swap;
+            }
+            bit = low - 1;
+        }
+        return result;
+    }
+
+    private static boolean testBit(int[] x, int bit) {
+        return (x[bit >>> 5] >>> (bit & 31) & 1) != 0;
+    }
+
+    private static int[] padded(int[] x, int length, int n) {
+        return Arrays.copyOf(x, Math.max(n, length));
+    }
+
+    /**
+     * Multiplication modulo a fixed modulus on values of exactly the modulus length.
+     * The output array may be the same as an input array.
+     */
+    interface Reducer {
+
+        int[] toDomain(int[] x, int length);
+
+        int[] fromDomain(int[] x);
+
+        void multiply(int[] a, int[] b, int[] out);
+
+        void square(int[] a, int[] out);
+    }
+
+    /**
+     * Word-by-word (CIOS) Montgomery multiplication with {@code R = 2^(32n)} for an odd modulus.
+     */
+    private static final class MontgomeryReducer implements Reducer {
+
+        private final int[] modulus;
+        private final int n;
+        private final int inverse;
+        private final int[] scratch;
+
+        private MontgomeryReducer(int[] modulus, int length) {
+            this.modulus = Arrays.copyOf(modulus, length);
+            this.n = length;
+            this.scratch = new int[length + 2];
+            this.inverse = montgomeryInverse(modulus[0]);
+        }
+
+        @Override
+        public int[] toDomain(int[] x, int length) {
+            int[] shifted = Limbs.shiftLeft(x, length, 32 * n);
+            int[] remainder = Division.divideAndRemainder(shifted, Limbs.normalizedLength(shifted, shifted.length),
+                    modulus, n)[1];
+            return padded(remainder, 0, n);
+        }
+
+        @Override
+        public int[] fromDomain(int[] x) {
+            int[] one = new int[n];
+            one[0] = 1;
+            int[] result = new int[n];
+            multiply(x, one, result);
+            return result;
+        }
+
+        @Override
+        public void square(int[] a, int[] out) {
+            multiply(a, a, out);
+        }
+
+        @Override
+        public void multiply(int[] a, int[] b, int[] out) {
+            int[] t = scratch;
+            Arrays.fill(t, 0);
+            long m0 = modulus[0] & LONG_MASK;
+            for (int i = 0; i < n; i++) {
+                long bi = b[i] & LONG_MASK;
+                long carry = 0;
+                for (int j = 0; j < n; j++) {
+                    carry += (t[j] & LONG_MASK) + (a[j] & LONG_MASK) * bi;
+                    t[j] = (int) carry;
+                    carry >>>= 32;
+                }
+                carry += t[n] & LONG_MASK;
+                t[n] = (int) carry;
+                t[n + 1] = (int) (carry >>> 32);
+
+                long u = (t[0] * inverse) & LONG_MASK;
+                carry = ((t[0] & LONG_MASK) + u * m0) >>> 32;
+                for (int j = 1; j < n; j++) {
+                    carry += (t[j] & LONG_MASK) + u * (modulus[j] & LONG_MASK);
+                    t[j - 1] = (int) carry;
+                    carry >>>= 32;
+                }
+                carry += t[n] & LONG_MASK;
+                t[n - 1] = (int) carry;
+                t[n] = (int) ((t[n + 1] & LONG_MASK) + (carry >>> 32));
+            }
+
+            if (t[n] != 0 || Limbs.compare(t, n, modulus, n) >= 0) {
+                Limbs.subtractInPlace(t, n + 1, modulus, n);
+            }
+            System.arraycopy(t, 0, out, 0, n);
+        }
+    }
+
+    /**
+     * Barrett reduction with {@code mu = floor(B^(2n) / m)} for any modulus, used for even ones.
+     */
+    private static final class BarrettReducer implements Reducer {
+
+        private final int[] modulus;
+        private final int n;
+        private final int[] mu;
+        private final int muLength;
+        private final int[] product;
+        private final int[] quotient;
+        private final int[] quotientProduct;
+        private final int[] quotientModulus;
+        private final int[] remainder;
+        private final long[] columns;
+
+        private BarrettReducer(int[] modulus, int length) {
+            this.modulus = Arrays.copyOf(modulus, length);
+            this.n = length;
+
+            int[] power = new int[2 * length + 1];
+            power[2 * length] = 1;
+            this.mu = Division.divideAndRemainder(power, power.length, modulus, length)[0];
+            this.muLength = Limbs.normalizedLength(mu, mu.length);
+
+            this.product = new int[2 * length];
+            this.quotient = new int[length + 1];
+            this.quotientProduct = new int[length + 1 + muLength];
+            this.quotientModulus = new int[2 * length + 1];
+            this.remainder = new int[length + 1];
+            this.columns = Limbs.columns(null, length + 1, Math.max(length + 1, muLength));
+        }
+
+        @Override
+        public int[] toDomain(int[] x, int length) {
+            return padded(x, length, n);
+        }
+
+        @Override
+        public int[] fromDomain(int[] x) {
+            return x;
+        }
+
+        @Override
+        public void multiply(int[] a, int[] b, int[] out) {
+            Limbs.multiplyInto(a, n, b, n, product, columns);
+            reduce(out);
+        }
+
+        @Override
+        public void square(int[] a, int[] out) {
+            Limbs.squareInto(a, n, product, columns);
+            reduce(out);
+        }
+
+        /**
+         * Reduces {@code product < m^2} into {@code out}; the estimated quotient is at most two too small.
+         */
+        private void reduce(int[] out) {
+            System.arraycopy(product, n - 1, quotient, 0, n + 1);
+            Limbs.multiplyInto(quotient, n + 1, mu, muLength, quotientProduct, columns);
+            // the estimate never exceeds the true quotient, which is below B^n
+            int quotientLength = Math.min(muLength, n + 1);
+            System.arraycopy(quotientProduct, n + 1, quotient, 0, quotientLength);
+            Arrays.fill(quotient, quotientLength, n + 1, 0);
+
+            // remainder = (product - quotient * m) mod B^(n + 1), which is exact as the difference is below 3m
+            Limbs.multiplyInto(quotient, n + 1, modulus, n, quotientModulus, columns);
+            long borrow = 0;
+            for (int i = 0; i <= n; i++) {
+                borrow += (product[i] & LONG_MASK) - (quotientModulus[i] & LONG_MASK);
+                remainder[i] = (int) borrow;
+                borrow >>= 32;
+            }
+
+            while (remainder[n] != 0 || Limbs.compare(remainder, n, modulus, n) >= 0) {
+                Limbs.subtractInPlace(remainder, n + 1, modulus, n);
+            }
+            System.arraycopy(remainder, 0, out, 0, n);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Multiplication engines over {@link Limbs} magnitudes.
+ * Operands shorter than the Karatsuba threshold (in limbs) use the schoolbook kernels,
+ * operands at or above the NTT threshold use the {@link Ntt} convolution.
+ */
+final class Multiplication {
+
+    static final int KARATSUBA_THRESHOLD =
+            Math.max(2, Integer.getInteger("dev.danilbel.karatsubaThreshold", 48));
+    static final int KARATSUBA_SQUARE_THRESHOLD =
+            Math.max(2, Integer.getInteger("dev.danilbel.karatsubaSquareThreshold", 64));
+    static final int NTT_THRESHOLD =
+            Math.max(2, Integer.getInteger("dev.danilbel.nttThreshold", 3000));
+    static final int NTT_SQUARE_THRESHOLD =
+            Math.max(2, Integer.getInteger("dev.danilbel.nttSquareThreshold", 4000));
+
+    private Multiplication() {
+    }
+
+    static int[] multiply(int[] x, int xLength, int[] y, int yLength) {
+        if (BigIntMetrics.ENABLED) {
+            int longer = Math.max(xLength, yLength);
+            int shorter = Math.min(xLength, yLength);
+            BigIntMetrics.count(shorter < KARATSUBA_THRESHOLD ? Algorithm.SCHOOLBOOK_MULTIPLICATION
+                    : shorter >= NTT_THRESHOLD && Ntt.supports(longer, shorter) ? Algorithm.NTT_MULTIPLICATION
+                    : Algorithm.KARATSUBA_MULTIPLICATION);
+        }
+        return multiply(x, xLength, y, yLength, KARATSUBA_THRESHOLD);
+    }
+
+    static int[] square(int[] x, int length) {
+        if (BigIntMetrics.ENABLED) {
+            BigIntMetrics.count(length < KARATSUBA_SQUARE_THRESHOLD ? Algorithm.SCHOOLBOOK_SQUARING
+                    : length >= NTT_SQUARE_THRESHOLD && Ntt.supports(length, length) ? Algorithm.NTT_SQUARING
+                    : Algorithm.KARATSUBA_SQUARING);
+        }
+        return square(x, length, KARATSUBA_SQUARE_THRESHOLD);
+    }
+
+    static int[] multiply(int[] x, int xLength, int[] y, int yLength, int karatsubaThreshold) {
+        if (xLength < yLength) {
+            return multiply(y, yLength, x, xLength, karatsubaThreshold);
+        }
+        if (yLength < karatsubaThreshold) {
+            return Limbs.multiply(x, xLength, y, yLength);
+        }
+        if (yLength >= NTT_THRESHOLD && Ntt.supports(xLength, yLength)) {
+            return Ntt.multiply(x, xLength, y, yLength);
+        }
+        return karatsuba(x, xLength, y, yLength, karatsubaThreshold);
+    }
+
+    static int[] square(int[] x, int length, int karatsubaThreshold) {
+        if (length < karatsubaThreshold) {
+            return Limbs.square(x, length);
+        }
+        if (length >= NTT_SQUARE_THRESHOLD && Ntt.supports(length, length)) {
+            return Ntt.square(x, length);
+        }
+
+        int half = (length + 1) / 2;
+        int lowLength = Limbs.normalizedLength(x, half);
+        int[] high = Arrays.copyOfRange(x, half, length);
+
+        int[] low2 = square(x, lowLength, karatsubaThreshold);
+        int[] high2 = square(high, high.length, karatsubaThreshold);
+        int[] sum = Limbs.add(x, lowLength, high, high.length);
+        int[] middle = square(sum, Limbs.normalizedLength(sum, sum.length), karatsubaThreshold);
+
+        return combine(low2, middle, high2, half, 2 * length);
+    }
+
+    private static int[] karatsuba(int[] x, int xLength, int[] y, int yLength, int karatsubaThreshold) {
+        int half = (xLength + 1) / 2;
+        if (yLength <= half) {
+            return multiplyUnbalanced(x, xLength, y, yLength, karatsubaThreshold);
+        }
+
+        int xLowLength = Limbs.normalizedLength(x, half);
+        int yLowLength = Limbs.normalizedLength(y, half);
+        int[] xHigh = Arrays.copyOfRange(x, half, xLength);
+        int[] yHigh = Arrays.copyOfRange(y, half, yLength);
+
+        int[] low = multiply(x, xLowLength, y, yLowLength, karatsubaThreshold);
+        int[] high = multiply(xHigh, xHigh.length, yHigh, yHigh.length, karatsubaThreshold);
+        int[] xSum = Limbs.add(x, xLowLength, xHigh, xHigh.length);
+        int[] ySum = Limbs.add(y, yLowLength, yHigh, yHigh.length);
+        int[] middle = multiply(xSum, Limbs.normalizedLength(xSum, xSum.length),
+                ySum, Limbs.normalizedLength(ySum, ySum.length), karatsubaThreshold);
+
+        return combine(low, middle, high, half, xLength + yLength);
+    }
+
+    /**
+     * Assembles {@code high * B^(2 * half) + (middle - high - low) * B^half + low}.
+     * The middle product is consumed in place.
+     */
+    static int[] combine(int[] low, int[] middle, int[] high, int half, int resultLength) {
+        Limbs.subtractInPlace(middle, middle.length, low, low.length);
+        Limbs.subtractInPlace(middle, middle.length, high, high.length);
+
+        int[] result = new int[resultLength];
+        System.arraycopy(low, 0, result, 0, low.length);
+        System.arraycopy(high, 0, result, 2 * half, Limbs.normalizedLength(high, high.length));
+        Limbs.addInto(result, half, middle, Limbs.normalizedLength(middle, middle.length));
+        return result;
+    }
+
+    /**
+     * Multiplies an operand by one of at most half its length as a sum of balanced products.
+     */
+    private static int[] multiplyUnbalanced(int[] x, int xLength, int[] y, int yLength, int karatsubaThreshold) {
+        int[] result = new int[xLength + yLength];
+        int[] chunk = new int[yLength];
+        for (int offset = 0; offset < xLength; offset += yLength) {
+            int chunkLength = Math.min(yLength, xLength - offset);
+            System.arraycopy(x, offset, chunk, 0, chunkLength);
+            int[] product = multiply(chunk, Limbs.normalizedLength(chunk, chunkLength), y, yLength, karatsubaThreshold);
+            Limbs.addInto(result, offset, product, Limbs.normalizedLength(product, product.length));
+        }
+        return result;
+    }
+}
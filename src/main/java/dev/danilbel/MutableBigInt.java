@@ -0,0 +1,391 @@
+package dev.danilbel;
+
+import java.util.Arrays;
+
+/**
+ * A mutable signed integer for accumulating loops. Every operation overwrites this value and reuses
+ * its limb buffer, which grows by half its size when it runs out of room, so a long sum of
+ * {@link BigInt} terms does not allocate per step. Instances are not thread-safe.
+ */
+public final class MutableBigInt {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    // limbs beyond length are always zero
+    private int[] limbs;
+    private int length;
+    private boolean isNegative;
+
+    private int[] scratch = Limbs.EMPTY;
+    private long[] columns;
+
+    public MutableBigInt() {
+        this.limbs = new int[INITIAL_CAPACITY];
+    }
+
+    public MutableBigInt(BigInt value) {
+        this.limbs = new int[Math.max(INITIAL_CAPACITY, value.length() + 1)];
+        set(value);
+    }
+
+    MutableBigInt(int[] magnitude, int length) {
+        this.limbs = new int[Math.max(INITIAL_CAPACITY, length + 1)];
+        setMagnitude(magnitude, length, false);
+    }
+
+    public MutableBigInt set(BigInt value) {
+        setMagnitude(value.limbs(), value.length(), value.isNegative());
+        return this;
+    }
+
+    public MutableBigInt set(MutableBigInt value) {
+        if (value != this) {
+            setMagnitude(value.limbs, value.length, value.isNegative);
+        }
+        return this;
+    }
+
+    MutableBigInt set(int[] magnitude, int length) {
+        setMagnitude(magnitude, length, false);
+        return this;
+    }
+
+    public MutableBigInt clear() {
+        Arrays.fill(limbs, 0, length, 0);
+        length = 0;
+        isNegative = false;
+        return this;
+    }
+
+    public boolean isZero() {
+        return length == 0;
+    }
+
+    public BigInt toBigInt() {
+        return new BigInt(Arrays.copyOf(limbs, length), length, isNegative);
+    }
+
+    public MutableBigInt addInPlace(BigInt other) {
+        return addSigned(other.limbs(), other.length(), other.isNegative());
+    }
+
+    public MutableBigInt addInPlace(MutableBigInt other) {
+        return addSigned(other.limbs, other.length, other.isNegative);
+    }
+
+    MutableBigInt addInPlace(int[] y, int yLength) {
+        return addSigned(y, yLength, false);
+    }
+
+    public MutableBigInt subtractInPlace(BigInt other) {
+        return addSigned(other.limbs(), other.length(), !other.isNegative());
+    }
+
+    public MutableBigInt subtractInPlace(MutableBigInt other) {
+        return addSigned(other.limbs, other.length, !other.isNegative);
+    }
+
+    public MutableBigInt multiplyInPlace(BigInt other) {
+        return multiplySigned(other.limbs(), other.length(), other.isNegative());
+    }
+
+    public MutableBigInt multiplyInPlace(MutableBigInt other) {
+        return multiplySigned(other.limbs, other.length, other.isNegative);
+    }
+
+    /**
+     * Multiplies by a magnitude, for the limb engines that accumulate without wrapping it in a {@link BigInt}.
+     */
+    MutableBigInt multiplyInPlace(int[] y, int yLength) {
+        return multiplySigned(y, yLength, false);
+    }
+
+    MutableBigInt squareInPlace() {
+        return multiplySigned(limbs, length, isNegative);
+    }
+
+    MutableBigInt negateInPlace() {
+        isNegative = !isNegative && length > 0;
+        return this;
+    }
+
+    /**
+     * Divides by a positive {@code divisor}, rounding towards zero.
+     */
+    MutableBigInt divideInPlace(int divisor) {
+        Limbs.divideInPlace(limbs, length, divisor);
+        length = Limbs.normalizedLength(limbs, length);
+        isNegative = isNegative && length > 0;
+        return this;
+    }
+
+    /**
+     * Sets this to {@code p * |x| + q * |y|} for {@code 0 <= p, q < 2^31}, as Lehmer's GCD updates its cofactors.
+     * This must be neither {@code x} nor {@code y}.
+     */
+    MutableBigInt setLinearSum(MutableBigInt x, long p, MutableBigInt y, long q) {
+        int[] xLimbs = x.limbs;
+        int xLength = x.length;
+        int[] yLimbs = y.limbs;
+        int yLength = y.length;
+        int n = Math.max(xLength, yLength);
+        ensureCapacity(n + 1);
+        int[] result = limbs;
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+            // below 2^64 as an unsigned value
+            carry += p * limb(xLimbs, xLength, i) + q * limb(yLimbs, yLength, i);
+            result[i] = (int) carry;
+            carry >>>= 32;
+        }
+        result[n] = (int) carry;
+        return setLinearResult(n + 1);
+    }
+
+    /**
+     * Sets this to {@code p * |x| - q * |y|} for {@code 0 <= p, q < 2^31}; the caller guarantees it is not negative.
+     * This must be neither {@code x} nor {@code y}.
+     */
+    MutableBigInt setLinearDifference(MutableBigInt x, long p, MutableBigInt y, long q) {
+        int[] xLimbs = x.limbs;
+        int xLength = x.length;
+        int[] yLimbs = y.limbs;
+        int yLength = y.length;
+        int n = Math.max(xLength, yLength);
+        ensureCapacity(n + 1);
+        int[] result = limbs;
+        long xCarry = 0;
+        long yCarry = 0;
+        long borrow = 0;
+        for (int i = 0; i < n; i++) {
+            long px = p * limb(xLimbs, xLength, i) + xCarry;
+            long qy = q * limb(yLimbs, yLength, i) + yCarry;
+            xCarry = px >>> 32;
+            yCarry = qy >>> 32;
+            borrow += (px & Limbs.LONG_MASK) - (qy & Limbs.LONG_MASK);
+            result[i] = (int) borrow;
+            borrow >>= 32;
+        }
+        result[n] = (int) (xCarry - yCarry + borrow);
+        return setLinearResult(n + 1);
+    }
+
+    /**
+     * Returns a trimmed copy of the magnitude.
+     */
+    int[] toLimbs() {
+        return Arrays.copyOf(limbs, length);
+    }
+
+    /**
+     * Returns the limb buffer, which is zero from {@link #length()} on and changes with the next operation.
+     */
+    int[] limbs() {
+        return limbs;
+    }
+
+    int length() {
+        return length;
+    }
+
+    boolean isNegative() {
+        return isNegative;
+    }
+
+    /**
+     * Multiplies by {@code 2^bits}.
+     */
+    public MutableBigInt shiftLeftInPlace(int bits) {
+        if (bits < 0) {
+            throw new IllegalArgumentException("Shift distance is negative");
+        }
+        if (length == 0 || bits == 0) {
+            return this;
+        }
+
+        int limbShift = bits >>> 5;
+        int bitShift = bits & 31;
+        ensureCapacity(length + limbShift + 1);
+        if (bitShift == 0) {
+            System.arraycopy(limbs, 0, limbs, limbShift, length);
+        } else {
+            limbs[length + limbShift] = limbs[length - 1] >>> (32 - bitShift);
+            for (int i = length - 1; i > 0; i--) {
+                limbs[i + limbShift] = (limbs[i] << bitShift) | (limbs[i - 1] >>> (32 - bitShift));
+            }
+            limbs[limbShift] = limbs[0] << bitShift;
+        }
+        Arrays.fill(limbs, 0, limbShift, 0);
+        length = Limbs.normalizedLength(limbs, length + limbShift + 1);
+        return this;
+    }
+
+    /**
+     * Divides by {@code 2^bits}, rounding towards negative infinity.
+     */
+    public MutableBigInt shiftRightInPlace(int bits) {
+        if (bits < 0) {
+            throw new IllegalArgumentException("Shift distance is negative");
+        }
+        if (length == 0 || bits == 0) {
+            return this;
+        }
+
+        int limbShift = bits >>> 5;
+        int bitShift = bits & 31;
+        if (limbShift >= length) {
+            boolean roundDown = isNegative;
+            clear();
+            if (roundDown) {
+                setMagnitude(new int[]{1}, 1, true);
+            }
+            return this;
+        }
+
+        boolean lostBits = isNegative && (Limbs.normalizedLength(limbs, limbShift) > 0
+                || bitShift != 0 && limbs[limbShift] << (32 - bitShift) != 0);
+        int newLength = length - limbShift;
+        if (bitShift == 0) {
+            System.arraycopy(limbs, limbShift, limbs, 0, newLength);
+        } else {
+            for (int i = 0; i < newLength - 1; i++) {
+                limbs[i] = (limbs[i + limbShift] >>> bitShift) | (limbs[i + limbShift + 1] << (32 - bitShift));
+            }
+            limbs[newLength - 1] = limbs[length - 1] >>> bitShift;
+        }
+        Arrays.fill(limbs, newLength, length, 0);
+        length = Limbs.normalizedLength(limbs, newLength);
+
+        if (lostBits) {
+            addMagnitude(new int[]{1}, 1);
+        }
+        isNegative = isNegative && length > 0;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return toBigInt().toString();
+    }
+
+    private static long limb(int[] x, int length, int i) {
+        return i < length ? x[i] & Limbs.LONG_MASK : 0;
+    }
+
+    /**
+     * Clears the limbs of the previous value above the {@code resultLength} limbs just written.
+     */
+    private MutableBigInt setLinearResult(int resultLength) {
+        if (length > resultLength) {
+            Arrays.fill(limbs, resultLength, length, 0);
+        }
+        length = Limbs.normalizedLength(limbs, resultLength);
+        isNegative = false;
+        return this;
+    }
+
+    private void setMagnitude(int[] x, int xLength, boolean negative) {
+        ensureCapacity(xLength);
+        System.arraycopy(x, 0, limbs, 0, xLength);
+        Arrays.fill(limbs, xLength, Math.max(length, xLength), 0);
+        length = xLength;
+        isNegative = negative && xLength > 0;
+    }
+
+    private MutableBigInt addSigned(int[] y, int yLength, boolean yNegative) {
+        if (yLength == 0) {
+            return this;
+        }
+        if (length == 0 || isNegative == yNegative) {
+            isNegative = yNegative;
+            addMagnitude(y, yLength);
+            return this;
+        }
+
+        int comparison = Limbs.compare(limbs, length, y, yLength);
+        if (comparison == 0) {
+            return clear();
+        }
+        if (comparison > 0) {
+            Limbs.subtractInPlace(limbs, length, y, yLength);
+        } else {
+            reverseSubtract(y, yLength);
+            isNegative = yNegative;
+        }
+        length = Limbs.normalizedLength(limbs, Math.max(length, yLength));
+        return this;
+    }
+
+    private void addMagnitude(int[] y, int yLength) {
+        ensureCapacity(Math.max(length, yLength) + 1);
+        long carry = 0;
+        int i = 0;
+        for (; i < yLength; i++) {
+            carry += (limbs[i] & Limbs.LONG_MASK) + (y[i] & Limbs.LONG_MASK);
+            limbs[i] = (int) carry;
+            carry >>>= 32;
+        }
+        for (; carry != 0; i++) {
+            carry += limbs[i] & Limbs.LONG_MASK;
+            limbs[i] = (int) carry;
+            carry >>>= 32;
+        }
+        length = Math.max(Math.max(length, yLength), i);
+    }
+
+    /**
+     * Replaces the magnitude with {@code y - magnitude}; the caller guarantees that {@code y} is larger.
+     */
+    private void reverseSubtract(int[] y, int yLength) {
+        ensureCapacity(yLength);
+        long borrow = 0;
+        for (int i = 0; i < yLength; i++) {
+            borrow += (y[i] & Limbs.LONG_MASK) - (limbs[i] & Limbs.LONG_MASK);
+            limbs[i] = (int) borrow;
+            borrow >>= 32;
+        }
+    }
+
+    private MutableBigInt multiplySigned(int[] y, int yLength, boolean yNegative) {
+        if (length == 0 || yLength == 0) {
+            return clear();
+        }
+
+        int productLength = length + yLength;
+        int[] product;
+        if (Math.min(length, yLength) < Multiplication.KARATSUBA_THRESHOLD) {
+            if (scratch.length < productLength) {
+                scratch = new int[Math.max(productLength, limbs.length + limbs.length / 2)];
+            }
+            columns = Limbs.columns(columns, length, yLength);
+            if (y == limbs) {
+                Limbs.squareInto(limbs, length, scratch, columns);
+            } else if (length >= yLength) {
+                Limbs.multiplyInto(limbs, length, y, yLength, scratch, columns);
+            } else {
+                // the longer operand first, as Multiplication orders them
+                Limbs.multiplyInto(y, yLength, limbs, length, scratch, columns);
+            }
+            product = scratch;
+        } else {
+            product = y == limbs
+                    ? Multiplication.square(limbs, length)
+                    : Multiplication.multiply(limbs, length, y, yLength);
+        }
+
+        // the previous buffer becomes scratch space for the next product
+        Arrays.fill(limbs, 0, length, 0);
+        scratch = limbs;
+        limbs = product;
+        Arrays.fill(limbs, productLength, limbs.length, 0);
+        length = Limbs.normalizedLength(limbs, productLength);
+        isNegative = isNegative != yNegative;
+        return this;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (limbs.length < capacity) {
+            limbs = Arrays.copyOf(limbs, Math.max(capacity, limbs.length + limbs.length / 2));
+        }
+    }
+}
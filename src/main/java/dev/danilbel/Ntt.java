@@ -0,0 +1,377 @@
+package dev.danilbel;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Exact multiplication through number-theoretic transforms modulo three word-sized primes.
+ * Each limb is one convolution coefficient; the three residues of every coefficient are
+ * recombined with the Chinese remainder theorem, so no rounding can occur.
+ */
+final class Ntt {
+
+    private static final long[] PRIMES = {
+            2013265921L, // 15 * 2^27 + 1
+            469762049L,  // 7 * 2^26 + 1
+            167772161L   // 5 * 2^25 + 1
+    };
+    private static final long[] PRIMITIVE_ROOTS = {31, 3, 3};
+
+    static final int MAX_TRANSFORM_LENGTH = 1 << 25;
+
+    // A coefficient of the convolution is a sum of at most min(xLength, yLength) products below 2^64;
+    // the sum stays below the product of the primes (about 2^87.04) for up to this many terms.
+    static final int MAX_CONVOLUTION_TERMS = 8_601_600;
+
+    // Smallest slice of a transform stage or of the recombination handed to a separate fork/join task
+    private static final int PARALLEL_GRAIN = 1 << 14;
+
+    private static final long FIRST_INVERSE_MOD_SECOND = modPow(PRIMES[0], PRIMES[1] - 2, PRIMES[1]);
+    private static final long FIRST_TWO_INVERSE_MOD_THIRD =
+            modPow(PRIMES[0] % PRIMES[2] * (PRIMES[1] % PRIMES[2]) % PRIMES[2], PRIMES[2] - 2, PRIMES[2]);
+
+    private static final ThreadLocal<SoftReference<Workspace>> WORKSPACE = new ThreadLocal<>();
+
+    private Ntt() {
+    }
+
+    static boolean supports(int xLength, int yLength) {
+        return (long) xLength + yLength <= MAX_TRANSFORM_LENGTH
+                && Math.min(xLength, yLength) <= MAX_CONVOLUTION_TERMS;
+    }
+
+    static int[] multiply(int[] x, int xLength, int[] y, int yLength) {
+        return convolve(x, xLength, y, yLength, false);
+    }
+
+    static int[] square(int[] x, int length) {
+        return convolve(x, length, x, length, true);
+    }
+
+    /**
+     * Same as {@link #multiply}, but the prime channels, transform stages and recombination are split
+     * into fork/join tasks. Must be called from a task running in a {@link ForkJoinPool}.
+     */
+    static int[] multiplyInParallel(int[] x, int xLength, int[] y, int yLength) {
+        return convolveInParallel(x, xLength, y, yLength, false);
+    }
+
+    static int[] squareInParallel(int[] x, int length) {
+        return convolveInParallel(x, length, x, length, true);
+    }
+
+    private static int transformLength(int coefficients) {
+        return Integer.highestOneBit(Math.max(coefficients - 1, 1)) << 1;
+    }
+
+    private static int[] convolve(int[] x, int xLength, int[] y, int yLength, boolean square) {
+        int coefficients = xLength + yLength - 1;
+        int n = transformLength(coefficients);
+        Workspace workspace = workspace();
+        workspace.ensureCapacity(n, coefficients);
+
+        for (int prime = 0; prime < PRIMES.length; prime++) {
+            long p = PRIMES[prime];
+            int[] roots = workspace.roots(prime, n, false);
+            int stride = workspace.rootsLength[prime] / n;
+            int[] a = workspace.first;
+            load(a, x, xLength, n, p, 0, n);
+            for (int length = n; length >= 2; length >>>= 1) {
+                forwardButterflies(a, length, roots, stride * (n / length), p, 0, n / 2);
+            }
+            int[] b = a;
+            if (!square) {
+                b = workspace.second;
+                load(b, y, yLength, n, p, 0, n);
+                for (int length = n; length >= 2; length >>>= 1) {
+                    forwardButterflies(b, length, roots, stride * (n / length), p, 0, n / 2);
+                }
+            }
+            pointwise(a, b, p, 0, n);
+
+            int[] inverseRoots = workspace.roots(prime, n, true);
+            for (int length = 2; length <= n; length <<= 1) {
+                inverseButterflies(a, length, inverseRoots, stride * (n / length), p, 0, n / 2);
+            }
+            scale(a, modPow(n, p - 2, p), p, 0, coefficients);
+
+            if (prime < PRIMES.length - 1) {
+                System.arraycopy(a, 0, workspace.residues[prime], 0, coefficients);
+            }
+        }
+
+        int[] result = new int[coefficients + 1];
+        long[] carry = new long[2];
+        recombine(workspace.residues[0], workspace.residues[1], workspace.first, result, 0, coefficients, carry);
+        result[coefficients] = (int) carry[0];
+        return result;
+    }
+
+    private static int[] convolveInParallel(int[] x, int xLength, int[] y, int yLength, boolean square) {
+        int coefficients = xLength + yLength - 1;
+        int n = transformLength(coefficients);
+
+        int[][] residues = new int[PRIMES.length][];
+        ForkJoinTask<?>[] channels = new ForkJoinTask<?>[PRIMES.length];
+        for (int prime = 0; prime < PRIMES.length; prime++) {
+            int channel = prime;
+            channels[prime] = ForkJoinTask.adapt(() ->
+                    residues[channel] = channelInParallel(channel, x, xLength, y, yLength, square, n, coefficients));
+        }
+        ForkJoinTask.invokeAll(channels);
+
+        int[] result = new int[coefficients + 1];
+        int slices = slices(coefficients);
+        long[][] carries = new long[slices][2];
+        forEachSlice(coefficients, slices, (slice, from, to) ->
+                recombine(residues[0], residues[1], residues[2], result, from, to, carries[slice]));
+
+        for (int slice = 0; slice < slices; slice++) {
+            long low = carries[slice][0];
+            long high = carries[slice][1];
+            int[] carry = {(int) low, (int) (low >>> 32), (int) high};
+            int to = (int) ((long) coefficients * (slice + 1) / slices);
+            Limbs.addInto(result, to, carry, Limbs.normalizedLength(carry, carry.length));
+        }
+        return result;
+    }
+
+    private static int[] channelInParallel(int prime, int[] x, int xLength, int[] y, int yLength,
+                                           boolean square, int n, int coefficients) {
+        long p = PRIMES[prime];
+        long root = modPow(PRIMITIVE_ROOTS[prime], (p - 1) / n, p);
+        int[] roots = powers(root, n / 2, p);
+        int[] a = new int[n];
+        int[] b = square ? a : new int[n];
+
+        if (square) {
+            transformInParallel(a, x, xLength, n, roots, p);
+        } else {
+            ForkJoinTask.invokeAll(
+                    ForkJoinTask.adapt(() -> transformInParallel(a, x, xLength, n, roots, p)),
+                    ForkJoinTask.adapt(() -> transformInParallel(b, y, yLength, n, roots, p)));
+        }
+        forEachSlice(n, slices(n), (slice, from, to) -> pointwise(a, b, p, from, to));
+
+        int[] inverseRoots = powers(modPow(root, p - 2, p), n / 2, p);
+        for (int length = 2; length <= n; length <<= 1) {
+            int stage = length;
+            forEachSlice(n / 2, slices(n / 2), (slice, from, to) ->
+                    inverseButterflies(a, stage, inverseRoots, n / stage, p, from, to));
+        }
+        long scale = modPow(n, p - 2, p);
+        forEachSlice(coefficients, slices(coefficients), (slice, from, to) -> scale(a, scale, p, from, to));
+        return a;
+    }
+
+    private static void transformInParallel(int[] target, int[] source, int sourceLength, int n, int[] roots, long p) {
+        forEachSlice(n, slices(n), (slice, from, to) -> load(target, source, sourceLength, n, p, from, to));
+        for (int length = n; length >= 2; length >>>= 1) {
+            int stage = length;
+            forEachSlice(n / 2, slices(n / 2), (slice, from, to) ->
+                    forwardButterflies(target, stage, roots, n / stage, p, from, to));
+        }
+    }
+
+    private static int slices(int count) {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        int parallelism = pool == null ? 1 : pool.getParallelism();
+        return Math.max(1, Math.min(count / PARALLEL_GRAIN, 4 * parallelism));
+    }
+
+    private static void forEachSlice(int count, int slices, SliceAction action) {
+        if (slices == 1) {
+            action.apply(0, 0, count);
+            return;
+        }
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[slices];
+        for (int slice = 0; slice < slices; slice++) {
+            int index = slice;
+            int from = (int) ((long) count * slice / slices);
+            int to = (int) ((long) count * (slice + 1) / slices);
+            tasks[slice] = ForkJoinTask.adapt(() -> action.apply(index, from, to));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    @FunctionalInterface
+    private interface SliceAction {
+        void apply(int slice, int from, int to);
+    }
+
+    private static void load(int[] target, int[] source, int length, int n, long p, int from, int to) {
+        int end = Math.min(to, length);
+        for (int i = from; i < end; i++) {
+            target[i] = (int) ((source[i] & Limbs.LONG_MASK) % p);
+        }
+        for (int i = Math.max(from, length); i < to && i < n; i++) {
+            target[i] = 0;
+        }
+    }
+
+    private static void pointwise(int[] a, int[] b, long p, int from, int to) {
+        for (int i = from; i < to; i++) {
+            a[i] = (int) ((long) a[i] * b[i] % p);
+        }
+    }
+
+    private static void scale(int[] a, long factor, long p, int from, int to) {
+        for (int i = from; i < to; i++) {
+            a[i] = (int) (a[i] * factor % p);
+        }
+    }
+
+    /**
+     * Butterflies {@code [from, to)} of one decimation-in-frequency stage over blocks of {@code length};
+     * running every stage from {@code n} down to 2 leaves the spectrum in bit-reversed order.
+     */
+    private static void forwardButterflies(int[] a, int length, int[] roots, int step, long p, int from, int to) {
+        int half = length >>> 1;
+        int start = from / half * length;
+        int j = from % half;
+        for (int butterfly = from; butterfly < to; start += length, j = 0) {
+            int end = Math.min(half, j + (to - butterfly));
+            butterfly += end - j;
+            for (int k = j * step; j < end; j++, k += step) {
+                long u = a[start + j];
+                long v = a[start + j + half];
+                long sum = u + v;
+                a[start + j] = (int) (sum >= p ? sum - p : sum);
+                a[start + j + half] = (int) ((u - v + p) * roots[k] % p);
+            }
+        }
+    }
+
+    /**
+     * Butterflies {@code [from, to)} of one decimation-in-time stage; running every stage from 2 up to
+     * {@code n} turns a bit-reversed spectrum back into natural order, up to the 1/n scaling.
+     */
+    private static void inverseButterflies(int[] a, int length, int[] inverseRoots, int step, long p, int from, int to) {
+        int half = length >>> 1;
+        int start = from / half * length;
+        int j = from % half;
+        for (int butterfly = from; butterfly < to; start += length, j = 0) {
+            int end = Math.min(half, j + (to - butterfly));
+            butterfly += end - j;
+            for (int k = j * step; j < end; j++, k += step) {
+                long u = a[start + j];
+                long v = a[start + j + half] * (long) inverseRoots[k] % p;
+                long sum = u + v;
+                a[start + j] = (int) (sum >= p ? sum - p : sum);
+                a[start + j + half] = (int) (u - v < 0 ? u - v + p : u - v);
+            }
+        }
+    }
+
+    /**
+     * Garner recombination of coefficients {@code [from, to)} with carry propagation into base 2^32.
+     * The incoming carry is read from and the outgoing carry stored to {@code carry} as a (low, high) pair.
+     */
+    private static void recombine(int[] first, int[] second, int[] third, int[] result, int from, int to, long[] carry) {
+        long p1 = PRIMES[0];
+        long p2 = PRIMES[1];
+        long p3 = PRIMES[2];
+        long p1ModP3 = p1 % p3;
+
+        long carryLow = carry[0];
+        long carryHigh = carry[1];
+        for (int i = from; i < to; i++) {
+            long v1 = first[i];
+            long v2 = (second[i] - v1 % p2 + p2) % p2 * FIRST_INVERSE_MOD_SECOND % p2;
+            long partial = (v1 % p3 + v2 % p3 * p1ModP3) % p3;
+            long v3 = (third[i] - partial + p3) % p3 * FIRST_TWO_INVERSE_MOD_THIRD % p3;
+
+            // coefficient = v1 + p1 * (v2 + p2 * v3), held as an unsigned 128-bit (high, low) pair
+            long t = v2 + p2 * v3;
+            long low = p1 * t;
+            long high = Math.multiplyHigh(p1, t);
+            long sum = low + v1;
+            high += Long.compareUnsigned(sum, low) < 0 ? 1 : 0;
+            low = sum;
+
+            sum = low + carryLow;
+            high += carryHigh + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+            low = sum;
+
+            result[i] = (int) low;
+            carryLow = (low >>> 32) | (high << 32);
+            carryHigh = high >>> 32;
+        }
+        carry[0] = carryLow;
+        carry[1] = carryHigh;
+    }
+
+    private static long modPow(long base, long exponent, long p) {
+        long result = 1;
+        base %= p;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = result * base % p;
+            }
+            base = base * base % p;
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    private static int[] powers(long root, int count, long p) {
+        int[] powers = new int[Math.max(count, 1)];
+        long power = 1;
+        for (int i = 0; i < powers.length; i++) {
+            powers[i] = (int) power;
+            power = power * root % p;
+        }
+        return powers;
+    }
+
+    private static Workspace workspace() {
+        SoftReference<Workspace> reference = WORKSPACE.get();
+        Workspace workspace = reference == null ? null : reference.get();
+        if (workspace == null) {
+            workspace = new Workspace();
+            WORKSPACE.set(new SoftReference<>(workspace));
+        }
+        return workspace;
+    }
+
+    /**
+     * Per-thread transform buffers and root tables, grown on demand and reused between calls.
+     */
+    private static final class Workspace {
+
+        private int[] first = Limbs.EMPTY;
+        private int[] second = Limbs.EMPTY;
+        private final int[][] residues = {Limbs.EMPTY, Limbs.EMPTY};
+        private final int[][] roots = new int[PRIMES.length][];
+        private final int[][] inverseRoots = new int[PRIMES.length][];
+        private final int[] rootsLength = new int[PRIMES.length];
+
+        private void ensureCapacity(int transformLength, int coefficients) {
+            if (first.length < transformLength) {
+                first = new int[transformLength];
+                second = new int[transformLength];
+            }
+            for (int i = 0; i < residues.length; i++) {
+                if (residues[i].length < coefficients) {
+                    residues[i] = new int[transformLength];
+                }
+            }
+        }
+
+        /**
+         * Returns powers {@code w^k, k < rootsLength / 2} of a primitive root of unity of order
+         * {@code rootsLength >= transformLength}; callers stride through the table for shorter transforms.
+         */
+        private int[] roots(int prime, int transformLength, boolean inverse) {
+            if (rootsLength[prime] < transformLength) {
+                long p = PRIMES[prime];
+                long root = modPow(PRIMITIVE_ROOTS[prime], (p - 1) / transformLength, p);
+                roots[prime] = powers(root, transformLength / 2, p);
+                inverseRoots[prime] = powers(modPow(root, p - 2, p), transformLength / 2, p);
+                rootsLength[prime] = transformLength;
+            }
+            return inverse ? inverseRoots[prime] : roots[prime];
+        }
+    }
+}
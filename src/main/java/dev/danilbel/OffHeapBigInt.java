@@ -0,0 +1,82 @@
+package dev.danilbel;
+
+import java.nio.IntBuffer;
+
+/**
+ * A signed integer whose limbs live in a {@link LimbArena} instead of the Java heap.
+ * Results are allocated in the arena of the receiver and freed together with it. Multiplication
+ * moves operands through the heap one block at a time (see {@code dev.danilbel.offHeapBlockLimbs}),
+ * so giant products need only a few blocks of heap on top of the arena.
+ */
+public final class OffHeapBigInt {
+
+    private final LimbArena arena;
+    private final IntBuffer limbs;
+    private final int length;
+    private final boolean isNegative;
+
+    OffHeapBigInt(LimbArena arena, IntBuffer limbs, int length, boolean isNegative) {
+        length = OffHeapLimbs.normalizedLength(limbs, length);
+        this.arena = arena;
+        this.limbs = limbs;
+        this.length = length;
+        this.isNegative = isNegative && length > 0;
+    }
+
+    public boolean isNegative() {
+        return isNegative;
+    }
+
+    public OffHeapBigInt negate() {
+        arena.ensureOpen();
+        return new OffHeapBigInt(arena, limbs, length, !isNegative);
+    }
+
+    public OffHeapBigInt add(OffHeapBigInt other) {
+        return addSigned(other, other.isNegative);
+    }
+
+    public OffHeapBigInt subtract(OffHeapBigInt other) {
+        return addSigned(other, !other.isNegative);
+    }
+
+    public OffHeapBigInt multiply(OffHeapBigInt other) {
+        arena.ensureOpen();
+        other.arena.ensureOpen();
+
+        IntBuffer product = arena.allocate(length + other.length);
+        OffHeapLimbs.multiply(limbs, length, other.limbs, other.length, product);
+        return new OffHeapBigInt(arena, product, length + other.length, isNegative != other.isNegative);
+    }
+
+    public BigInt toBigInt() {
+        arena.ensureOpen();
+        int[] copy = new int[length];
+        limbs.get(0, copy, 0, length);
+        return new BigInt(copy, length, isNegative);
+    }
+
+    @Override
+    public String toString() {
+        return toBigInt().toString();
+    }
+
+    private OffHeapBigInt addSigned(OffHeapBigInt other, boolean otherNegative) {
+        arena.ensureOpen();
+        other.arena.ensureOpen();
+
+        if (isNegative == otherNegative || other.length == 0) {
+            int resultLength = Math.max(length, other.length) + 1;
+            IntBuffer sum = arena.allocate(resultLength);
+            OffHeapLimbs.add(limbs, length, other.limbs, other.length, sum);
+            return new OffHeapBigInt(arena, sum, resultLength, isNegative);
+        }
+
+        int comparison = OffHeapLimbs.compare(limbs, length, other.limbs, other.length);
+        OffHeapBigInt larger = comparison >= 0 ? this : other;
+        OffHeapBigInt smaller = comparison >= 0 ? other : this;
+        IntBuffer difference = arena.allocate(larger.length);
+        OffHeapLimbs.subtract(larger.limbs, larger.length, smaller.limbs, smaller.length, difference);
+        return new OffHeapBigInt(arena, difference, larger.length, comparison >= 0 ? isNegative : otherNegative);
+    }
+}
@@ -0,0 +1,139 @@
+package dev.danilbel;
+
+import java.nio.IntBuffer;
+
+import static dev.danilbel.Limbs.LONG_MASK;
+
+/**
+ * The {@link Limbs} kernels over {@link IntBuffer} magnitudes, which may live outside the heap.
+ * Products are computed block by block on the heap, so the heap only ever holds a few blocks.
+ */
+final class OffHeapLimbs {
+
+    static final int BLOCK_LIMBS =
+            Math.max(2, Integer.getInteger("dev.danilbel.offHeapBlockLimbs", 1 << 20));
+
+    private OffHeapLimbs() {
+    }
+
+    static int normalizedLength(IntBuffer x, int length) {
+        while (length > 0 && x.get(length - 1) == 0) {
+            length--;
+        }
+        return length;
+    }
+
+    static int compare(IntBuffer x, int xLength, IntBuffer y, int yLength) {
+        if (xLength != yLength) {
+            return xLength < yLength ? -1 : 1;
+        }
+        for (int i = xLength - 1; i >= 0; i--) {
+            int xi = x.get(i);
+            int yi = y.get(i);
+            if (xi != yi) {
+                return Integer.compareUnsigned(xi, yi);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Writes {@code x + y} into {@code result}, which has room for {@code max(xLength, yLength) + 1} limbs.
+     */
+    static void add(IntBuffer x, int xLength, IntBuffer y, int yLength, IntBuffer result) {
+        if (xLength < yLength) {
+            IntBuffer swap = x;
+            x = y;
+            y = swap;
+            int swapLength = xLength;
+            xLength = yLength;
+            yLength = swapLength;
+        }
+
+        long carry = 0;
+        int i = 0;
+        for (; i < yLength; i++) {
+            carry += (x.get(i) & LONG_MASK) + (y.get(i) & LONG_MASK);
+            result.put(i, (int) carry);
+            carry >>>= 32;
+        }
+        for (; i < xLength; i++) {
+            carry += x.get(i) & LONG_MASK;
+            result.put(i, (int) carry);
+            carry >>>= 32;
+        }
+        result.put(xLength, (int) carry);
+    }
+
+    /**
+     * Writes {@code x - y} into {@code result}, which has room for {@code xLength} limbs; requires {@code x >= y}.
+     */
+    static void subtract(IntBuffer x, int xLength, IntBuffer y, int yLength, IntBuffer result) {
+        long borrow = 0;
+        int i = 0;
+        for (; i < yLength; i++) {
+            borrow += (x.get(i) & LONG_MASK) - (y.get(i) & LONG_MASK);
+            result.put(i, (int) borrow);
+            borrow >>= 32;
+        }
+        for (; i < xLength; i++) {
+            borrow += x.get(i) & LONG_MASK;
+            result.put(i, (int) borrow);
+            borrow >>= 32;
+        }
+    }
+
+    /**
+     * Writes {@code x * y} into the zero-filled {@code result}, which has room for {@code xLength + yLength} limbs.
+     */
+    static void multiply(IntBuffer x, int xLength, IntBuffer y, int yLength, IntBuffer result) {
+        multiply(x, xLength, y, yLength, result, BLOCK_LIMBS);
+    }
+
+    static void multiply(IntBuffer x, int xLength, IntBuffer y, int yLength, IntBuffer result, int blockLimbs) {
+        for (int xOffset = 0; xOffset < xLength; xOffset += blockLimbs) {
+            int[] xBlock = block(x, xOffset, Math.min(xLength, xOffset + blockLimbs));
+            int xBlockLength = Limbs.normalizedLength(xBlock, xBlock.length);
+            if (xBlockLength == 0) {
+                continue;
+            }
+            for (int yOffset = 0; yOffset < yLength; yOffset += blockLimbs) {
+                int[] yBlock = x == y && xOffset == yOffset
+                        ? xBlock
+                        : block(y, yOffset, Math.min(yLength, yOffset + blockLimbs));
+                int yBlockLength = Limbs.normalizedLength(yBlock, yBlock.length);
+                if (yBlockLength == 0) {
+                    continue;
+                }
+                int[] product = xBlock == yBlock
+                        ? Multiplication.square(xBlock, xBlockLength)
+                        : Multiplication.multiply(xBlock, xBlockLength, yBlock, yBlockLength);
+                addInto(result, xOffset + yOffset, product, Limbs.normalizedLength(product, product.length));
+            }
+        }
+    }
+
+    /**
+     * Adds {@code x} to {@code target} starting at limb {@code offset}, propagating the carry upwards.
+     */
+    static void addInto(IntBuffer target, int offset, int[] x, int xLength) {
+        long carry = 0;
+        int i = 0;
+        for (; i < xLength; i++) {
+            carry += (target.get(offset + i) & LONG_MASK) + (x[i] & LONG_MASK);
+            target.put(offset + i, (int) carry);
+            carry >>>= 32;
+        }
+        for (; carry != 0; i++) {
+            carry += target.get(offset + i) & LONG_MASK;
+            target.put(offset + i, (int) carry);
+            carry >>>= 32;
+        }
+    }
+
+    private static int[] block(IntBuffer x, int from, int to) {
+        int[] block = new int[to - from];
+        x.get(from, block, 0, block.length);
+        return block;
+    }
+}
@@ -0,0 +1,128 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join variant of {@link Multiplication}. The independent sub-products of a Karatsuba step
+ * (or the chunk products of an unbalanced multiplication) run as separate tasks, and NTT-sized
+ * products use the parallel {@link Ntt} convolution. Operands shorter than the parallel threshold
+ * (in limbs) are multiplied sequentially.
+ */
+final class ParallelMultiplication {
+
+    static final int PARALLEL_THRESHOLD =
+            Math.max(2, Integer.getInteger("dev.danilbel.parallelThreshold", 1024));
+
+    private ParallelMultiplication() {
+    }
+
+    static int[] multiply(int[] x, int xLength, int[] y, int yLength, ForkJoinPool pool) {
+        BigIntMetrics.count(Algorithm.PARALLEL_MULTIPLICATION);
+        return pool.invoke(new ProductTask(x, xLength, y, yLength));
+    }
+
+    static int[] square(int[] x, int length, ForkJoinPool pool) {
+        BigIntMetrics.count(Algorithm.PARALLEL_SQUARING);
+        return pool.invoke(new ProductTask(x, length, null, length));
+    }
+
+    /**
+     * Computes {@code x * y}, or {@code x * x} when {@code y} is {@code null}.
+     */
+    private static final class ProductTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] x;
+        private final int xLength;
+        private final int[] y;
+        private final int yLength;
+
+        private ProductTask(int[] x, int xLength, int[] y, int yLength) {
+            boolean swap = y != null && xLength < yLength;
+            this.x = swap ? y : x;
+            this.xLength = swap ? yLength : xLength;
+            this.y = swap ? x : y;
+            this.yLength = swap ? xLength : yLength;
+        }
+
+        @Override
+        protected int[] compute() {
+            return y == null ? computeSquare() : computeProduct();
+        }
+
+        private int[] computeProduct() {
+            if (yLength < PARALLEL_THRESHOLD) {
+                return Multiplication.multiply(x, xLength, y, yLength);
+            }
+            if (yLength >= Multiplication.NTT_THRESHOLD && Ntt.supports(xLength, yLength)) {
+                return Ntt.multiplyInParallel(x, xLength, y, yLength);
+            }
+
+            int half = (xLength + 1) / 2;
+            if (yLength <= half) {
+                return computeUnbalanced();
+            }
+
+            int xLowLength = Limbs.normalizedLength(x, half);
+            int yLowLength = Limbs.normalizedLength(y, half);
+            int[] xHigh = Arrays.copyOfRange(x, half, xLength);
+            int[] yHigh = Arrays.copyOfRange(y, half, yLength);
+            int[] xSum = Limbs.add(x, xLowLength, xHigh, xHigh.length);
+            int[] ySum = Limbs.add(y, yLowLength, yHigh, yHigh.length);
+
+            ProductTask low = new ProductTask(x, xLowLength, y, yLowLength);
+            ProductTask high = new ProductTask(xHigh, xHigh.length, yHigh, yHigh.length);
+            ProductTask middle = new ProductTask(xSum, Limbs.normalizedLength(xSum, xSum.length),
+                    ySum, Limbs.normalizedLength(ySum, ySum.length));
+            ForkJoinTask.invokeAll(low, high, middle);
+
+            return Multiplication.combine(low.join(), middle.join(), high.join(), half, xLength + yLength);
+        }
+
+        private int[] computeUnbalanced() {
+            int chunks = (xLength + yLength - 1) / yLength;
+            ProductTask[] products = new ProductTask[chunks];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int offset = chunk * yLength;
+                int[] part = Arrays.copyOfRange(x, offset, Math.min(xLength, offset + yLength));
+                products[chunk] = new ProductTask(part, Limbs.normalizedLength(part, part.length), y, yLength);
+            }
+            ForkJoinTask.invokeAll(products);
+
+            int[] result = new int[xLength + yLength];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int[] product = products[chunk].join();
+                Limbs.addInto(result, chunk * yLength, product, Limbs.normalizedLength(product, product.length));
+            }
+            return result;
+        }
+
+        private int[] computeSquare() {
+            if (xLength < PARALLEL_THRESHOLD) {
+                return Multiplication.square(x, xLength);
+            }
+            if (xLength >= Multiplication.NTT_SQUARE_THRESHOLD && Ntt.supports(xLength, xLength)) {
+                return Ntt.squareInParallel(x, xLength);
+            }
+
+            int half = (xLength + 1) / 2;
+            int lowLength = Limbs.normalizedLength(x, half);
+            int[] high = Arrays.copyOfRange(x, half, xLength);
+            int[] sum = Limbs.add(x, lowLength, high, high.length);
+
+            ProductTask low2 = new ProductTask(x, lowLength, null, lowLength);
+            ProductTask high2 = new ProductTask(high, high.length, null, high.length);
+            int sumLength = Limbs.normalizedLength(sum, sum.length);
+            ProductTask middle = new ProductTask(sum, sumLength, null, sumLength);
+            ForkJoinTask.invokeAll(low2, high2, middle);
+
+            return Multiplication.combine(low2.join(), middle.join(), high2.join(), half, 2 * xLength);
+        }
+    }
+}
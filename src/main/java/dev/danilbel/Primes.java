@@ -0,0 +1,511 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+import dev.danilbel.ModularExponentiation.Reducer;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static dev.danilbel.Limbs.LONG_MASK;
+
+/**
+ * Probable primes among {@link Limbs} magnitudes.
+ * Candidates are divided by the small primes and then put through the Baillie-PSW test, a strong
+ * probable prime test to base 2 followed by a strong Lucas test, which no known composite passes.
+ * Miller-Rabin rounds with random bases bound the error for the requested certainty on top of it.
+ * Searches sieve a window of odd numbers by all small primes at once and test only the survivors.
+ */
+final class Primes {
+
+    private static final int[] ONE = {1};
+    private static final int[] TWO = {2};
+
+    static final int[] SMALL_PRIMES = sieve(1 << 12);
+
+    private static final long SMALL_PRIME_LIMIT = SMALL_PRIMES[SMALL_PRIMES.length - 1];
+
+    // consecutive odd small primes whose product stays below 2^31, so one pass over the limbs reduces by all of them
+    private static final int[] GROUP_STARTS;
+    private static final long[] GROUP_PRODUCTS;
+
+    static {
+        int[] starts = new int[SMALL_PRIMES.length];
+        long[] products = new long[SMALL_PRIMES.length];
+        int groups = 0;
+        for (int i = 1; i < SMALL_PRIMES.length; i++) {
+            if (groups == 0 || products[groups - 1] * SMALL_PRIMES[i] > Integer.MAX_VALUE) {
+                starts[groups] = i;
+                products[groups++] = 1;
+            }
+            products[groups - 1] *= SMALL_PRIMES[i];
+        }
+        GROUP_STARTS = Arrays.copyOf(starts, groups);
+        GROUP_PRODUCTS = Arrays.copyOf(products, groups);
+    }
+
+    // every prime below sieveLimit, extended on demand by primesUpTo
+    private static int sieveLimit = 1 << 12;
+    private static int[] sievedPrimes = SMALL_PRIMES;
+
+    private Primes() {
+    }
+
+    /**
+     * Returns the primes in ascending order, at least up to {@code limit} and possibly beyond it. The
+     * sieve is kept, and it at least doubles whenever it has to grow.
+     */
+    static synchronized int[] primesUpTo(int limit) {
+        if (limit >= sieveLimit) {
+            sieveLimit = (int) Math.min(Integer.MAX_VALUE, Math.max(limit + 1L, 2L * sieveLimit));
+            sievedPrimes = sieve(sieveLimit);
+        }
+        return sievedPrimes;
+    }
+
+    /**
+     * Returns whether a magnitude is prime with error probability below {@code 2^-certainty};
+     * {@code pool} runs the Miller-Rabin rounds in parallel, or is {@code null} to run them in turn.
+     */
+    static boolean isProbablePrime(int[] n, int length, int certainty, ForkJoinPool pool) {
+        if (length == 0) {
+            return false;
+        }
+        if (length == 1 && (n[0] & LONG_MASK) <= SMALL_PRIME_LIMIT) {
+            return Arrays.binarySearch(SMALL_PRIMES, n[0]) >= 0;
+        }
+        if ((n[0] & 1) == 0) {
+            return false;
+        }
+        int[] residues = residues(n, length);
+        for (int residue : residues) {
+            if (residue == 0) {
+                return false;
+            }
+        }
+        if (length == 1 && (n[0] & LONG_MASK) <= SMALL_PRIME_LIMIT * SMALL_PRIME_LIMIT) {
+            return true;
+        }
+        return new Candidate(n, length).passes(certainty, pool);
+    }
+
+    /**
+     * Returns the smallest probable prime above {@code n}.
+     */
+    static int[] nextProbablePrime(int[] n, int length, int certainty, ForkJoinPool pool) {
+        if (length == 0 || length == 1 && (n[0] & LONG_MASK) < SMALL_PRIME_LIMIT) {
+            int index = Arrays.binarySearch(SMALL_PRIMES, length == 0 ? 0 : n[0] + 1);
+            return new int[]{SMALL_PRIMES[index >= 0 ? index : -index - 1]};
+        }
+        int[] start = Limbs.trimmed(Limbs.add(n, length, (n[0] & 1) == 0 ? ONE : TWO, 1));
+        return search(start, Integer.MAX_VALUE, certainty, pool);
+    }
+
+    /**
+     * Returns a random probable prime of exactly {@code bits} bits.
+     */
+    static int[] randomProbablePrime(int bits, int certainty, Random random, ForkJoinPool pool) {
+        if (bits <= 12) {
+            while (true) {
+                int candidate = (1 << (bits - 1)) | random.nextInt(1 << (bits - 1));
+                if (Arrays.binarySearch(SMALL_PRIMES, candidate) >= 0) {
+                    return new int[]{candidate};
+                }
+            }
+        }
+        while (true) {
+            int[] start = new int[(bits + 31) >>> 5];
+            for (int i = 0; i < start.length; i++) {
+                start[i] = random.nextInt();
+            }
+            int topBits = bits - 32 * (start.length - 1);
+            start[start.length - 1] &= (int) ((1L << topBits) - 1);
+            start[start.length - 1] |= 1 << (topBits - 1);
+            start[0] |= 1;
+            int[] prime = search(start, bits, certainty, pool);
+            if (prime != null) {
+                return prime;
+            }
+        }
+    }
+
+    /**
+     * Tests the odd numbers from an odd {@code start} above the small primes in sieved windows, and returns
+     * the first probable prime, or {@code null} once the candidates grow longer than {@code maxBits}.
+     */
+    private static int[] search(int[] start, int maxBits, int certainty, ForkJoinPool pool) {
+        int window = Math.max(64, Limbs.bitLength(start, start.length));
+        while (true) {
+            boolean[] composite = new boolean[window];
+            int[] residues = residues(start, start.length);
+            for (int i = 0; i < residues.length; i++) {
+                // start + 2j is a multiple of p from j = -residue / 2 mod p
+                long p = SMALL_PRIMES[i + 1];
+                int first = (int) ((p - residues[i]) % p * ((p + 1) / 2) % p);
+                for (int j = first; j < window; j += (int) p) {
+                    composite[j] = true;
+                }
+            }
+
+            int[] base = start;
+            IntStream primes = IntStream.range(0, window)
+                    .filter(j -> !composite[j])
+                    .filter(j -> {
+                        int[] candidate = offset(base, j);
+                        return new Candidate(candidate, candidate.length).passes(certainty, null);
+                    });
+            int found = pool == null
+                    ? primes.findFirst().orElse(-1)
+                    : pool.submit(() -> primes.parallel().findFirst().orElse(-1)).join();
+            int[] next = found >= 0 ? offset(start, found) : offset(start, window);
+            if (Limbs.bitLength(next, next.length) > maxBits) {
+                return null;
+            }
+            if (found >= 0) {
+                return next;
+            }
+            start = next;
+        }
+    }
+
+    private static int[] offset(int[] start, int j) {
+        return Limbs.trimmed(Limbs.add(start, start.length, new int[]{2 * j}, 1));
+    }
+
+    /**
+     * Returns {@code x mod p} for every odd small prime, in the order of {@link #SMALL_PRIMES} from 3.
+     */
+    private static int[] residues(int[] x, int length) {
+        int[] residues = new int[SMALL_PRIMES.length - 1];
+        for (int group = 0; group < GROUP_STARTS.length; group++) {
+            long product = GROUP_PRODUCTS[group];
+            long remainder = 0;
+            for (int i = length - 1; i >= 0; i--) {
+                remainder = ((remainder << 32) | (x[i] & LONG_MASK)) % product;
+            }
+            int end = group + 1 < GROUP_STARTS.length ? GROUP_STARTS[group + 1] : SMALL_PRIMES.length;
+            for (int i = GROUP_STARTS[group]; i < end; i++) {
+                residues[i - 1] = (int) (remainder % SMALL_PRIMES[i]);
+            }
+        }
+        return residues;
+    }
+
+    /**
+     * Returns the number of Miller-Rabin rounds after which a random odd number of this size is
+     * composite with probability below 2^-100 (Damgard, Landrock and Pomerance).
+     */
+    private static int maxRounds(int bits) {
+        return bits < 100 ? 50 : bits < 256 ? 27 : bits < 512 ? 15 : bits < 768 ? 8 : bits < 1024 ? 4 : 2;
+    }
+
+    /**
+     * An odd candidate above the small primes, with {@code n - 1 = d * 2^s} prepared for the rounds.
+     */
+    private static final class Candidate {
+
+        private final int[] n;
+        private final int length;
+        private final int[] nMinusOne;
+        private final int[] d;
+        private final int s;
+
+        private Candidate(int[] n, int length) {
+            this.n = Limbs.trimmed(Arrays.copyOf(n, length));
+            this.length = this.n.length;
+            this.nMinusOne = Limbs.trimmed(Limbs.subtract(this.n, this.length, ONE, 1));
+            this.s = lowestSetBit(nMinusOne);
+            this.d = Limbs.trimmed(Limbs.shiftRight(nMinusOne, nMinusOne.length, s));
+        }
+
+        private boolean passes(int certainty, ForkJoinPool pool) {
+            if (!strongProbablePrime(TWO) || !strongLucasProbablePrime()) {
+                return false;
+            }
+            int rounds = Math.min((certainty + 1) / 2, maxRounds(Limbs.bitLength(n, length))) - 1;
+            if (rounds <= 0) {
+                return true;
+            }
+            if (pool == null) {
+                for (int round = 0; round < rounds; round++) {
+                    if (!strongProbablePrime(randomBase())) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return pool.submit(() -> IntStream.range(0, rounds).parallel()
+                    .allMatch(round -> strongProbablePrime(randomBase()))).join();
+        }
+
+        /**
+         * Returns a base in {@code [2, 2^(bits - 1))}, which lies below {@code n - 1}.
+         */
+        private int[] randomBase() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int bits = Limbs.bitLength(n, length) - 1;
+            while (true) {
+                int[] base = new int[(bits + 31) >>> 5];
+                for (int i = 0; i < base.length; i++) {
+                    base[i] = random.nextInt();
+                }
+                if ((bits & 31) != 0) {
+                    base[base.length - 1] &= (1 << (bits & 31)) - 1;
+                }
+                base = Limbs.trimmed(base);
+                if (base.length > 1 || base.length == 1 && (base[0] & LONG_MASK) >= 2) {
+                    return base;
+                }
+            }
+        }
+
+        /**
+         * Miller-Rabin: {@code base^d = 1} or {@code base^(d * 2^r) = -1} for some {@code r < s}.
+         */
+        private boolean strongProbablePrime(int[] base) {
+            BigIntMetrics.count(Algorithm.MILLER_RABIN_TEST);
+            Reducer reducer = ModularExponentiation.reducer(n, length);
+            int[] one = reducer.toDomain(ONE, 1);
+            int[] minusOne = reducer.toDomain(nMinusOne, nMinusOne.length);
+            int[] y = ModularExponentiation.slidingWindowPow(reducer, reducer.toDomain(base, base.length), d, d.length);
+            if (Arrays.equals(y, one) || Arrays.equals(y, minusOne)) {
+                return true;
+            }
+            for (int r = 1; r < s; r++) {
+                reducer.square(y, y);
+                if (Arrays.equals(y, minusOne)) {
+                    return true;
+                }
+                if (Arrays.equals(y, one)) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * The strong Lucas test with Selfridge's parameters: {@code D} is the first of 5, -7, 9, -11, ...
+         * with Jacobi symbol {@code (D/n) = -1}, {@code P = 1} and {@code Q = (1 - D) / 4}. With
+         * {@code n + 1 = k * 2^t} for an odd {@code k}, a prime has {@code U_k = 0} or
+         * {@code V_(k * 2^r) = 0} for some {@code r < t}. The sequences are kept in the Montgomery domain.
+         */
+        private boolean strongLucasProbablePrime() {
+            BigIntMetrics.count(Algorithm.STRONG_LUCAS_TEST);
+            if (Roots.mayBeSquare(n, length)) {
+                int[] root = Roots.root(n, length, 2);
+                if (Arrays.equals(Limbs.trimmed(Limbs.square(root, root.length)), n)) {
+                    // no D has (D/n) = -1
+                    return false;
+                }
+            }
+            int discriminant = 5;
+            while (true) {
+                int jacobi = jacobi(discriminant, n, length);
+                if (jacobi == -1) {
+                    break;
+                }
+                if (jacobi == 0) {
+                    // n is larger than D, so the common factor is a proper one
+                    return false;
+                }
+                discriminant = discriminant > 0 ? -discriminant - 2 : -discriminant + 2;
+            }
+
+            Reducer reducer = ModularExponentiation.reducer(n, length);
+            int[] dResidue = residue(discriminant);
+            int[] qResidue = residue((1 - discriminant) / 4);
+            int[] discriminantInDomain = reducer.toDomain(dResidue, dResidue.length);
+            int[] q = reducer.toDomain(qResidue, qResidue.length);
+
+            int[] nPlusOne = Limbs.trimmed(Limbs.add(n, length, ONE, 1));
+            int t = lowestSetBit(nPlusOne);
+            int[] k = Limbs.trimmed(Limbs.shiftRight(nPlusOne, nPlusOne.length, t));
+
+            // U_1 = 1, V_1 = P = 1, Q^1 = Q
+            int[] u = reducer.toDomain(ONE, 1);
+            int[] v = u.clone();
+            int[] qPower = q.clone();
+            int[] temp = new int[length];
+            for (int bit = Limbs.bitLength(k, k.length) - 2; bit >= 0; bit--) {
+                // U_2j = U_j * V_j, V_2j = V_j^2 - 2 * Q^j
+                reducer.multiply(u, v, u);
+                reducer.square(v, v);
+                subtract(v, qPower);
+                subtract(v, qPower);
+                reducer.square(qPower, qPower);
+                if ((k[bit >>> 5] >>> (bit & 31) & 1) != 0) {
+                    // U_(j+1) = (U_j + V_j) / 2, V_(j+1) = (D * U_j + V_j) / 2
+                    reducer.multiply(discriminantInDomain, u, temp);
+                    add(temp, v);
+                    half(temp);
+                    add(u, v);
+                    half(u);
+                    int[] swap = v;
+                    v = temp;
+                    temp = swap;
+                    reducer.multiply(qPower, q, qPower);
+                }
+            }
+            if (isZero(u) || isZero(v)) {
+                return true;
+            }
+            for (int r = 1; r < t; r++) {
+                reducer.square(v, v);
+                subtract(v, qPower);
+                subtract(v, qPower);
+                if (isZero(v)) {
+                    return true;
+                }
+                reducer.square(qPower, qPower);
+            }
+            return false;
+        }
+
+        /**
+         * Returns a small value modulo {@code n}, which is larger than its magnitude.
+         */
+        private int[] residue(int value) {
+            int[] magnitude = {Math.abs(value)};
+            return value >= 0 ? magnitude : Limbs.subtract(n, length, magnitude, 1);
+        }
+
+        /**
+         * Replaces {@code x} with {@code x + y mod n} for values of exactly {@code length} limbs.
+         */
+        private void add(int[] x, int[] y) {
+            long carry = 0;
+            for (int i = 0; i < length; i++) {
+                carry += (x[i] & LONG_MASK) + (y[i] & LONG_MASK);
+                x[i] = (int) carry;
+                carry >>>= 32;
+            }
+            if (carry != 0 || Limbs.compare(x, length, n, length) >= 0) {
+                // the borrow out of the top limb cancels the carry
+                Limbs.subtractInPlace(x, length, n, length);
+            }
+        }
+
+        private void subtract(int[] x, int[] y) {
+            long borrow = 0;
+            for (int i = 0; i < length; i++) {
+                borrow += (x[i] & LONG_MASK) - (y[i] & LONG_MASK);
+                x[i] = (int) borrow;
+                borrow >>= 32;
+            }
+            if (borrow != 0) {
+                addModulus(x);
+            }
+        }
+
+        /**
+         * Replaces {@code x} with {@code x / 2 mod n}; an odd {@code x} is made even by adding the odd modulus.
+         */
+        private void half(int[] x) {
+            int carry = (x[0] & 1) != 0 ? addModulus(x) : 0;
+            for (int i = 0; i < length - 1; i++) {
+                x[i] = (x[i] >>> 1) | (x[i + 1] << 31);
+            }
+            x[length - 1] = (x[length - 1] >>> 1) | (carry << 31);
+        }
+
+        private int addModulus(int[] x) {
+            long carry = 0;
+            for (int i = 0; i < length; i++) {
+                carry += (x[i] & LONG_MASK) + (n[i] & LONG_MASK);
+                x[i] = (int) carry;
+                carry >>>= 32;
+            }
+            return (int) carry;
+        }
+
+        private boolean isZero(int[] x) {
+            for (int limb : x) {
+                if (limb != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the Jacobi symbol {@code (a/n)} for a small {@code a} and an odd {@code n}.
+     */
+    private static int jacobi(int a, int[] n, int length) {
+        int result = 1;
+        if (a < 0) {
+            a = -a;
+            // (-1/n) = -1 exactly when n = 3 mod 4
+            if ((n[0] & 3) == 3) {
+                result = -result;
+            }
+        }
+        while ((a & 1) == 0) {
+            a >>>= 1;
+            // (2/n) = -1 exactly when n = 3 or 5 mod 8
+            if ((n[0] & 7) == 3 || (n[0] & 7) == 5) {
+                result = -result;
+            }
+        }
+        if (a == 1) {
+            return result;
+        }
+        // quadratic reciprocity flips the sign when both are 3 mod 4
+        if ((a & 3) == 3 && (n[0] & 3) == 3) {
+            result = -result;
+        }
+        int remainder = Limbs.divideInPlace(Arrays.copyOf(n, length), length, a);
+        return result * jacobi(remainder, a);
+    }
+
+    private static int jacobi(int a, int n) {
+        int result = 1;
+        while (a != 0) {
+            while ((a & 1) == 0) {
+                a >>>= 1;
+                if ((n & 7) == 3 || (n & 7) == 5) {
+                    result = -result;
+                }
+            }
+            int swap = a;
+            a = n;
+            n = swap;
+            if ((a & 3) == 3 && (n & 3) == 3) {
+                result = -result;
+            }
+            a %= n;
+        }
+        return n == 1 ? result : 0;
+    }
+
+    private static int lowestSetBit(int[] x) {
+        int i = 0;
+        while (x[i] == 0) {
+            i++;
+        }
+        return 32 * i + Integer.numberOfTrailingZeros(x[i]);
+    }
+
+    private static int[] sieve(int limit) {
+        boolean[] composite = new boolean[limit];
+        int count = 0;
+        for (int i = 2; i < limit; i++) {
+            if (!composite[i]) {
+                count++;
+                for (long j = (long) i * i; j < limit; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        int[] primes = new int[count];
+        count = 0;
+        for (int i = 2; i < limit; i++) {
+            if (!composite[i]) {
+                primes[count++] = i;
+            }
+        }
+        return primes;
+    }
+}
@@ -0,0 +1,228 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Decimal conversion of {@link Limbs} magnitudes.
+ * Short values are converted nine digits at a time. Longer ones are split around a cached power
+ * {@code 10^(9 * 2^k)}, so both directions cost a few multiplications or divisions of the full size.
+ */
+final class Radix {
+
+    static final int DECIMAL_CHUNK = 1_000_000_000;
+    static final int DECIMAL_CHUNK_DIGITS = 9;
+
+    private static final int PARSE_THRESHOLD_DIGITS = 8000;
+    private static final int TO_STRING_THRESHOLD = 400;
+
+    // powersOfTen[k] = 10^(9 * 2^k), grown on demand
+    private static volatile int[][] powersOfTen = {{DECIMAL_CHUNK}};
+
+    private static final char[] ZEROS = "0".repeat(1024).toCharArray();
+
+    private Radix() {
+    }
+
+    /**
+     * Returns whether the characters form an optional minus sign followed by one or more ASCII digits.
+     */
+    static boolean isInteger(CharSequence number) {
+        int start = number.length() > 0 && number.charAt(0) == '-' ? 1 : 0;
+        if (start == number.length()) {
+            return false;
+        }
+        for (int i = start; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the decimal digits in {@code [from, to)} into a magnitude, which may not be normalized.
+     */
+    static int[] parse(CharSequence digits, int from, int to) {
+        countConversion(to - from > PARSE_THRESHOLD_DIGITS);
+        return parse((begin, end) -> parseChunk(digits, begin, end), from, to);
+    }
+
+    /**
+     * Parses {@code 9 * count} digits given as nine-digit chunks, most significant first.
+     */
+    static int[] parseChunks(int[] chunks, int count) {
+        countConversion((long) count * DECIMAL_CHUNK_DIGITS > PARSE_THRESHOLD_DIGITS);
+        return parse((begin, end) -> chunks[begin / DECIMAL_CHUNK_DIGITS], 0, count * DECIMAL_CHUNK_DIGITS);
+    }
+
+    private static int[] parse(DigitSource source, int from, int to) {
+        int digitCount = to - from;
+        if (digitCount <= PARSE_THRESHOLD_DIGITS) {
+            return parseSchoolbook(source, from, to);
+        }
+
+        int k = 0;
+        while ((long) DECIMAL_CHUNK_DIGITS << (k + 1) < digitCount) {
+            k++;
+        }
+        int split = to - (DECIMAL_CHUNK_DIGITS << k);
+        int[] high = Limbs.trimmed(parse(source, from, split));
+        int[] low = parse(source, split, to);
+        int[] power = powerOfTen(k);
+
+        int[] result = Multiplication.multiply(high, high.length, power, power.length);
+        Limbs.addInto(result, 0, low, Limbs.normalizedLength(low, low.length));
+        return result;
+    }
+
+    private static int[] parseSchoolbook(DigitSource source, int from, int to) {
+        int digitCount = to - from;
+        // 3402 / 1024 slightly exceeds log2(10), so the estimate never undershoots
+        int[] parsed = new int[(int) (((long) digitCount * 3402) >>> 15) + 1];
+        int parsedLength = 0;
+
+        int end = from + digitCount % DECIMAL_CHUNK_DIGITS;
+        if (end == from) {
+            end += DECIMAL_CHUNK_DIGITS;
+        }
+        for (int begin = from; begin < to; begin = end, end += DECIMAL_CHUNK_DIGITS) {
+            parsedLength = Limbs.multiplyAdd(parsed, parsedLength, DECIMAL_CHUNK, source.chunk(begin, end));
+        }
+        return parsed;
+    }
+
+    private static int parseChunk(CharSequence digits, int begin, int end) {
+        int chunk = 0;
+        for (int i = begin; i < end; i++) {
+            chunk = chunk * 10 + (digits.charAt(i) - '0');
+        }
+        return chunk;
+    }
+
+    /**
+     * Appends the decimal digits of a non-zero magnitude without leading zeros.
+     */
+    static void appendTo(StringBuilder result, int[] x, int length) {
+        countConversion(length >= TO_STRING_THRESHOLD);
+        try {
+            write(result::append, x, length, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Passes the decimal digits of a non-zero magnitude to the sink in order, a few thousand at a time.
+     */
+    static void write(DigitSink sink, int[] x, int length) throws IOException {
+        countConversion(length >= TO_STRING_THRESHOLD);
+        write(sink, x, length, 0);
+    }
+
+    private static void countConversion(boolean divideAndConquer) {
+        BigIntMetrics.count(divideAndConquer
+                ? Algorithm.DIVIDE_AND_CONQUER_RADIX_CONVERSION
+                : Algorithm.SCHOOLBOOK_RADIX_CONVERSION);
+    }
+
+    /**
+     * Writes the decimal digits of {@code x}, left-padded with zeros to {@code width} digits.
+     */
+    private static void write(DigitSink sink, int[] x, int length, int width) throws IOException {
+        if (length < TO_STRING_THRESHOLD) {
+            writeSchoolbook(sink, x, length, width);
+            return;
+        }
+
+        int k = 0;
+        while (2 * powerOfTen(k + 1).length - 1 <= length) {
+            k++;
+        }
+        int[] power = powerOfTen(k);
+        int lowWidth = DECIMAL_CHUNK_DIGITS << k;
+
+        int[][] quotientAndRemainder = Division.divideAndRemainder(x, length, power, power.length);
+        int[] quotient = quotientAndRemainder[0];
+        int[] remainder = quotientAndRemainder[1];
+        write(sink, quotient, Limbs.normalizedLength(quotient, quotient.length), Math.max(width - lowWidth, 0));
+        write(sink, remainder, Limbs.normalizedLength(remainder, remainder.length), lowWidth);
+    }
+
+    private static void writeSchoolbook(DigitSink sink, int[] x, int length, int width) throws IOException {
+        int[] quotient = Arrays.copyOf(x, length);
+        int quotientLength = length;
+        int[] chunks = new int[length * 32 / 29 + 1];
+        int chunkCount = 0;
+        while (quotientLength > 0) {
+            chunks[chunkCount++] = Limbs.divideInPlace(quotient, quotientLength, DECIMAL_CHUNK);
+            quotientLength = Limbs.normalizedLength(quotient, quotientLength);
+        }
+
+        int topDigits = chunkCount == 0 ? 0 : digitCount(chunks[chunkCount - 1]);
+        int digitCount = topDigits + Math.max(chunkCount - 1, 0) * DECIMAL_CHUNK_DIGITS;
+        for (int padding = width - digitCount; padding > 0; padding -= ZEROS.length) {
+            sink.write(ZEROS, 0, Math.min(padding, ZEROS.length));
+        }
+
+        char[] digits = new char[digitCount];
+        int position = digitCount;
+        for (int i = 0; i < chunkCount; i++) {
+            int chunk = chunks[i];
+            int chunkDigits = i == chunkCount - 1 ? topDigits : DECIMAL_CHUNK_DIGITS;
+            for (int j = 0; j < chunkDigits; j++) {
+                digits[--position] = (char) ('0' + chunk % 10);
+                chunk /= 10;
+            }
+        }
+        sink.write(digits, 0, digitCount);
+    }
+
+    private static int digitCount(int chunk) {
+        int count = 1;
+        while (chunk >= 10) {
+            chunk /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static int[] powerOfTen(int k) {
+        int[][] powers = powersOfTen;
+        if (k < powers.length) {
+            return powers[k];
+        }
+        synchronized (Radix.class) {
+            powers = powersOfTen;
+            if (k >= powers.length) {
+                int[][] grown = Arrays.copyOf(powers, k + 1);
+                for (int i = powers.length; i <= k; i++) {
+                    grown[i] = Limbs.trimmed(Multiplication.square(grown[i - 1], grown[i - 1].length));
+                }
+                powersOfTen = grown;
+                powers = grown;
+            }
+            return powers[k];
+        }
+    }
+
+    /**
+     * Supplies the value of the decimal digits in {@code [begin, end)}, at most nine of them.
+     */
+    private interface DigitSource {
+
+        int chunk(int begin, int end);
+    }
+
+    /**
+     * Receives consecutive runs of decimal digits.
+     */
+    interface DigitSink {
+
+        void write(char[] digits, int offset, int length) throws IOException;
+    }
+}
@@ -0,0 +1,76 @@
+package dev.danilbel;
+
+import static dev.danilbel.Limbs.LONG_MASK;
+
+/**
+ * Channel-wise arithmetic on residues modulo primes below 2^30, held in {@code long[]} arrays.
+ * Residues are in Montgomery form {@code xR mod p} with {@code R = 2^32}, so a product costs three
+ * multiplications and no division. Every channel is independent of the others, which lets
+ * {@link VectorResidues} handle a whole vector of channels per instruction.
+ * <p>
+ * The final conditional subtractions are branch free: the sign of {@code x - p}, spread over the word
+ * by an arithmetic shift, selects whether {@code p} is added back. Random residues would mispredict
+ * half of the branches.
+ */
+final class Residues {
+
+    private Residues() {
+    }
+
+    /**
+     * Returns {@code t / R mod p} for {@code t < p * 2^32}.
+     */
+    static long reduce(long t, long p, long inverse) {
+        long q = (t & LONG_MASK) * inverse & LONG_MASK;
+        long u = ((t + q * p) >>> 32) - p;
+        return u + (u >> 63 & p);
+    }
+
+    /**
+     * Returns {@code xR mod p_i} for a magnitude {@code x} in every channel, by Horner's rule on the limbs
+     * from the top. Multiplying a Montgomery residue by {@code R^2 mod p} shifts its value up by one limb,
+     * and the limb itself enters through the same multiplication, so no step divides.
+     */
+    static long[] residues(int[] x, int length, long[] primes, long[] inverses, long[] rSquares) {
+        long[] result = new long[primes.length];
+        int from = Limbs.VECTORIZED ? VectorResidues.residues(x, length, primes, inverses, rSquares, result) : 0;
+        for (int j = length - 1; j >= 0; j--) {
+            long limb = x[j] & LONG_MASK;
+            for (int i = from; i < primes.length; i++) {
+                long sum = reduce(result[i] * rSquares[i], primes[i], inverses[i])
+                        + reduce(limb * rSquares[i], primes[i], inverses[i]) - primes[i];
+                result[i] = sum + (sum >> 63 & primes[i]);
+            }
+        }
+        return result;
+    }
+
+    static long[] add(long[] x, long[] y, long[] primes) {
+        long[] result = new long[x.length];
+        int i = Limbs.VECTORIZED ? VectorResidues.add(x, y, primes, result) : 0;
+        for (; i < x.length; i++) {
+            long sum = x[i] + y[i] - primes[i];
+            result[i] = sum + (sum >> 63 & primes[i]);
+        }
+        return result;
+    }
+
+    static long[] subtract(long[] x, long[] y, long[] primes) {
+        long[] result = new long[x.length];
+        int i = Limbs.VECTORIZED ? VectorResidues.subtract(x, y, primes, result) : 0;
+        for (; i < x.length; i++) {
+            long difference = x[i] - y[i];
+            result[i] = difference + (difference >> 63 & primes[i]);
+        }
+        return result;
+    }
+
+    static long[] multiply(long[] x, long[] y, long[] primes, long[] inverses) {
+        long[] result = new long[x.length];
+        int i = Limbs.VECTORIZED ? VectorResidues.multiply(x, y, primes, inverses, result) : 0;
+        for (; i < x.length; i++) {
+            result[i] = reduce(x[i] * y[i], primes[i], inverses[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package dev.danilbel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static dev.danilbel.Limbs.LONG_MASK;
+
+/**
+ * The primes of a residue number system, which hold a value as its residues modulo every prime.
+ * The primes are the largest ones below 2^30, and their odd product {@code M} has at least one bit more
+ * than the requested bit length, so every value in {@code (-M/2, M/2)} is represented exactly.
+ * <p>
+ * Conversions run on the product tree of the primes: {@link #toRns} reduces a value from the root
+ * down, and {@link RnsBigInt#toBigInt()} reconstructs it with the Chinese remainder theorem from the
+ * leaves up. The nodes of a level are evaluated in parallel on the pool given to the factory method.
+ * Smaller bases reduce the limbs by every prime directly instead.
+ */
+public final class RnsBasis {
+
+    private static final int PRIME_BITS = 30;
+
+    // pi(2^30) - pi(2^29)
+    private static final int MAX_SIZE = 26_207_278;
+
+    // below this many primes, reducing the limbs by every prime beats the quadratic divisions of the tree
+    private static final int DIRECT_CONVERSION_LIMIT = 1024;
+
+    final long[] primes;
+    final long[] inverses;
+    private final long[] rSquares;
+    private final long[] cofactorInverses;
+    private final List<List<BigInt>> productTree;
+    private final BigInt modulus;
+    private final BigInt halfModulus;
+    private final ForkJoinPool pool;
+
+    private RnsBasis(long[] primes, ForkJoinPool pool) {
+        this.primes = primes;
+        this.pool = pool;
+        int size = primes.length;
+        inverses = new long[size];
+        rSquares = new long[size];
+        List<BigInt> leaves = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long p = primes[i];
+            inverses[i] = ModularExponentiation.montgomeryInverse((int) p) & LONG_MASK;
+            long r = (1L << 32) % p;
+            rSquares[i] = r * r % p;
+            leaves.add(BigInt.valueOf(p));
+        }
+        productTree = BigIntBatch.productTree(leaves, pool);
+        modulus = productTree.get(productTree.size() - 1).get(0);
+        halfModulus = modulus.shiftRight(1);
+
+        // c_i = (M / p_i)^-1 mod p_i weights the residues in the reconstruction
+        BigInt[] cofactors = BigIntBatch.cofactorResidues(productTree, pool);
+        cofactorInverses = new long[size];
+        for (int i = 0; i < size; i++) {
+            cofactorInverses[i] = inverse(cofactors[i].toLong(), primes[i]);
+        }
+    }
+
+    public static RnsBasis forBitLength(int bitLength) {
+        return forBitLength(bitLength, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a basis for the values of up to {@code bitLength} bits and their negations. Only the final
+     * result of a chain of operations has to fit; intermediate values wrap around without harm.
+     */
+    public static RnsBasis forBitLength(int bitLength, ForkJoinPool pool) {
+        if (bitLength < 1) {
+            throw new IllegalArgumentException("Bit length is not positive");
+        }
+        // every prime is above 2^29, so 29 bits per prime give M >= 2^(bitLength + 1)
+        long size = ((long) bitLength + PRIME_BITS - 1) / (PRIME_BITS - 1);
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Bit length is too large");
+        }
+        return new RnsBasis(largestPrimes((int) size), pool);
+    }
+
+    public int size() {
+        return primes.length;
+    }
+
+    /**
+     * Returns the product {@code M} of the primes.
+     */
+    public BigInt modulus() {
+        return modulus;
+    }
+
+    /**
+     * Returns the residues of the value; values outside {@code (-M/2, M/2)} are taken modulo {@code M}.
+     */
+    public RnsBigInt toRns(BigInt value) {
+        long[] residues = new long[primes.length];
+        if (value.bitLength() < 63) {
+            long small = value.toLong();
+            for (int i = 0; i < primes.length; i++) {
+                residues[i] = toMontgomery(Math.floorMod(small, primes[i]), i);
+            }
+        } else if (primes.length <= DIRECT_CONVERSION_LIMIT) {
+            residues = Residues.residues(value.limbs(), value.length(), primes, inverses, rSquares);
+            if (value.isNegative()) {
+                residues = Residues.subtract(new long[primes.length], residues, primes);
+            }
+        } else {
+            List<BigInt> remainders = BigIntBatch.remainderTree(value, productTree, pool);
+            for (int i = 0; i < primes.length; i++) {
+                residues[i] = toMontgomery(remainders.get(i).toLong(), i);
+            }
+        }
+        return new RnsBigInt(this, residues);
+    }
+
+    /**
+     * Returns the value in {@code (-M/2, M/2)} with the given residues, as {@code sum(y_i * M / p_i) mod M}
+     * with {@code y_i = r_i * c_i mod p_i}.
+     */
+    BigInt toBigInt(long[] residues) {
+        BigInt[] weighted = new BigInt[primes.length];
+        for (int i = 0; i < primes.length; i++) {
+            // the Montgomery reduction of (r_i R) * c_i drops the factor R
+            weighted[i] = BigInt.valueOf(Residues.reduce(residues[i] * cofactorInverses[i], primes[i], inverses[i]));
+        }
+        BigInt value = BigIntBatch.sumOfCofactorMultiples(weighted, productTree, pool).mod(modulus);
+        return value.isGreaterThan(halfModulus) ? value.subtract(modulus) : value;
+    }
+
+    private long toMontgomery(long residue, int i) {
+        return Residues.reduce(residue * rSquares[i], primes[i], inverses[i]);
+    }
+
+    private static long inverse(long x, long p) {
+        long power = 1;
+        long base = x % p;
+        // x^(p - 2) = x^-1 mod p by Fermat's little theorem
+        for (long exponent = p - 2; exponent > 0; exponent >>>= 1) {
+            if ((exponent & 1) != 0) {
+                power = power * base % p;
+            }
+            base = base * base % p;
+        }
+        return power;
+    }
+
+    private static long[] largestPrimes(int count) {
+        int[] divisors = Primes.primesUpTo(1 << (PRIME_BITS / 2));
+        long[] primes = new long[count];
+        int found = 0;
+        for (long candidate = (1L << PRIME_BITS) - 1; found < count; candidate -= 2) {
+            if (candidate < 1L << (PRIME_BITS - 1)) {
+                throw new IllegalArgumentException("Bit length is too large");
+            }
+            boolean prime = true;
+            for (int i = 1; i < divisors.length && (long) divisors[i] * divisors[i] <= candidate; i++) {
+                if (candidate % divisors[i] == 0) {
+                    prime = false;
+                    break;
+                }
+            }
+            if (prime) {
+                primes[found++] = candidate;
+            }
+        }
+        return primes;
+    }
+}
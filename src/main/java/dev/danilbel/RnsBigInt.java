@@ -0,0 +1,61 @@
+package dev.danilbel;
+
+/**
+ * An integer held as its residues in an {@link RnsBasis}.
+ * Addition, subtraction and multiplication work on every residue separately, with no carries between
+ * them, so a long chain of them costs a linear pass per operation whatever the size of the values.
+ * Only {@link #toBigInt()} pays for the reconstruction, and its result is exact when the true value
+ * lies in {@code (-M/2, M/2)}.
+ */
+public final class RnsBigInt {
+
+    private final RnsBasis basis;
+    private final long[] residues;
+
+    RnsBigInt(RnsBasis basis, long[] residues) {
+        this.basis = basis;
+        this.residues = residues;
+    }
+
+    public RnsBasis basis() {
+        return basis;
+    }
+
+    public RnsBigInt add(RnsBigInt other) {
+        checkBasis(other);
+        return new RnsBigInt(basis, Residues.add(residues, other.residues, basis.primes));
+    }
+
+    public RnsBigInt subtract(RnsBigInt other) {
+        checkBasis(other);
+        return new RnsBigInt(basis, Residues.subtract(residues, other.residues, basis.primes));
+    }
+
+    public RnsBigInt multiply(RnsBigInt other) {
+        checkBasis(other);
+        return new RnsBigInt(basis, Residues.multiply(residues, other.residues, basis.primes, basis.inverses));
+    }
+
+    public RnsBigInt square() {
+        return multiply(this);
+    }
+
+    public RnsBigInt negate() {
+        return new RnsBigInt(basis, Residues.subtract(new long[residues.length], residues, basis.primes));
+    }
+
+    public BigInt toBigInt() {
+        return basis.toBigInt(residues);
+    }
+
+    private void checkBasis(RnsBigInt other) {
+        if (other.basis != basis) {
+            throw new IllegalArgumentException("Values have different bases");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toBigInt().toString();
+    }
+}
@@ -0,0 +1,137 @@
+package dev.danilbel;
+
+import static dev.danilbel.Limbs.LONG_MASK;
+
+/**
+ * Integer roots of {@link Limbs} magnitudes.
+ * The root of the leading half of the bits is computed recursively, scaled up just above the true
+ * root and finished with Newton steps, which double the number of correct bits. Most of the work is
+ * in the last level, so a root costs a few divisions of the full size. The iterates and the powers
+ * are {@link MutableBigInt}s that the steps overwrite, so a step allocates little beyond its division.
+ */
+final class Roots {
+
+    private static final int[] ONE = {1};
+
+    // together these reject all but about one non-square in a hundred
+    private static final boolean[] SQUARES_MOD_64 = squares(64);
+    private static final boolean[] SQUARES_MOD_63 = squares(63);
+    private static final boolean[] SQUARES_MOD_65 = squares(65);
+    private static final boolean[] SQUARES_MOD_11 = squares(11);
+
+    private Roots() {
+    }
+
+    /**
+     * Returns {@code floor(x^(1/k))} trimmed, for a non-zero magnitude and {@code k >= 2}.
+     */
+    static int[] root(int[] x, int length, int k) {
+        int bits = Limbs.bitLength(x, length);
+        if (k >= bits) {
+            return ONE;
+        }
+        if (bits <= 62) {
+            return fromLong(rootOfLong(x[0] & LONG_MASK | (length > 1 ? (x[1] & LONG_MASK) << 32 : 0), k));
+        }
+        if (bits < 2 * k) {
+            // 2^k <= x < 4^k
+            int[] threeToK = Exponentiation.pow(new int[]{3}, 1, k);
+            return Limbs.compare(threeToK, Limbs.normalizedLength(threeToK, threeToK.length), x, length) <= 0
+                    ? new int[]{3}
+                    : new int[]{2};
+        }
+
+        int e = bits / (2 * k);
+        int[] high = Limbs.trimmed(Limbs.shiftRight(x, length, k * e));
+        int[] highRoot = root(high, high.length, k);
+        // (highRoot + 1) * 2^e exceeds the root, and Newton steps from above decrease to it
+        int[] highRootPlusOne = Limbs.trimmed(Limbs.add(highRoot, highRoot.length, ONE, 1));
+        int[] start = Limbs.shiftLeft(highRootPlusOne, highRootPlusOne.length, e);
+        MutableBigInt current = new MutableBigInt(start, Limbs.normalizedLength(start, start.length));
+        MutableBigInt next = new MutableBigInt();
+        MutableBigInt power = k == 2 ? null : new MutableBigInt();
+        int[] kMinusOne = {k - 1};
+        while (true) {
+            newtonStep(current, x, length, k, kMinusOne, power, next);
+            if (Limbs.compare(next.limbs(), next.length(), current.limbs(), current.length()) >= 0) {
+                return current.toLimbs();
+            }
+            MutableBigInt swap = current;
+            current = next;
+            next = swap;
+        }
+    }
+
+    /**
+     * Sets {@code next} to {@code floor(((k - 1) * r + floor(x / r^(k - 1))) / k)}, raising {@code r} to the
+     * power in {@code power}, which is unused for {@code k = 2}.
+     */
+    private static void newtonStep(MutableBigInt r, int[] x, int length, int k, int[] kMinusOne,
+                                   MutableBigInt power, MutableBigInt next) {
+        MutableBigInt divisor = r;
+        if (k > 2) {
+            divisor = power.set(r);
+            for (int bit = 30 - Integer.numberOfLeadingZeros(k - 1); bit >= 0; bit--) {
+                power.squareInPlace();
+                if (((k - 1) >>> bit & 1) != 0) {
+                    power.multiplyInPlace(r);
+                }
+            }
+        }
+        int[] quotient = Division.divideAndRemainder(x, length, divisor.limbs(), divisor.length())[0];
+        next.set(r).multiplyInPlace(kMinusOne, 1)
+                .addInPlace(quotient, Limbs.normalizedLength(quotient, quotient.length))
+                .divideInPlace(k);
+    }
+
+    private static long rootOfLong(long x, int k) {
+        long root = (long) Math.pow(x, 1.0 / k);
+        while (root > 1 && powerExceeds(root, k, x)) {
+            root--;
+        }
+        while (!powerExceeds(root + 1, k, x)) {
+            root++;
+        }
+        return root;
+    }
+
+    private static boolean powerExceeds(long base, int k, long limit) {
+        long power = 1;
+        for (int i = 0; i < k; i++) {
+            if (power > limit / base) {
+                return true;
+            }
+            power *= base;
+        }
+        return power > limit;
+    }
+
+    /**
+     * Rejects most non-squares from a few small residues; a {@code true} result still has to be confirmed.
+     */
+    static boolean mayBeSquare(int[] x, int length) {
+        if (!SQUARES_MOD_64[x[0] & 63]) {
+            return false;
+        }
+        // 45045 = 63 * 65 * 11
+        long remainder = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            remainder = ((remainder << 32) | (x[i] & LONG_MASK)) % 45045;
+        }
+        return SQUARES_MOD_63[(int) (remainder % 63)]
+                && SQUARES_MOD_65[(int) (remainder % 65)]
+                && SQUARES_MOD_11[(int) (remainder % 11)];
+    }
+
+    private static boolean[] squares(int m) {
+        boolean[] squares = new boolean[m];
+        for (int i = 0; i < m; i++) {
+            squares[i * i % m] = true;
+        }
+        return squares;
+    }
+
+    private static int[] fromLong(long value) {
+        return Limbs.trimmed(new int[]{(int) value, (int) (value >>> 32)});
+    }
+}
@@ -0,0 +1,190 @@
+package dev.danilbel.factor;
+
+import dev.danilbel.BigInt;
+
+/**
+ * Lenstra's elliptic curve method on Montgomery curves {@code By^2 = x^3 + Ax^2 + x}.
+ * A curve is a random group of order near {@code p} for every prime factor {@code p}, so with many
+ * curves one of them is likely to have a smooth order. Points are kept as {@code (X : Z)} and
+ * multiplied with the Montgomery ladder, which never needs an inversion; a multiple that is the
+ * identity modulo {@code p} has {@code Z = 0 (mod p)}.
+ * <p>
+ * Stage one multiplies the starting point by every prime power up to {@code B1}. Stage two catches
+ * an order with a single larger prime {@code q <= B2}: with {@code q = i * w +- j}, {@code qQ} is the
+ * identity when the giant step {@code i * w * Q} and the baby step {@code j * Q} have the same {@code x},
+ * and the cross products {@code X_i Z_j - X_j Z_i} of all such pairs are multiplied into one GCD.
+ */
+final class EllipticCurves {
+
+    // 2 * 3 * 5 * 7 * 11, so only the 240 baby steps coprime to it can give a prime
+    private static final int WHEEL = 2310;
+
+    private static final BigInt THREE = new BigInt(3);
+    private static final BigInt FOUR = new BigInt(4);
+    private static final BigInt FIVE = new BigInt(5);
+    private static final BigInt SIXTEEN = new BigInt(16);
+
+    private EllipticCurves() {
+    }
+
+    /**
+     * Runs one curve, chosen by Suyama's parametrization from {@code sigma >= 6}, and returns a proper
+     * factor or {@code null}. {@code primes} must reach {@code B1}, which must be at least {@code sqrt(B2)}.
+     */
+    static BigInt findFactor(Modulus modulus, int[] primes, int b1, long b2, int sigma, Race race) {
+        // u = sigma^2 - 5, v = 4 sigma, Q = (u^3 : v^3), (A + 2) / 4 = (v - u)^3 (3u + v) / (16 u^3 v)
+        BigInt s = new BigInt(sigma);
+        BigInt u = modulus.toDomain(s.square().subtract(FIVE));
+        BigInt v = modulus.toDomain(s.multiply(FOUR));
+        BigInt uCubed = modulus.multiply(modulus.square(u), u);
+        BigInt vMinusU = modulus.subtract(v, u);
+        BigInt numerator = modulus.multiply(modulus.multiply(modulus.square(vMinusU), vMinusU),
+                modulus.add(modulus.reduce(THREE.multiply(u)), v));
+        BigInt denominator = modulus.reduce(SIXTEEN.multiply(modulus.multiply(uCubed, v)));
+        BigInt g = modulus.gcd(denominator);
+        if (!g.isEqualsTo(Modulus.ONE)) {
+            return modulus.isProperFactor(g) ? g : null;
+        }
+        Curve curve = new Curve(modulus, modulus.multiply(numerator, modulus.inverse(denominator)));
+        BigInt[] q = {uCubed, modulus.multiply(modulus.square(v), v)};
+
+        for (int i = 0; i < primes.length && primes[i] <= b1; i++) {
+            if ((i & 255) == 0 && race.isOver()) {
+                return null;
+            }
+            long power = primes[i];
+            while (power <= b1 / primes[i]) {
+                power *= primes[i];
+            }
+            q = curve.multiple(q, power);
+        }
+        g = modulus.gcd(q[1]);
+        if (!g.isEqualsTo(Modulus.ONE)) {
+            return modulus.isProperFactor(g) ? g : null;
+        }
+
+        g = modulus.gcd(stageTwo(curve, q, primes, b1, b2, race));
+        return modulus.isProperFactor(g) ? g : null;
+    }
+
+    private static BigInt stageTwo(Curve curve, BigInt[] q, int[] primes, int b1, long b2, Race race) {
+        Modulus modulus = curve.modulus;
+        int half = WHEEL / 2;
+
+        // baby[j] = jQ for odd j, from (j + 2)Q = jQ + 2Q with difference (j - 2)Q
+        BigInt[][] baby = new BigInt[half][];
+        BigInt[] twoQ = curve.doubled(q);
+        baby[1] = q;
+        baby[3] = curve.sum(twoQ, q, q);
+        for (int j = 5; j < half; j += 2) {
+            baby[j] = curve.sum(baby[j - 2], twoQ, baby[j - 4]);
+        }
+
+        // giant = iwQ and next = (i + 1)wQ, advanced with difference (i - 1)wQ
+        long i = Math.max(1, b1 / WHEEL);
+        BigInt[] step = curve.multiple(q, WHEEL);
+        BigInt[] giant = curve.multiple(q, i * WHEEL);
+        BigInt[] next = curve.multiple(q, (i + 1) * WHEEL);
+        BigInt product = modulus.one;
+        for (; i * WHEEL - half <= b2; i++) {
+            if (race.isOver()) {
+                return Modulus.ONE;
+            }
+            long center = i * WHEEL;
+            boolean[] composite = compositesAround(center, half, primes);
+            for (int j = 1; j < half; j += 2) {
+                if (!coprimeToWheel(j)) {
+                    continue;
+                }
+                boolean above = !composite[half + j] && center + j > b1 && center + j <= b2;
+                boolean below = !composite[half - j] && center - j > b1 && center - j <= b2;
+                if (above || below) {
+                    BigInt cross = modulus.subtract(modulus.multiply(giant[0], baby[j][1]), modulus.multiply(baby[j][0], giant[1]));
+                    product = modulus.multiply(product, cross);
+                }
+            }
+            BigInt[] afterNext = curve.sum(next, step, giant);
+            giant = next;
+            next = afterNext;
+        }
+        return product;
+    }
+
+    private static boolean coprimeToWheel(int j) {
+        return j % 3 != 0 && j % 5 != 0 && j % 7 != 0 && j % 11 != 0;
+    }
+
+    /**
+     * Marks the composites among {@code center - half + k} for {@code 0 <= k <= 2 * half}, using primes up to
+     * the square root of the largest.
+     */
+    private static boolean[] compositesAround(long center, int half, int[] primes) {
+        long from = center - half;
+        boolean[] composite = new boolean[2 * half + 1];
+        long to = from + composite.length - 1;
+        for (int p : primes) {
+            if ((long) p * p > to) {
+                break;
+            }
+            long first = Math.max((long) p * p, (from + p - 1) / p * p);
+            for (long multiple = first; multiple <= to; multiple += p) {
+                composite[(int) (multiple - from)] = true;
+            }
+        }
+        return composite;
+    }
+
+    /**
+     * Montgomery ladder arithmetic on {@code (X : Z)} with the constant {@code (A + 2) / 4}.
+     */
+    private static final class Curve {
+
+        private final Modulus modulus;
+        private final BigInt a24;
+
+        private Curve(Modulus modulus, BigInt a24) {
+            this.modulus = modulus;
+            this.a24 = a24;
+        }
+
+        private BigInt[] doubled(BigInt[] p) {
+            BigInt sum = modulus.square(modulus.add(p[0], p[1]));
+            BigInt difference = modulus.square(modulus.subtract(p[0], p[1]));
+            BigInt fourXZ = modulus.subtract(sum, difference);
+            return new BigInt[]{
+                    modulus.multiply(sum, difference),
+                    modulus.multiply(fourXZ, modulus.add(difference, modulus.multiply(a24, fourXZ)))
+            };
+        }
+
+        /**
+         * Returns {@code p + q} from the {@code x} coordinates of {@code p}, {@code q} and {@code p - q}.
+         */
+        private BigInt[] sum(BigInt[] p, BigInt[] q, BigInt[] difference) {
+            BigInt u = modulus.multiply(modulus.subtract(p[0], p[1]), modulus.add(q[0], q[1]));
+            BigInt v = modulus.multiply(modulus.add(p[0], p[1]), modulus.subtract(q[0], q[1]));
+            return new BigInt[]{
+                    modulus.multiply(difference[1], modulus.square(modulus.add(u, v))),
+                    modulus.multiply(difference[0], modulus.square(modulus.subtract(u, v)))
+            };
+        }
+
+        /**
+         * Returns {@code k * p} for {@code k >= 1}, keeping {@code r1 - r0 = p} at every step of the ladder.
+         */
+        private BigInt[] multiple(BigInt[] p, long k) {
+            BigInt[] r0 = p;
+            BigInt[] r1 = doubled(p);
+            for (int bit = 62 - Long.numberOfLeadingZeros(k); bit >= 0; bit--) {
+                if ((k >>> bit & 1) != 0) {
+                    r0 = sum(r1, r0, p);
+                    r1 = doubled(r1);
+                } else {
+                    r1 = sum(r0, r1, p);
+                    r0 = doubled(r0);
+                }
+            }
+            return r0;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package dev.danilbel.factor;
+
+import dev.danilbel.BigInt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Splits positive numbers into prime factors.
+ * Small primes are divided out first. Every composite cofactor then goes through Pollard's rho,
+ * Pollard's {@code p - 1} and the elliptic curve method, in that order, until one of them finds a
+ * factor. Independent rho walks and curves run as tasks on the pool; the first task to find a factor
+ * stops the others, which check between batches of work.
+ */
+public final class Factorizer {
+
+    public enum Method {
+        TRIAL_DIVISION,
+        POLLARD_RHO,
+        POLLARD_P_MINUS_ONE,
+        ELLIPTIC_CURVES
+    }
+
+    /**
+     * Receives the events of a factorization. The calls come from the worker threads of the pool, so an
+     * implementation must be thread safe and should return quickly.
+     */
+    public interface Listener {
+
+        default void started(Method method, BigInt n) {
+        }
+
+        /**
+         * Reports the work done by a method on the current number so far: steps of the rho walks, primes
+         * of the {@code p - 1} exponent, or finished curves.
+         */
+        default void progress(Method method, long work) {
+        }
+
+        default void factorFound(Method method, BigInt factor) {
+        }
+    }
+
+    private static final BigInt ZERO = new BigInt(0);
+    private static final BigInt ONE = new BigInt(1);
+
+    private static final int CERTAINTY = 100;
+    private static final int TRIAL_DIVISION_BOUND = 1 << 16;
+    private static final BigInt TRIAL_DIVISION_LIMIT = new BigInt(TRIAL_DIVISION_BOUND);
+    private static final int[] SMALL_PRIMES = BigInt.primesUpTo(TRIAL_DIVISION_BOUND);
+
+    private static final long RHO_STEPS = 1 << 18;
+    private static final int P_MINUS_ONE_BOUND = 1_000_000;
+    private static final int STAGE_TWO_RATIO = 100;
+    // B1 and the number of curves that find most factors of 15, 20, 25, 30, 35 and 40 digits
+    private static final int[][] ECM_LEVELS = {
+            {2_000, 25}, {11_000, 90}, {50_000, 300}, {250_000, 700}, {1_000_000, 1_800}, {3_000_000, 5_100}
+    };
+
+    private final ForkJoinPool pool;
+    private final Listener listener;
+
+    public Factorizer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public Factorizer(ForkJoinPool pool) {
+        this(pool, new Listener() {
+        });
+    }
+
+    public Factorizer(ForkJoinPool pool, Listener listener) {
+        this.pool = pool;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the prime factors in ascending order, each repeated by its multiplicity; the list for one is empty.
+     * Factors above {@code 2^16} are probable primes. The elliptic curve method repeats its last level until it
+     * succeeds, so a number with two huge prime factors may not return in reasonable time.
+     */
+    public List<BigInt> factor(BigInt n) {
+        if (!n.isGreaterThan(ZERO)) {
+            throw new IllegalArgumentException("Value is not positive");
+        }
+        List<BigInt> factors = new ArrayList<>();
+        listener.started(Method.TRIAL_DIVISION, n);
+        BigInt cofactor = TrialDivision.divideOut(n, SMALL_PRIMES, factors);
+        for (BigInt factor : factors) {
+            listener.factorFound(Method.TRIAL_DIVISION, factor);
+        }
+        factorInto(cofactor, factors);
+        factors.sort((x, y) -> x.isLessThan(y) ? -1 : x.isEqualsTo(y) ? 0 : 1);
+        return factors;
+    }
+
+    /**
+     * Appends the prime factors of a number without factors below the trial division bound.
+     */
+    private void factorInto(BigInt n, List<BigInt> factors) {
+        if (n.isEqualsTo(ONE)) {
+            return;
+        }
+        if (n.isProbablePrime(CERTAINTY)) {
+            factors.add(n);
+            return;
+        }
+        // neither rho nor the group methods can split p^k, so roots are taken first
+        for (int k : SMALL_PRIMES) {
+            BigInt root = n.nthRoot(k);
+            if (root.isLessThan(TRIAL_DIVISION_LIMIT)) {
+                break;
+            }
+            if (root.pow(k).isEqualsTo(n)) {
+                List<BigInt> rootFactors = new ArrayList<>();
+                factorInto(root, rootFactors);
+                for (int i = 0; i < k; i++) {
+                    factors.addAll(rootFactors);
+                }
+                return;
+            }
+        }
+        BigInt factor = findFactor(n);
+        factorInto(factor, factors);
+        factorInto(n.divide(factor), factors);
+    }
+
+    private BigInt findFactor(BigInt n) {
+        BigInt start = new BigInt(2);
+        BigInt factor = race(Method.POLLARD_RHO, n, pool.getParallelism(),
+                (i, race) -> PollardRho.findFactor(new Modulus(n), new BigInt(i + 1), start, RHO_STEPS, race));
+        if (factor != null) {
+            return factor;
+        }
+
+        int[] primes = BigInt.primesUpTo(P_MINUS_ONE_BOUND);
+        factor = race(Method.POLLARD_P_MINUS_ONE, n, 1,
+                (i, race) -> PollardPMinusOne.findFactor(new Modulus(n), primes, P_MINUS_ONE_BOUND, race));
+        if (factor != null) {
+            return factor;
+        }
+
+        int sigma = 6;
+        for (int level = 0; ; level = Math.min(level + 1, ECM_LEVELS.length - 1)) {
+            int b1 = ECM_LEVELS[level][0];
+            int curves = ECM_LEVELS[level][1];
+            int[] curvePrimes = BigInt.primesUpTo(b1);
+            int firstSigma = sigma;
+            factor = race(Method.ELLIPTIC_CURVES, n, curves, (i, race) -> {
+                BigInt found = EllipticCurves.findFactor(new Modulus(n), curvePrimes, b1, (long) STAGE_TWO_RATIO * b1, firstSigma + i, race);
+                race.progress(1);
+                return found;
+            });
+            if (factor != null) {
+                return factor;
+            }
+            sigma += curves;
+        }
+    }
+
+    /**
+     * Runs the attempts on the pool until one of them returns a factor, and returns it or {@code null}.
+     */
+    private BigInt race(Method method, BigInt n, int attempts, Attempt attempt) {
+        listener.started(method, n);
+        Race race = new Race(method, listener);
+        pool.submit(() -> IntStream.range(0, attempts).parallel().forEach(i -> {
+            if (!race.isOver()) {
+                BigInt factor = attempt.run(i, race);
+                if (factor != null) {
+                    race.finish(factor);
+                }
+            }
+        })).join();
+        return race.factor();
+    }
+
+    private interface Attempt {
+        BigInt run(int index, Race race);
+    }
+}
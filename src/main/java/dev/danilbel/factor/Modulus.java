@@ -0,0 +1,81 @@
+package dev.danilbel.factor;
+
+import dev.danilbel.BigInt;
+import dev.danilbel.ModularContext;
+
+/**
+ * Arithmetic on residues in {@code [0, n)} for the number being factored, held in the domain of a
+ * {@link ModularContext} so that the products of the inner loops never divide. The GCD with {@code n}
+ * is the same in the domain, as {@code R} is a power of two and {@code n} is odd. Like the context, a
+ * modulus belongs to one thread, so every rho walk and curve makes its own.
+ */
+final class Modulus {
+
+    static final BigInt ZERO = new BigInt(0);
+    static final BigInt ONE = new BigInt(1);
+
+    final BigInt n;
+    // one in the domain
+    final BigInt one;
+    private final ModularContext context;
+
+    Modulus(BigInt n) {
+        this.n = n;
+        this.context = ModularContext.forModulus(n);
+        this.one = context.one();
+    }
+
+    /**
+     * Returns {@code x mod n} in the domain.
+     */
+    BigInt toDomain(BigInt x) {
+        return context.toDomain(x);
+    }
+
+    /**
+     * Returns {@code x mod n} for a multiple of a residue in the domain, which stays in the domain.
+     */
+    BigInt reduce(BigInt x) {
+        return x.mod(n);
+    }
+
+    BigInt add(BigInt x, BigInt y) {
+        BigInt sum = x.add(y);
+        return sum.isGreaterThanOrEquals(n) ? sum.subtract(n) : sum;
+    }
+
+    BigInt subtract(BigInt x, BigInt y) {
+        BigInt difference = x.subtract(y);
+        return difference.isLessThan(ZERO) ? difference.add(n) : difference;
+    }
+
+    BigInt multiply(BigInt x, BigInt y) {
+        return context.multiply(x, y);
+    }
+
+    BigInt square(BigInt x) {
+        return context.square(x);
+    }
+
+    BigInt pow(BigInt x, BigInt exponent) {
+        return context.pow(x, exponent);
+    }
+
+    /**
+     * Returns the inverse of a residue in the domain, which must be coprime to {@code n}.
+     */
+    BigInt inverse(BigInt x) {
+        return context.toDomain(context.fromDomain(x).modInverse(n));
+    }
+
+    /**
+     * Returns {@code gcd(x, n)}, which is a proper factor of {@code n} when it is neither one nor {@code n}.
+     */
+    BigInt gcd(BigInt x) {
+        return x.gcd(n);
+    }
+
+    boolean isProperFactor(BigInt factor) {
+        return factor.isGreaterThan(ONE) && factor.isLessThan(n);
+    }
+}
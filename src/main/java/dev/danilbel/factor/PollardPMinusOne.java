@@ -0,0 +1,66 @@
+package dev.danilbel.factor;
+
+import dev.danilbel.BigInt;
+
+/**
+ * Stage one of Pollard's {@code p - 1} method.
+ * If {@code p - 1} divides {@code E}, the product of all prime powers up to a bound, then
+ * {@code a^E = 1 (mod p)} and {@code gcd(a^E - 1, n)} reveals {@code p}. The exponent is applied a
+ * chunk of prime powers at a time, with a GCD after every chunk.
+ */
+final class PollardPMinusOne {
+
+    private static final int CHUNK = 64;
+
+    private PollardPMinusOne() {
+    }
+
+    /**
+     * Returns a proper factor {@code p} for which {@code p - 1} is {@code bound}-smooth, or {@code null}.
+     */
+    static BigInt findFactor(Modulus modulus, int[] primes, int bound, Race race) {
+        BigInt a = modulus.toDomain(new BigInt(2));
+        for (int from = 0; from < primes.length && primes[from] <= bound; from += CHUNK) {
+            if (race.isOver()) {
+                return null;
+            }
+            BigInt exponent = Modulus.ONE;
+            int to = Math.min(from + CHUNK, primes.length);
+            for (int i = from; i < to && primes[i] <= bound; i++) {
+                int power = primes[i];
+                while (power <= bound / primes[i]) {
+                    power *= primes[i];
+                }
+                exponent = exponent.multiply(new BigInt(power));
+            }
+            BigInt next = modulus.pow(a, exponent);
+            BigInt g = modulus.gcd(modulus.subtract(next, modulus.one));
+            if (modulus.isProperFactor(g)) {
+                return g;
+            }
+            if (g.isEqualsTo(modulus.n)) {
+                // every factor appeared in this chunk; a walk one prime at a time can still separate them
+                return separate(modulus, a, primes, from, to, bound);
+            }
+            race.progress(to - from);
+            a = next;
+        }
+        return null;
+    }
+
+    private static BigInt separate(Modulus modulus, BigInt a, int[] primes, int from, int to, int bound) {
+        for (int i = from; i < to && primes[i] <= bound; i++) {
+            for (long power = primes[i]; power <= bound; power *= primes[i]) {
+                a = modulus.pow(a, new BigInt(primes[i]));
+                BigInt g = modulus.gcd(modulus.subtract(a, modulus.one));
+                if (modulus.isProperFactor(g)) {
+                    return g;
+                }
+                if (g.isEqualsTo(modulus.n)) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
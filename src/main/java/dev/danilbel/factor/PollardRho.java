@@ -0,0 +1,65 @@
+package dev.danilbel.factor;
+
+import dev.danilbel.BigInt;
+
+/**
+ * Pollard's rho method with Brent's cycle detection.
+ * The walk {@code x -> x^2 + c} modulo a prime factor {@code p} repeats after about {@code sqrt(p)}
+ * steps, and then {@code gcd(x - y, n)} reveals {@code p}. The differences of a batch of steps are
+ * multiplied together so that a single GCD covers the whole batch; a batch that overshoots to
+ * {@code n} is replayed one step at a time.
+ */
+final class PollardRho {
+
+    private static final int BATCH = 128;
+
+    private PollardRho() {
+    }
+
+    /**
+     * Returns a proper factor, or {@code null} if the walk fails, runs {@code maxSteps} steps or loses the race.
+     */
+    static BigInt findFactor(Modulus modulus, BigInt c, BigInt start, long maxSteps, Race race) {
+        // the walk runs in the domain of the modulus, where it is the same walk with x and c scaled by R
+        c = modulus.toDomain(c);
+        BigInt y = modulus.toDomain(start);
+        BigInt x = y;
+        BigInt saved = y;
+        BigInt product = modulus.one;
+        BigInt g = Modulus.ONE;
+        long steps = 0;
+        for (long r = 1; g.isEqualsTo(Modulus.ONE); r *= 2) {
+            x = y;
+            for (long i = 0; i < r; i++) {
+                y = step(modulus, y, c);
+            }
+            steps += r;
+            race.progress(r);
+            for (long k = 0; k < r && g.isEqualsTo(Modulus.ONE); k += BATCH) {
+                if (race.isOver() || steps >= maxSteps) {
+                    return null;
+                }
+                saved = y;
+                long batch = Math.min(BATCH, r - k);
+                for (long i = 0; i < batch; i++) {
+                    y = step(modulus, y, c);
+                    product = modulus.multiply(product, modulus.subtract(x, y));
+                }
+                g = modulus.gcd(product);
+                steps += batch;
+                race.progress(batch);
+            }
+        }
+        if (g.isEqualsTo(modulus.n)) {
+            do {
+                saved = step(modulus, saved, c);
+                g = modulus.gcd(modulus.subtract(x, saved));
+            } while (g.isEqualsTo(Modulus.ONE));
+        }
+        return modulus.isProperFactor(g) ? g : null;
+    }
+
+    private static BigInt step(Modulus modulus, BigInt x, BigInt c) {
+        return modulus.add(modulus.square(x), c);
+    }
+}
@@ -0,0 +1,43 @@
+package dev.danilbel.factor;
+
+import dev.danilbel.BigInt;
+import dev.danilbel.factor.Factorizer.Listener;
+import dev.danilbel.factor.Factorizer.Method;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The state shared by tasks that search for a factor of the same number at once.
+ * Every task polls {@link #isOver()} between batches of work and gives up once another task has won.
+ */
+final class Race {
+
+    private final Method method;
+    private final Listener listener;
+    private final AtomicReference<BigInt> factor = new AtomicReference<>();
+    private final AtomicLong work = new AtomicLong();
+
+    Race(Method method, Listener listener) {
+        this.method = method;
+        this.listener = listener;
+    }
+
+    boolean isOver() {
+        return factor.get() != null;
+    }
+
+    void progress(long amount) {
+        listener.progress(method, work.addAndGet(amount));
+    }
+
+    void finish(BigInt found) {
+        if (factor.compareAndSet(null, found)) {
+            listener.factorFound(method, found);
+        }
+    }
+
+    BigInt factor() {
+        return factor.get();
+    }
+}
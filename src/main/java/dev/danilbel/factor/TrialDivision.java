@@ -0,0 +1,44 @@
+package dev.danilbel.factor;
+
+import dev.danilbel.BigInt;
+
+import java.util.List;
+
+/**
+ * Removes the small prime factors of a number.
+ * The primes are taken in chunks: one GCD with the product of a chunk tells whether any of its
+ * primes divides the number, and only those chunks are divided prime by prime.
+ */
+final class TrialDivision {
+
+    private static final int CHUNK = 256;
+
+    private TrialDivision() {
+    }
+
+    /**
+     * Appends every prime factor below the bound to {@code factors}, with multiplicity, and returns the cofactor.
+     */
+    static BigInt divideOut(BigInt n, int[] primes, List<BigInt> factors) {
+        for (int from = 0; from < primes.length && n.isGreaterThan(Modulus.ONE); from += CHUNK) {
+            int to = Math.min(from + CHUNK, primes.length);
+            BigInt product = Modulus.ONE;
+            for (int i = from; i < to; i++) {
+                product = product.multiply(new BigInt(primes[i]));
+            }
+            if (n.gcd(product).isEqualsTo(Modulus.ONE)) {
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                BigInt prime = new BigInt(primes[i]);
+                BigInt[] quotientAndRemainder = n.divideAndRemainder(prime);
+                while (quotientAndRemainder[1].isEqualsTo(Modulus.ZERO)) {
+                    factors.add(prime);
+                    n = quotientAndRemainder[0];
+                    quotientAndRemainder = n.divideAndRemainder(prime);
+                }
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,114 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BigIntBatchTests {
+
+    private static List<BigInt> randomValues(int count, int digits, long seed) {
+        Random random = new Random(seed);
+        List<BigInt> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder number = new StringBuilder().append(1 + random.nextInt(9));
+            for (int j = 1; j < digits; j++) {
+                number.append(random.nextInt(10));
+            }
+            values.add(new BigInt(number.toString()));
+        }
+        return values;
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideSizes")
+    void testProductTree(int count, int digits) {
+        List<BigInt> values = randomValues(count, digits, 31L * count + digits);
+        BigInt expected = new BigInt("1");
+        for (BigInt value : values) {
+            expected = expected.multiply(value);
+        }
+
+        List<List<BigInt>> tree = BigIntBatch.productTree(values);
+        assertEquals(values, tree.get(0));
+        assertEquals(1, tree.get(tree.size() - 1).size());
+        for (int depth = 1; depth < tree.size(); depth++) {
+            assertEquals((tree.get(depth - 1).size() + 1) / 2, tree.get(depth).size());
+        }
+        assertEquals(expected.toString(), tree.get(tree.size() - 1).get(0).toString());
+        assertEquals(expected.toString(), BigIntBatch.product(values).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideSizes")
+    void testRemainderTree(int count, int digits) {
+        List<BigInt> moduli = randomValues(count, digits, 17L * count + digits);
+        BigInt value = randomValues(1, digits * count + 5, count).get(0).negate();
+
+        List<BigInt> remainders = BigIntBatch.remainderTree(value, BigIntBatch.productTree(moduli));
+        assertEquals(count, remainders.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(value.mod(moduli.get(i)).toString(), remainders.get(i).toString());
+        }
+    }
+
+    private static Stream<Arguments> provideSizes() {
+        return Stream.of(
+                Arguments.of(1, 10),
+                Arguments.of(2, 10),
+                Arguments.of(7, 30),
+                Arguments.of(64, 100),
+                Arguments.of(301, 60),
+                Arguments.of(40, 3000)
+        );
+    }
+
+    @Test
+    void testBatchGcdFindsSharedFactors() {
+        BigInt[] primes = {
+                new BigInt("2").pow(61).subtract(new BigInt("1")),
+                new BigInt("2").pow(89).subtract(new BigInt("1")),
+                new BigInt("2").pow(107).subtract(new BigInt("1")),
+                new BigInt("2").pow(127).subtract(new BigInt("1")),
+                new BigInt("1000000007"),
+                new BigInt("998244353"),
+                new BigInt("1000000009")
+        };
+        List<BigInt> moduli = List.of(
+                primes[0].multiply(primes[1]),
+                primes[2].multiply(primes[3]),
+                primes[1].multiply(primes[4]),
+                primes[5].multiply(primes[6]),
+                primes[3].multiply(primes[0])
+        );
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        List<BigInt> gcds;
+        try {
+            gcds = BigIntBatch.batchGcd(moduli, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(primes[0].multiply(primes[1]).toString(), gcds.get(0).toString());
+        assertEquals(primes[3].toString(), gcds.get(1).toString());
+        assertEquals(primes[1].toString(), gcds.get(2).toString());
+        assertEquals("1", gcds.get(3).toString());
+        assertEquals(primes[3].multiply(primes[0]).toString(), gcds.get(4).toString());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BigIntBatch.product(List.of()));
+        assertThrows(ArithmeticException.class,
+                () -> BigIntBatch.remainderTree(new BigInt("5"), BigIntBatch.productTree(List.of(new BigInt("3"), new BigInt("0")))));
+    }
+}
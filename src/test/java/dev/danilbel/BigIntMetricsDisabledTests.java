@@ -0,0 +1,29 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+import dev.danilbel.BigIntMetrics.Operation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs in the main test task, which leaves {@code dev.danilbel.metrics} unset like production use.
+ */
+class BigIntMetricsDisabledTests {
+
+    @Test
+    void testDisabledMetricsRecordNothing() {
+        assertFalse(BigIntMetrics.isEnabled());
+        BigInt x = new BigInt("9876543210".repeat(100));
+        x.multiply(x).divide(new BigInt(3)).gcd(x);
+
+        BigIntMetrics.Snapshot snapshot = BigIntMetrics.snapshot();
+        for (Operation operation : Operation.values()) {
+            assertEquals(0L, snapshot.calls(operation), operation.name());
+        }
+        for (Algorithm algorithm : Algorithm.values()) {
+            assertEquals(0L, snapshot.count(algorithm), algorithm.name());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dev.danilbel;
+
+import dev.danilbel.BigIntMetrics.Algorithm;
+import dev.danilbel.BigIntMetrics.Operation;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Expects the tests to run with {@code -Ddev.danilbel.metrics=true}, which only the Gradle task
+ * {@code metricsTest} sets for the tests tagged {@code metrics}.
+ */
+@Tag("metrics")
+class BigIntMetricsTests {
+
+    private static final BigInt ONE = new BigInt(1);
+    private static final BigInt TWO = new BigInt(2);
+    private static final BigInt THREE = new BigInt(3);
+    private static final BigInt SMALL = new BigInt("123456789012345678901234567890");
+    private static final BigInt LARGE = new BigInt("9876543210".repeat(1000));
+    private static final BigInt HUGE = new BigInt("1234567890".repeat(4000));
+
+    @Test
+    void testEnabled() {
+        assertTrue(BigIntMetrics.isEnabled());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperations")
+    void testOperationIsRecorded(Operation operation, Algorithm algorithm, Supplier<Object> call) {
+        BigIntMetrics.Snapshot before = BigIntMetrics.snapshot();
+        call.get();
+        BigIntMetrics.Snapshot after = BigIntMetrics.snapshot();
+
+        assertTrue(after.calls(operation) > before.calls(operation));
+        assertTrue(sum(after.operandSizeHistogram(operation)) > sum(before.operandSizeHistogram(operation)));
+        assertTrue(sum(after.latencyHistogram(operation)) > sum(before.latencyHistogram(operation)));
+        assertTrue(after.count(algorithm) > before.count(algorithm));
+    }
+
+    private static Stream<Arguments> provideOperations() {
+        return Stream.of(
+                Arguments.of(Operation.MULTIPLY, Algorithm.SCHOOLBOOK_MULTIPLICATION, call(() -> SMALL.multiply(THREE))),
+                Arguments.of(Operation.MULTIPLY, Algorithm.POWER_OF_TWO_SHIFT, call(() -> SMALL.multiply(TWO))),
+                Arguments.of(Operation.MULTIPLY, Algorithm.KARATSUBA_MULTIPLICATION, call(() -> LARGE.multiply(LARGE.add(ONE)))),
+                Arguments.of(Operation.MULTIPLY, Algorithm.NTT_MULTIPLICATION, call(() -> HUGE.multiply(HUGE.add(ONE)))),
+                Arguments.of(Operation.SQUARE, Algorithm.KARATSUBA_SQUARING, call(LARGE::square)),
+                Arguments.of(Operation.PARALLEL_MULTIPLY, Algorithm.PARALLEL_MULTIPLICATION, call(() -> LARGE.parallelMultiply(SMALL))),
+                Arguments.of(Operation.DIVIDE_AND_REMAINDER, Algorithm.SINGLE_LIMB_DIVISION, call(() -> SMALL.divide(THREE))),
+                Arguments.of(Operation.DIVIDE_AND_REMAINDER, Algorithm.POWER_OF_TWO_SHIFT, call(() -> LARGE.divide(TWO.pow(100)))),
+                Arguments.of(Operation.DIVIDE_AND_REMAINDER, Algorithm.KNUTH_DIVISION, call(() -> LARGE.remainder(SMALL))),
+                Arguments.of(Operation.DIVIDE_AND_REMAINDER, Algorithm.BURNIKEL_ZIEGLER_DIVISION, call(() -> HUGE.divide(LARGE))),
+                Arguments.of(Operation.POW, Algorithm.SLIDING_WINDOW_POWER, call(() -> SMALL.pow(20))),
+                Arguments.of(Operation.MOD_POW, Algorithm.MONTGOMERY_REDUCTION, call(() -> SMALL.modPow(SMALL, LARGE.add(ONE)))),
+                Arguments.of(Operation.MOD_POW, Algorithm.BARRETT_REDUCTION, call(() -> SMALL.modPow(SMALL, LARGE))),
+                Arguments.of(Operation.IS_PROBABLE_PRIME, Algorithm.STRONG_LUCAS_TEST, call(() -> TWO.pow(127).subtract(ONE).isProbablePrime(50))),
+                Arguments.of(Operation.PROBABLE_PRIME_SEARCH, Algorithm.MILLER_RABIN_TEST, call(SMALL::nextProbablePrime)),
+                Arguments.of(Operation.PARSE, Algorithm.DIVIDE_AND_CONQUER_RADIX_CONVERSION, call(() -> new BigInt("7".repeat(20000)))),
+                Arguments.of(Operation.TO_STRING, Algorithm.SCHOOLBOOK_RADIX_CONVERSION, call(SMALL::toString))
+        );
+    }
+
+    @Test
+    void testSizeHistogramBuckets() {
+        BigIntMetrics.Snapshot before = BigIntMetrics.snapshot();
+        ONE.add(ONE);
+        LARGE.add(ONE);
+        BigIntMetrics.Snapshot after = BigIntMetrics.snapshot();
+
+        long[] sizesBefore = before.operandSizeHistogram(Operation.ADD);
+        long[] sizesAfter = after.operandSizeHistogram(Operation.ADD);
+        assertEquals(BigIntMetrics.BUCKETS, sizesAfter.length);
+        assertTrue(sizesAfter[1] > sizesBefore[1]);
+        // LARGE has 1039 limbs
+        assertTrue(sizesAfter[11] > sizesBefore[11]);
+    }
+
+    @Test
+    void testReset() {
+        SMALL.add(SMALL);
+        BigIntMetrics.reset();
+        BigIntMetrics.Snapshot snapshot = BigIntMetrics.snapshot();
+        for (Operation operation : Operation.values()) {
+            assertEquals(0, snapshot.calls(operation));
+            assertEquals(0, sum(snapshot.latencyHistogram(operation)));
+        }
+        for (Algorithm algorithm : Algorithm.values()) {
+            assertEquals(0, snapshot.count(algorithm));
+        }
+    }
+
+    private static Supplier<Object> call(Supplier<Object> call) {
+        return call;
+    }
+
+    private static long sum(long[] histogram) {
+        long sum = 0;
+        for (long count : histogram) {
+            sum += count;
+        }
+        return sum;
+    }
+}
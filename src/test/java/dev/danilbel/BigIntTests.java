@@ -5,9 +5,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class BigIntTests {
@@ -25,7 +29,14 @@ class BigIntTests {
                 Arguments.of("-123", "-123"),
                 Arguments.of("0", "0"),
                 Arguments.of("123456789012345678901234567890", "123456789012345678901234567890"),
-                Arguments.of("-123456789012345678901234567890", "-123456789012345678901234567890")
+                Arguments.of("-123456789012345678901234567890", "-123456789012345678901234567890"),
+                // values on limb and decimal chunk boundaries
+                Arguments.of("000123", "123"),
+                Arguments.of("-0", "0"),
+                Arguments.of("1000000000", "1000000000"),
+                Arguments.of("4294967296", "4294967296"),
+                Arguments.of("-18446744073709551616", "-18446744073709551616"),
+                Arguments.of("1000000000000000000000000000000000000", "1000000000000000000000000000000000000")
         );
     }
 
@@ -42,7 +53,35 @@ class BigIntTests {
                 Arguments.of("123.45"),
                 Arguments.of("123 456"),
                 Arguments.of("123456789012345678901234567890.0"),
-                Arguments.of("123456789012345678901234567890,0")
+                Arguments.of("123456789012345678901234567890,0"),
+                Arguments.of("-"),
+                Arguments.of("+123"),
+                Arguments.of("--123"),
+                Arguments.of("12-3"),
+                Arguments.of("\u0661\u0662\u0663")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntLongDecimalString")
+    void testBigIntLongDecimalStringRoundTrip(String number) {
+        assertEquals(number, new BigInt(number).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntLongDecimalString() {
+        Random random = new Random(9);
+        StringBuilder digits = new StringBuilder("-7");
+        for (int i = 0; i < 60000; i++) {
+            digits.append((char) ('0' + random.nextInt(10)));
+        }
+        return Stream.of(
+                Arguments.of(digits.toString()),
+                Arguments.of(digits.substring(1, 20001)),
+                // zero runs across the split points
+                Arguments.of("1" + "0".repeat(40000) + "1"),
+                Arguments.of("9" + "0".repeat(9215) + "1" + "0".repeat(36863)),
+                Arguments.of("9".repeat(50000)),
+                Arguments.of("-1" + "0".repeat(73727))
         );
     }
 
@@ -97,6 +136,94 @@ class BigIntTests {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("provideBigIntFromLong")
+    void testBigIntValueOf(long number, String expected) {
+        BigInt bigInt = BigInt.valueOf(number);
+        assertEquals(expected, bigInt.toString());
+        assertEquals(number, bigInt.toLong());
+        assertEquals((double) number, bigInt.toDouble());
+    }
+
+    private static Stream<Arguments> provideBigIntFromLong() {
+        return Stream.of(
+                Arguments.of(0L, "0"),
+                Arguments.of(-128L, "-128"),
+                Arguments.of(1024L, "1024"),
+                Arguments.of(4294967296L, "4294967296"),
+                Arguments.of(-4294967296L, "-4294967296"),
+                Arguments.of(Long.MAX_VALUE, "9223372036854775807"),
+                Arguments.of(Long.MIN_VALUE, "-9223372036854775808")
+        );
+    }
+
+    @Test
+    void testBigIntValueOfCachesSmallValues() {
+        assertSame(BigInt.valueOf(7), BigInt.valueOf(7));
+        assertSame(BigInt.valueOf(-1), new BigInt(5).subtract(new BigInt(6)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntToLong")
+    void testBigIntToLong(BigInt bigInt, long expected) {
+        assertEquals(expected, bigInt.toLong());
+    }
+
+    private static Stream<Arguments> provideBigIntToLong() {
+        return Stream.of(
+                Arguments.of(new BigInt("9223372036854775807"), Long.MAX_VALUE),
+                Arguments.of(new BigInt("9223372036854775808"), Long.MAX_VALUE),
+                Arguments.of(new BigInt("-9223372036854775808"), Long.MIN_VALUE),
+                Arguments.of(new BigInt("-9223372036854775809"), Long.MIN_VALUE),
+                Arguments.of(new BigInt("123456789012345678901234567890"), Long.MAX_VALUE),
+                Arguments.of(new BigInt("-123456789012345678901234567890"), Long.MIN_VALUE)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntToDouble")
+    void testBigIntToDouble(String number) {
+        assertEquals(new BigDecimal(number).doubleValue(), new BigInt(number).toDouble());
+    }
+
+    private static Stream<Arguments> provideBigIntToDouble() {
+        return Stream.of(
+                Arguments.of("9007199254740993"),
+                Arguments.of("18446744073709551615"),
+                Arguments.of("-18446744073709551617"),
+                // 2^80 + 2^27 and 2^80 + 3 * 2^27 are halfway cases, 2^80 + 2^27 + 1 is just above one
+                Arguments.of("1208925819614629308923904"),
+                Arguments.of("1208925819614629577359360"),
+                Arguments.of("1208925819614629308923905"),
+                Arguments.of("123456789012345678901234567890123456789012345678901234567890"),
+                Arguments.of("1" + "0".repeat(308)),
+                Arguments.of("-1" + "0".repeat(309))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInlineOverflow")
+    void testBigIntInlineOverflow(BigInt first, BigInt second, String sum, String difference, String product) {
+        assertEquals(sum, first.add(second).toString());
+        assertEquals(difference, first.subtract(second).toString());
+        assertEquals(product, first.multiply(second).toString());
+    }
+
+    private static Stream<Arguments> provideInlineOverflow() {
+        return Stream.of(
+                Arguments.of(new BigInt("9223372036854775807"), new BigInt("1"),
+                        "9223372036854775808", "9223372036854775806", "9223372036854775807"),
+                Arguments.of(new BigInt("-9223372036854775807"), new BigInt("2"),
+                        "-9223372036854775805", "-9223372036854775809", "-18446744073709551614"),
+                Arguments.of(new BigInt("-4611686018427387904"), new BigInt("-4611686018427387904"),
+                        "-9223372036854775808", "0", "21267647932558653966460912964485513216"),
+                Arguments.of(new BigInt("9223372036854775807"), new BigInt("-9223372036854775807"),
+                        "0", "18446744073709551614", "-85070591730234615847396907784232501249"),
+                Arguments.of(new BigInt("4294967296"), new BigInt("4294967296"),
+                        "8589934592", "0", "18446744073709551616")
+        );
+    }
+
 
     @ParameterizedTest
     @MethodSource("provideBigIntComparison")
@@ -243,7 +370,10 @@ class BigIntTests {
                 Arguments.of(new BigInt("12345678901234567890"), new BigInt("-123456789012345678901234567890"), "123456789024691357802469135780"),
                 Arguments.of(new BigInt("-12345678901234567890"), new BigInt("123456789012345678901234567890"), "-123456789024691357802469135780"),
                 Arguments.of(new BigInt("123456789012345678901234567890"), new BigInt("-12345678901234567890"), "123456789024691357802469135780"),
-                Arguments.of(new BigInt("-123456789012345678901234567890"), new BigInt("12345678901234567890"), "-123456789024691357802469135780")
+                Arguments.of(new BigInt("-123456789012345678901234567890"), new BigInt("12345678901234567890"), "-123456789024691357802469135780"),
+                // carry and borrow across limbs
+                Arguments.of(new BigInt("18446744073709551616"), new BigInt("1"), "18446744073709551615"),
+                Arguments.of(new BigInt("-18446744073709551616"), new BigInt("-18446744073709551615"), "-1")
         );
     }
 
@@ -286,7 +416,68 @@ class BigIntTests {
                 Arguments.of(new BigInt("12345678901234567890"), new BigInt("-123456789012345678901234567890"), "-1524157875323883675034293577501905199875019052100"),
                 Arguments.of(new BigInt("-12345678901234567890"), new BigInt("123456789012345678901234567890"), "-1524157875323883675034293577501905199875019052100"),
                 Arguments.of(new BigInt("123456789012345678901234567890"), new BigInt("-12345678901234567890"), "-1524157875323883675034293577501905199875019052100"),
-                Arguments.of(new BigInt("-123456789012345678901234567890"), new BigInt("12345678901234567890"), "-1524157875323883675034293577501905199875019052100")
+                Arguments.of(new BigInt("-123456789012345678901234567890"), new BigInt("12345678901234567890"), "-1524157875323883675034293577501905199875019052100"),
+                // carry across limbs
+                Arguments.of(new BigInt("4294967295"), new BigInt("4294967295"), "18446744065119617025"),
+                Arguments.of(new BigInt("18446744073709551615"), new BigInt("-18446744073709551615"), "-340282366920938463426481119284349108225")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntLargeMultiplication")
+    void testBigIntLargeMultiplication(int nines) {
+        BigInt first = new BigInt("9".repeat(nines));
+        BigInt second = new BigInt("-" + "9".repeat(nines));
+        String expected = "9".repeat(nines - 1) + "8" + "0".repeat(nines - 1) + "1";
+        assertEquals("-" + expected, first.multiply(second).toString());
+        assertEquals(expected, second.square().toString());
+    }
+
+    private static Stream<Arguments> provideBigIntLargeMultiplication() {
+        return Stream.of(
+                Arguments.of(1000),
+                Arguments.of(5000),
+                Arguments.of(20000),
+                Arguments.of(40000)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntMultiplication")
+    void testBigIntParallelMultiplication(BigInt first, BigInt second, String expected) {
+        BigInt result = first.parallelMultiply(second);
+        assertEquals(expected, result.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntLargeMultiplication")
+    void testBigIntLargeParallelMultiplication(int nines) {
+        BigInt first = new BigInt("9".repeat(nines));
+        BigInt second = new BigInt("-" + "9".repeat(nines));
+        String expected = "9".repeat(nines - 1) + "8" + "0".repeat(nines - 1) + "1";
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals("-" + expected, first.parallelMultiply(second, pool).toString());
+            assertEquals(expected, second.parallelMultiply(second, pool).toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntSquare")
+    void testBigIntSquare(BigInt bigInt, String expected) {
+        assertEquals(expected, bigInt.square().toString());
+        assertEquals(expected, bigInt.multiply(bigInt).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntSquare() {
+        return Stream.of(
+                Arguments.of(new BigInt("0"), "0"),
+                Arguments.of(new BigInt("1"), "1"),
+                Arguments.of(new BigInt("-5"), "25"),
+                Arguments.of(new BigInt("4294967295"), "18446744065119617025"),
+                Arguments.of(new BigInt("-123456789012345678901234567890"), "15241578753238836750495351562536198787501905199875019052100")
         );
     }
 
@@ -404,6 +595,37 @@ class BigIntTests {
         assertThrows(ArithmeticException.class, () -> first.remainder(second));
     }
 
+    @ParameterizedTest
+    @MethodSource("provideBigIntDivideAndRemainder")
+    void testBigIntDivideAndRemainder(BigInt first, BigInt second, String quotient, String remainder) {
+        BigInt[] result = first.divideAndRemainder(second);
+        assertEquals(quotient, result[0].toString());
+        assertEquals(remainder, result[1].toString());
+    }
+
+    private static Stream<Arguments> provideBigIntDivideAndRemainder() {
+        return Stream.of(
+                Arguments.of(new BigInt("0"), new BigInt("5"), "0", "0"),
+                Arguments.of(new BigInt("8"), new BigInt("-3"), "-2", "2"),
+                Arguments.of(new BigInt("-8"), new BigInt("3"), "-2", "-2"),
+                Arguments.of(new BigInt("-3"), new BigInt("-8"), "0", "-3"),
+                Arguments.of(new BigInt("123456789012345678901234567890"), new BigInt("12345678901234567890"), "10000000000", "1234567890"),
+                // single-limb divisor with the high bit set
+                Arguments.of(new BigInt("-18446744073709551615"), new BigInt("4294967295"), "-4294967297", "0"),
+                Arguments.of(new BigInt("18446744073709551616"), new BigInt("4294967295"), "4294967297", "1"),
+                // multi-limb divisor
+                Arguments.of(new BigInt("340282366920938463463374607431768211455"), new BigInt("18446744073709551617"), "18446744073709551615", "0"),
+                Arguments.of(new BigInt("340282366920938463463374607431768211456"), new BigInt("-18446744073709551617"), "-18446744073709551615", "1")
+        );
+    }
+
+    @Test
+    void testBigIntDivideAndRemainderByZero() {
+        BigInt first = new BigInt("5");
+        BigInt second = new BigInt("0");
+        assertThrows(ArithmeticException.class, () -> first.divideAndRemainder(second));
+    }
+
     @ParameterizedTest
     @MethodSource("provideBigIntPow")
     void testBigIntPow(BigInt base, int exponent, String expected) {
@@ -418,14 +640,392 @@ class BigIntTests {
                 Arguments.of(new BigInt("1234567890"), 2, "1524157875019052100"),
                 Arguments.of(new BigInt("1234567890"), 3, "1881676371789154860897069000"),
                 Arguments.of(new BigInt("1234567890"), 4, "2323057227982592441500937982514410000"),
-                Arguments.of(new BigInt("1234567890"), 5, "2867971860299718107233761438093672048294900000")
+                Arguments.of(new BigInt("1234567890"), 5, "2867971860299718107233761438093672048294900000"),
+                // zero, one and negative bases
+                Arguments.of(new BigInt("0"), 0, "1"),
+                Arguments.of(new BigInt("0"), 7, "0"),
+                Arguments.of(new BigInt("1"), 1000000, "1"),
+                Arguments.of(new BigInt("-1"), 1000001, "-1"),
+                Arguments.of(new BigInt("-2"), 63, "-9223372036854775808"),
+                Arguments.of(new BigInt("-3"), 40, "12157665459056928801"),
+                // powers of ten and of two
+                Arguments.of(new BigInt("10"), 30, "1000000000000000000000000000000"),
+                Arguments.of(new BigInt("-100"), 5, "-10000000000"),
+                Arguments.of(new BigInt("4294967296"), 2, "18446744073709551616"),
+                // multi-limb base
+                Arguments.of(new BigInt("-123456789012345678901234567890"), 3, "-1881676372353657772546716040589641726257477229849409426207693797722198701224860897069000")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntPowOfLargeExponent")
+    void testBigIntPowMatchesRepeatedMultiplication(BigInt base, int exponent) {
+        BigInt expected = new BigInt(1);
+        for (int i = 0; i < exponent; i++) {
+            expected = expected.multiply(base);
+        }
+        assertEquals(expected.toString(), base.pow(exponent).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntPowOfLargeExponent() {
+        return Stream.of(
+                Arguments.of(new BigInt("10"), 1000),
+                Arguments.of(new BigInt("-7"), 999),
+                Arguments.of(new BigInt("96"), 513),
+                Arguments.of(new BigInt("4294967297"), 300),
+                Arguments.of(new BigInt("-123456789012345678901234567890"), 255),
+                Arguments.of(new BigInt("123456789012345678901234567890"), 1000)
         );
     }
 
+    @Test
+    void testBigIntPowLargeExponentDigitCount() {
+        BigInt result = new BigInt("10").pow(100000);
+        assertEquals("1" + "0".repeat(100000), result.toString());
+    }
+
     @Test
     void testBigIntPowNegativeExponent() {
         BigInt base = new BigInt("5");
         int exponent = -1;
         assertThrows(ArithmeticException.class, () -> base.pow(exponent));
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntMod")
+    void testBigIntMod(BigInt number, BigInt modulus, String expected) {
+        BigInt result = number.mod(modulus);
+        assertEquals(expected, result.toString());
+    }
+
+    private static Stream<Arguments> provideBigIntMod() {
+        return Stream.of(
+                Arguments.of(new BigInt("7"), new BigInt("3"), "1"),
+                Arguments.of(new BigInt("-7"), new BigInt("3"), "2"),
+                Arguments.of(new BigInt("-9"), new BigInt("3"), "0"),
+                Arguments.of(new BigInt("-123456789012345678901234567890"), new BigInt("97"), "45")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntModPow")
+    void testBigIntModPow(BigInt base, BigInt exponent, BigInt modulus, String expected) {
+        BigInt result = base.modPow(exponent, modulus);
+        assertEquals(expected, result.toString());
+    }
+
+    private static Stream<Arguments> provideBigIntModPow() {
+        return Stream.of(
+                Arguments.of(new BigInt("4"), new BigInt("13"), new BigInt("497"), "445"),
+                Arguments.of(new BigInt("-4"), new BigInt("13"), new BigInt("497"), "52"),
+                Arguments.of(new BigInt("2"), new BigInt("100"), new BigInt("1000000007"), "976371285"),
+                Arguments.of(new BigInt("7"), new BigInt("0"), new BigInt("13"), "1"),
+                Arguments.of(new BigInt("7"), new BigInt("5"), new BigInt("1"), "0"),
+                Arguments.of(new BigInt("0"), new BigInt("5"), new BigInt("13"), "0"),
+                // odd multi-limb moduli
+                Arguments.of(new BigInt("123456789012345678901234567890"), new BigInt("98765432109876543210"),
+                        new BigInt("170141183460469231731687303715884105727"), "94100362589646508130024018693800009796"),
+                Arguments.of(new BigInt("-123456789012345678901234567890"), new BigInt("98765432109876543210"),
+                        new BigInt("1000000000000000000000000000001"), "488610113430529981704262002824"),
+                // even moduli
+                Arguments.of(new BigInt("3"), new BigInt("100000000000000000000"), new BigInt("18446744073709551616"), "14533340473642188801"),
+                Arguments.of(new BigInt("5"), new BigInt("618970019642690137449562111"),
+                        new BigInt("79228162514264337593543950336"), "31196088989991582927457930445"),
+                Arguments.of(new BigInt("987654321987654321987654321"),
+                        new BigInt("2037035976334486086268445688409378161051468393665936250636140449354381299763336706183409721"),
+                        new BigInt("6277101735386680763835789423207666416083908700390324961280"),
+                        "2484695259584999393735867859594425216073916460810769581361"),
+                Arguments.of(new BigInt("2").pow(200), new BigInt("18446744073709551617"), new BigInt("2").pow(128), "0")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntModPowMatchesPow")
+    void testBigIntModPowMatchesPow(BigInt base, int exponent, BigInt modulus) {
+        BigInt expected = base.pow(exponent).mod(modulus);
+        assertEquals(expected.toString(), base.modPow(new BigInt(exponent), modulus).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntModPowMatchesPow() {
+        BigInt large = new BigInt("123456789012345678901234567890").pow(20);
+        return Stream.of(
+                Arguments.of(new BigInt("123456789012345678901234567890"), 1000, large.add(new BigInt("1"))),
+                Arguments.of(new BigInt("-123456789012345678901234567890"), 999, large),
+                Arguments.of(large.pow(3), 777, new BigInt("4294967296").pow(9).subtract(new BigInt("1"))),
+                Arguments.of(large.pow(3), 777, new BigInt("4294967296").pow(9)),
+                Arguments.of(new BigInt("4294967295"), 4000, new BigInt("4294967296").pow(8).add(new BigInt("4294967296").pow(7)))
+        );
+    }
+
+    @Test
+    void testBigIntModPowFermat() {
+        // 2^521 - 1 is a Mersenne prime, so a^(p - 1) = 1 (mod p)
+        BigInt prime = new BigInt("2").pow(521).subtract(new BigInt("1"));
+        BigInt exponent = prime.subtract(new BigInt("1"));
+        assertEquals("1", new BigInt("3").modPow(exponent, prime).toString());
+        assertEquals("1", new BigInt("123456789012345678901234567890").modPow(exponent, prime).toString());
+    }
+
+    @Test
+    void testBigIntModPowInvalidArguments() {
+        BigInt base = new BigInt("5");
+        assertThrows(ArithmeticException.class, () -> base.modPow(new BigInt("3"), new BigInt("0")));
+        assertThrows(ArithmeticException.class, () -> base.modPow(new BigInt("3"), new BigInt("-7")));
+        assertThrows(ArithmeticException.class, () -> base.modPow(new BigInt("-3"), new BigInt("7")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntShift")
+    void testBigIntShift(BigInt number, int bits, String left, String right) {
+        assertEquals(left, number.shiftLeft(bits).toString());
+        assertEquals(right, number.shiftRight(bits).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntShift() {
+        return Stream.of(
+                Arguments.of(new BigInt("0"), 10, "0", "0"),
+                Arguments.of(new BigInt("5"), 0, "5", "5"),
+                Arguments.of(new BigInt("5"), 1, "10", "2"),
+                Arguments.of(new BigInt("-5"), 1, "-10", "-3"),
+                Arguments.of(new BigInt("-1"), 100, "-1267650600228229401496703205376", "-1"),
+                Arguments.of(new BigInt("4611686018427387904"), 1, "9223372036854775808", "2305843009213693952"),
+                Arguments.of(new BigInt("-4611686018427387904"), 1, "-9223372036854775808", "-2305843009213693952"),
+                Arguments.of(new BigInt("123456789012345678901234567890"), 64,
+                        "2277375791072698140248390838022561708011411210240", "6692605942"),
+                Arguments.of(new BigInt("-123456789012345678901234567890"), 64,
+                        "-2277375791072698140248390838022561708011411210240", "-6692605943"),
+                Arguments.of(new BigInt("-18446744073709551616"), 64, "-340282366920938463463374607431768211456", "-1")
+        );
+    }
+
+    @Test
+    void testBigIntShiftNegativeDistance() {
+        assertThrows(IllegalArgumentException.class, () -> new BigInt(1).shiftLeft(-1));
+        assertThrows(IllegalArgumentException.class, () -> new BigInt(1).shiftRight(-1));
+        assertThrows(IllegalArgumentException.class, () -> new BigInt(1).testBit(-1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntBits")
+    void testBigIntBits(BigInt number, int bitLength, int lowestSetBit, String bits) {
+        assertEquals(bitLength, number.bitLength());
+        assertEquals(lowestSetBit, number.getLowestSetBit());
+        StringBuilder actual = new StringBuilder();
+        for (int n = bits.length() - 1; n >= 0; n--) {
+            actual.append(number.testBit(n) ? '1' : '0');
+        }
+        assertEquals(bits, actual.toString());
+    }
+
+    private static Stream<Arguments> provideBigIntBits() {
+        return Stream.of(
+                Arguments.of(new BigInt("0"), 0, -1, "0000"),
+                Arguments.of(new BigInt("1"), 1, 0, "0001"),
+                Arguments.of(new BigInt("12"), 4, 2, "01100"),
+                Arguments.of(new BigInt("-1"), 0, 0, "1111"),
+                Arguments.of(new BigInt("-12"), 4, 2, "110100"),
+                Arguments.of(new BigInt("-16"), 4, 4, "110000"),
+                Arguments.of(new BigInt("-9223372036854775808"), 63, 63, "11" + "0".repeat(63)),
+                Arguments.of(new BigInt("18446744073709551616"), 65, 64, "01" + "0".repeat(64)),
+                Arguments.of(new BigInt("-18446744073709551616"), 64, 64, "11" + "0".repeat(64)),
+                Arguments.of(new BigInt("-18446744073709551617"), 65, 0, "10" + "1".repeat(63) + "1")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntBitwise")
+    void testBigIntBitwise(BigInt first, BigInt second, String and, String or, String xor) {
+        assertEquals(and, first.and(second).toString());
+        assertEquals(or, first.or(second).toString());
+        assertEquals(xor, first.xor(second).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntBitwise() {
+        return Stream.of(
+                Arguments.of(new BigInt("12"), new BigInt("10"), "8", "14", "6"),
+                Arguments.of(new BigInt("-12"), new BigInt("10"), "0", "-2", "-2"),
+                Arguments.of(new BigInt("-12"), new BigInt("-10"), "-12", "-10", "2"),
+                Arguments.of(new BigInt("18446744073709551615"), new BigInt("-1"),
+                        "18446744073709551615", "-1", "-18446744073709551616"),
+                Arguments.of(new BigInt("-18446744073709551616"), new BigInt("4294967295"),
+                        "0", "-18446744069414584321", "-18446744069414584321"),
+                Arguments.of(new BigInt("-340282366920938463463374607431768211456"), new BigInt("-18446744073709551617"),
+                        "-340282366920938463463374607431768211456", "-18446744073709551617", "340282366920938463444927863358058659839")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntGcd")
+    void testBigIntGcd(BigInt first, BigInt second, String expected) {
+        assertEquals(expected, first.gcd(second).toString());
+        assertEquals(expected, second.gcd(first).toString());
+
+        BigInt[] extended = first.extendedGcd(second);
+        assertEquals(expected, extended[0].toString());
+        assertEquals(expected, extended[1].multiply(first).add(extended[2].multiply(second)).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntGcd() {
+        BigInt large = new BigInt("123456789012345678901234567890").pow(40);
+        return Stream.of(
+                Arguments.of(new BigInt("0"), new BigInt("0"), "0"),
+                Arguments.of(new BigInt("0"), new BigInt("-15"), "15"),
+                Arguments.of(new BigInt("12"), new BigInt("18"), "6"),
+                Arguments.of(new BigInt("-12"), new BigInt("18"), "6"),
+                Arguments.of(new BigInt("-12"), new BigInt("-18"), "6"),
+                Arguments.of(new BigInt("17"), new BigInt("5"), "1"),
+                Arguments.of(new BigInt("18446744073709551615"), new BigInt("4294967297"), "4294967297"),
+                Arguments.of(new BigInt("1000000007").multiply(new BigInt("998244353")),
+                        new BigInt("1000000007").multiply(new BigInt("1000000009")), "1000000007"),
+                Arguments.of(large, large.divide(new BigInt("30")), large.divide(new BigInt("30")).toString()),
+                Arguments.of(large.add(new BigInt("1")), large, "1")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntModInverse")
+    void testBigIntModInverse(BigInt number, BigInt modulus, String expected) {
+        assertEquals(expected, number.modInverse(modulus).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntModInverse() {
+        BigInt prime = new BigInt("2").pow(521).subtract(new BigInt("1"));
+        return Stream.of(
+                Arguments.of(new BigInt("3"), new BigInt("11"), "4"),
+                Arguments.of(new BigInt("-3"), new BigInt("11"), "7"),
+                Arguments.of(new BigInt("14"), new BigInt("11"), "4"),
+                Arguments.of(new BigInt("5"), new BigInt("1"), "0"),
+                Arguments.of(new BigInt("65537"), new BigInt("18446744073709551616"), "18446462603027742721"),
+                // 2 * 2^520 = 2^521 = 1 (mod 2^521 - 1)
+                Arguments.of(new BigInt("2"), prime, new BigInt("2").pow(520).toString())
+        );
+    }
+
+    @Test
+    void testBigIntModInverseInvalidArguments() {
+        assertThrows(ArithmeticException.class, () -> new BigInt("6").modInverse(new BigInt("9")));
+        assertThrows(ArithmeticException.class, () -> new BigInt("0").modInverse(new BigInt("7")));
+        assertThrows(ArithmeticException.class, () -> new BigInt("3").modInverse(new BigInt("0")));
+        assertThrows(ArithmeticException.class, () -> new BigInt("3").modInverse(new BigInt("-7")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntSqrt")
+    void testBigIntSqrt(BigInt number, String root, String remainder, boolean isPerfectSquare) {
+        BigInt[] rootAndRemainder = number.sqrtAndRemainder();
+        assertEquals(root, number.sqrt().toString());
+        assertEquals(root, rootAndRemainder[0].toString());
+        assertEquals(remainder, rootAndRemainder[1].toString());
+        assertEquals(isPerfectSquare, number.isPerfectSquare());
+    }
+
+    private static Stream<Arguments> provideBigIntSqrt() {
+        BigInt large = new BigInt("123456789012345678901234567890").pow(50);
+        return Stream.of(
+                Arguments.of(new BigInt("0"), "0", "0", true),
+                Arguments.of(new BigInt("1"), "1", "0", true),
+                Arguments.of(new BigInt("2"), "1", "1", false),
+                Arguments.of(new BigInt("99"), "9", "18", false),
+                Arguments.of(new BigInt("18446744073709551615"), "4294967295", "8589934590", false),
+                Arguments.of(new BigInt("18446744073709551616"), "4294967296", "0", true),
+                Arguments.of(large, new BigInt("123456789012345678901234567890").pow(25).toString(), "0", true),
+                Arguments.of(large.add(new BigInt("1")), new BigInt("123456789012345678901234567890").pow(25).toString(), "1", false),
+                Arguments.of(large.subtract(new BigInt("1")), new BigInt("123456789012345678901234567890").pow(25).subtract(new BigInt("1")).toString(),
+                        new BigInt("123456789012345678901234567890").pow(25).multiply(new BigInt("2")).subtract(new BigInt("2")).toString(), false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntNthRoot")
+    void testBigIntNthRoot(BigInt number, int n, String expected) {
+        assertEquals(expected, number.nthRoot(n).toString());
+    }
+
+    private static Stream<Arguments> provideBigIntNthRoot() {
+        BigInt base = new BigInt("98765432109876543210");
+        return Stream.of(
+                Arguments.of(new BigInt("0"), 5, "0"),
+                Arguments.of(new BigInt("-7"), 1, "-7"),
+                Arguments.of(new BigInt("26"), 3, "2"),
+                Arguments.of(new BigInt("27"), 3, "3"),
+                Arguments.of(new BigInt("-28"), 3, "-3"),
+                Arguments.of(new BigInt("1000000"), 100, "1"),
+                Arguments.of(base.pow(7), 7, base.toString()),
+                Arguments.of(base.pow(7).subtract(new BigInt("1")), 7, base.subtract(new BigInt("1")).toString()),
+                Arguments.of(base.pow(7).negate(), 7, base.negate().toString()),
+                Arguments.of(new BigInt("2").pow(1000), 999, "2"),
+                Arguments.of(new BigInt("3").pow(1000), 999, "3")
+        );
+    }
+
+    @Test
+    void testBigIntRootInvalidArguments() {
+        assertThrows(ArithmeticException.class, () -> new BigInt("-4").sqrt());
+        assertThrows(ArithmeticException.class, () -> new BigInt("-16").nthRoot(4));
+        assertThrows(ArithmeticException.class, () -> new BigInt("16").nthRoot(0));
+        assertEquals(false, new BigInt("-4").isPerfectSquare());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntIsProbablePrime")
+    void testBigIntIsProbablePrime(BigInt number, boolean expected) {
+        assertEquals(expected, number.isProbablePrime(100));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(expected, number.isProbablePrime(100, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Stream<Arguments> provideBigIntIsProbablePrime() {
+        BigInt mersenne = new BigInt("2").pow(521).subtract(new BigInt("1"));
+        return Stream.of(
+                Arguments.of(new BigInt("-7"), false),
+                Arguments.of(new BigInt("0"), false),
+                Arguments.of(new BigInt("1"), false),
+                Arguments.of(new BigInt("2"), true),
+                Arguments.of(new BigInt("4093"), true),
+                Arguments.of(new BigInt("4095"), false),
+                Arguments.of(new BigInt("16769023"), true),
+                Arguments.of(new BigInt("4294967291"), true),
+                Arguments.of(new BigInt("4294967297"), false),
+                Arguments.of(mersenne, true),
+                Arguments.of(mersenne.multiply(new BigInt("2").pow(607).subtract(new BigInt("1"))), false),
+                // a Carmichael number and a strong pseudoprime to the first nine prime bases
+                Arguments.of(new BigInt("2465"), false),
+                Arguments.of(new BigInt("3825123056546413051"), false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBigIntNextProbablePrime")
+    void testBigIntNextProbablePrime(BigInt number, String expected) {
+        assertEquals(expected, number.nextProbablePrime().toString());
+    }
+
+    private static Stream<Arguments> provideBigIntNextProbablePrime() {
+        return Stream.of(
+                Arguments.of(new BigInt("0"), "2"),
+                Arguments.of(new BigInt("2"), "3"),
+                Arguments.of(new BigInt("4092"), "4093"),
+                Arguments.of(new BigInt("4093"), "4099"),
+                Arguments.of(new BigInt("4294967291"), "4294967311"),
+                Arguments.of(new BigInt("10").pow(30), "1000000000000000000000000000057"),
+                Arguments.of(new BigInt("2").pow(127).subtract(new BigInt("2")), new BigInt("2").pow(127).subtract(new BigInt("1")).toString())
+        );
+    }
+
+    @Test
+    void testBigIntProbablePrime() {
+        Random random = new Random(42);
+        for (int bitLength : new int[]{2, 3, 12, 13, 64, 256}) {
+            BigInt prime = BigInt.probablePrime(bitLength, random);
+            assertEquals(true, prime.isProbablePrime(100));
+            assertEquals(true, prime.isLessThan(new BigInt("2").pow(bitLength)));
+            assertEquals(true, prime.isGreaterThanOrEquals(new BigInt("2").pow(bitLength - 1)));
+        }
+        assertThrows(ArithmeticException.class, () -> BigInt.probablePrime(1, random));
+        assertThrows(ArithmeticException.class, () -> new BigInt("-5").nextProbablePrime());
+    }
+}
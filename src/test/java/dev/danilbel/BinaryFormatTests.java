@@ -0,0 +1,165 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryFormatTests {
+
+    private static BigInt random(Random random, int limbs) {
+        BigInt value = new BigInt(0);
+        BigInt base = new BigInt("4294967296");
+        for (int i = 0; i < limbs; i++) {
+            value = value.multiply(base).add(new BigInt(random.nextInt(Integer.MAX_VALUE)));
+        }
+        return random.nextBoolean() ? value.negate() : value;
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideEncodings")
+    void testToByteArray(String number, byte[] expected) {
+        assertArrayEquals(expected, new BigInt(number).toByteArray());
+        assertEquals(number, BigInt.fromByteArray(expected).toString());
+    }
+
+    private static Stream<Arguments> provideEncodings() {
+        return Stream.of(
+                Arguments.of("0", new byte[]{0, 0, 0, 0}),
+                Arguments.of("1", new byte[]{1, 0, 0, 0, 1, 0, 0, 0}),
+                Arguments.of("-1", new byte[]{1, 0, 0, (byte) 0x80, 1, 0, 0, 0}),
+                Arguments.of("4294967296", new byte[]{2, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0}),
+                Arguments.of("-305419896", new byte[]{1, 0, 0, (byte) 0x80, 0x78, 0x56, 0x34, 0x12})
+        );
+    }
+
+    @Test
+    void testFromByteArrayNormalizes() {
+        assertEquals("0", BigInt.fromByteArray(new byte[]{0, 0, 0, (byte) 0x80}).toString());
+        assertEquals("5", BigInt.fromByteArray(new byte[]{2, 0, 0, 0, 5, 0, 0, 0, 0, 0, 0, 0}).toString());
+    }
+
+    @Test
+    void testFromByteArrayMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> BigInt.fromByteArray(new byte[]{1, 0}));
+        assertThrows(IllegalArgumentException.class, () -> BigInt.fromByteArray(new byte[]{2, 0, 0, 0, 5, 0, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> BigInt.fromByteArray(new byte[]{1, 0, 0, 0, 5, 0, 0, 0, 0}));
+    }
+
+    @Test
+    void testByteBufferRoundTrip() {
+        Random random = new Random(1);
+        List<BigInt> values = new ArrayList<>();
+        int size = 0;
+        for (int limbs : new int[]{0, 1, 2, 31, 32, 33, 500}) {
+            BigInt value = random(random, limbs);
+            values.add(value);
+            size += value.serializedSize();
+        }
+
+        for (ByteBuffer buffer : Arrays.asList(ByteBuffer.allocate(size + 3), ByteBuffer.allocateDirect(size + 3))) {
+            buffer.order(ByteOrder.BIG_ENDIAN).position(3);
+            for (BigInt value : values) {
+                value.writeTo(buffer);
+            }
+            assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+
+            buffer.flip().position(3);
+            for (BigInt value : values) {
+                assertEquals(value.toString(), BigInt.readFrom(buffer).toString());
+            }
+            assertEquals(size + 3, buffer.position());
+        }
+    }
+
+    @Test
+    void testByteBufferBounds() {
+        BigInt value = new BigInt("-123456789012345678901234567890");
+        ByteBuffer small = ByteBuffer.allocate(value.serializedSize() - 1);
+        assertThrows(BufferOverflowException.class, () -> value.writeTo(small));
+        assertEquals(0, small.position());
+
+        ByteBuffer encoded = ByteBuffer.wrap(value.toByteArray(), 0, value.serializedSize() - 1);
+        assertThrows(BufferUnderflowException.class, () -> BigInt.readFrom(encoded));
+        assertEquals(0, encoded.position());
+    }
+
+    @Test
+    void testBulkStreamRoundTrip() throws IOException {
+        Random random = new Random(2);
+        List<BigInt> values = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            values.add(random(random, random.nextInt(8)));
+        }
+        // larger than the stream buffer
+        values.add(new BigInt("7").pow(4_000_000));
+        values.add(new BigInt(0));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BigIntOutput output = new BigIntOutput(bytes)) {
+            for (BigInt value : values) {
+                output.write(value);
+            }
+        }
+
+        try (BigIntInput input = new BigIntInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (BigInt value : values) {
+                assertEquals(0, Arrays.compare(value.toByteArray(), input.read().toByteArray()));
+            }
+            assertNull(input.read());
+        }
+    }
+
+    @Test
+    void testBulkStreamMalformed() throws IOException {
+        assertThrows(IOException.class, () -> new BigIntInput(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 1, 0, 0, 0})));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BigIntOutput output = new BigIntOutput(bytes)) {
+            output.write(new BigInt("-123456789012345678901234567890"));
+        }
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        BigIntInput input = new BigIntInput(new ByteArrayInputStream(truncated));
+        assertThrows(EOFException.class, input::read);
+    }
+
+    @Test
+    void testBulkStreamWithHugeLengthIsTruncated() throws IOException {
+        // a header claiming 2^31 - 1 limbs followed by a single limb
+        ByteBuffer stream = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        stream.putInt(BigIntOutput.MAGIC).putInt(BigIntOutput.VERSION).putInt(Integer.MAX_VALUE).putInt(1);
+        BigIntInput input = new BigIntInput(new ByteArrayInputStream(stream.array()));
+        assertThrows(EOFException.class, input::read);
+    }
+
+    @Test
+    void testBulkStreamFlushReachesTheStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BigIntOutput output = new BigIntOutput(new BufferedOutputStream(bytes));
+        output.write(new BigInt("123456789012345678901234567890"));
+        output.flush();
+        try (BigIntInput input = new BigIntInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals("123456789012345678901234567890", input.read().toString());
+        }
+    }
+}
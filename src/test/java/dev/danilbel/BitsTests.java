@@ -0,0 +1,108 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitsTests {
+
+    private static final BigInt ONE = new BigInt(1);
+    private static final BigInt TWO = new BigInt(2);
+
+
+    private static BigInt randomValue(Random random, int length) {
+        // zero limbs make the borrows of the two's complement run further
+        return TestValues.randomValue(random,
+                TestValues.randomLimbs(length, () -> random.nextInt(4) == 0 ? 0 : random.nextInt()));
+    }
+
+    private static void assertSame(BigInt expected, BigInt actual, String message) {
+        assertTrue(expected.isEqualsTo(actual), message + ": expected " + expected + " but was " + actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLengths")
+    void testShiftsMatchPowersOfTwo(int length) {
+        Random random = new Random(length);
+        for (int round = 0; round < 20; round++) {
+            BigInt x = randomValue(random, length);
+            int bits = random.nextInt(40 * length + 1);
+            BigInt power = TWO.pow(bits);
+            assertSame(x.multiply(power), x.shiftLeft(bits), "shiftLeft");
+            // floor division: the truncated quotient moves down by one when a negative value leaves a remainder
+            BigInt[] quotientAndRemainder = x.divideAndRemainder(power);
+            BigInt floor = x.isNegative() && !quotientAndRemainder[1].isEqualsTo(new BigInt(0))
+                    ? quotientAndRemainder[0].subtract(ONE) : quotientAndRemainder[0];
+            assertSame(floor, x.shiftRight(bits), "shiftRight");
+            assertSame(x, x.shiftLeft(bits).shiftRight(bits), "round trip");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLengths")
+    void testBitwiseIdentities(int length) {
+        Random random = new Random(31L * length);
+        for (int round = 0; round < 20; round++) {
+            BigInt x = randomValue(random, length);
+            BigInt y = randomValue(random, 1 + random.nextInt(length + 1));
+            BigInt and = x.and(y);
+            BigInt or = x.or(y);
+            BigInt xor = x.xor(y);
+            assertSame(x.add(y), xor.add(and.shiftLeft(1)), "x + y = (x ^ y) + 2 (x & y)");
+            assertSame(xor, or.subtract(and), "x ^ y = (x | y) - (x & y)");
+            assertSame(x, x.and(ONE.negate()), "x & -1");
+            assertSame(x.negate().subtract(ONE), x.xor(ONE.negate()), "x ^ -1 = ~x");
+            for (int n = 0; n < 32 * length + 40; n += 1 + random.nextInt(8)) {
+                assertEquals(x.testBit(n) && y.testBit(n), and.testBit(n), "bit " + n);
+                assertEquals(x.testBit(n) != y.testBit(n), xor.testBit(n), "bit " + n);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLengths")
+    void testBitLengthAndLowestSetBit(int length) {
+        Random random = new Random(7L * length);
+        for (int round = 0; round < 20; round++) {
+            BigInt x = randomValue(random, length);
+            int bitLength = x.bitLength();
+            // bitLength is the first bit from which every bit equals the sign
+            assertEquals(x.isNegative(), x.testBit(bitLength));
+            if (bitLength > 0) {
+                assertEquals(!x.isNegative(), x.testBit(bitLength - 1));
+            }
+            int lowest = x.getLowestSetBit();
+            if (lowest >= 0) {
+                assertTrue(x.testBit(lowest));
+                assertSame(x, x.shiftRight(lowest).shiftLeft(lowest), "trailing zeros");
+            }
+        }
+    }
+
+    private static Stream<Arguments> provideLengths() {
+        return Stream.of(
+                Arguments.of(1),
+                Arguments.of(2),
+                Arguments.of(3),
+                Arguments.of(10),
+                Arguments.of(100)
+        );
+    }
+
+    @Test
+    void testLowBits() {
+        int[] x = {0xFFFFFFFF, 0xFFFFFFFF, 1};
+        assertEquals(0, Limbs.normalizedLength(Bits.lowBits(x, 3, 0), 0));
+        assertEquals(0x1F, Bits.lowBits(x, 3, 5)[0]);
+        assertEquals(2, Bits.lowBits(x, 3, 33).length);
+        assertEquals(1, Bits.lowBits(x, 3, 33)[1]);
+        assertEquals(3, Bits.lowBits(x, 3, 200).length);
+    }
+}
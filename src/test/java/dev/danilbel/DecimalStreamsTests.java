@@ -0,0 +1,116 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DecimalStreamsTests {
+
+    private static String randomDigits(int digits, long seed) {
+        Random random = new Random(seed);
+        StringBuilder result = new StringBuilder().append((char) ('1' + random.nextInt(9)));
+        for (int i = 1; i < digits; i++) {
+            result.append((char) ('0' + random.nextInt(10)));
+        }
+        return result.toString();
+    }
+
+    // a mapped file cannot be deleted on every platform until its buffer is collected
+    private static Path temporaryFile(String content) throws IOException {
+        Path file = Files.createTempFile("bigint", ".txt");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private static Stream<Arguments> provideNumbers() {
+        return Stream.of(
+                Arguments.of("0"),
+                Arguments.of("-7"),
+                Arguments.of("123456789"),
+                Arguments.of("-1234567890"),
+                Arguments.of("1" + "0".repeat(9000)),
+                Arguments.of(randomDigits(20000, 1)),
+                Arguments.of("-" + randomDigits(60001, 2))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideNumbers")
+    void testReadFromReader(String number) throws IOException {
+        assertEquals(number, BigInt.read(new StringReader(number)).toString());
+        assertEquals(number, BigInt.read(new StringReader(number + "\r\n")).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideNumbers")
+    void testReadFromInputStream(String number) throws IOException {
+        byte[] bytes = (number + "\n").getBytes(StandardCharsets.US_ASCII);
+        assertEquals(number, BigInt.read(new ByteArrayInputStream(bytes)).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideNumbers")
+    void testReadFromPath(String number) throws IOException {
+        Path file = temporaryFile(number + "\n");
+        assertEquals(number, BigInt.read(file).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideNumbers")
+    void testWriteTo(String number) throws IOException {
+        BigInt value = new BigInt(number);
+
+        StringWriter writer = new StringWriter();
+        value.writeTo(writer);
+        assertEquals(number, writer.toString());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        value.writeTo(output);
+        assertEquals(number, output.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testReadNegativeZero() throws IOException {
+        assertEquals("0", BigInt.read(new StringReader("-000")).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidInput")
+    void testReadInvalidInput(String input) throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> BigInt.read(new StringReader(input)));
+        assertThrows(IllegalArgumentException.class,
+                () -> BigInt.read(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))));
+
+        Path file = temporaryFile(input);
+        assertThrows(IllegalArgumentException.class, () -> BigInt.read(file));
+    }
+
+    private static Stream<Arguments> provideInvalidInput() {
+        return Stream.of(
+                Arguments.of(""),
+                Arguments.of("-"),
+                Arguments.of("\n"),
+                Arguments.of(" 123"),
+                Arguments.of("12 3"),
+                Arguments.of("123\n4"),
+                Arguments.of("1-23"),
+                Arguments.of("123.0"),
+                Arguments.of("\u0661\u0662")
+        );
+    }
+}
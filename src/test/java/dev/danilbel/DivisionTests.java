@@ -0,0 +1,76 @@
+package dev.danilbel;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DivisionTests {
+
+    private static final int[] EDGE_LIMBS = {0, 1, 0x7FFFFFFF, 0x80000000, 0xFFFFFFFF, 0xFFFFFFFE};
+
+    private static int[] randomLimbs(Random random, int length, boolean edgeLimbs) {
+        return edgeLimbs
+                ? TestValues.randomLimbs(length, () -> EDGE_LIMBS[random.nextInt(EDGE_LIMBS.length)])
+                : TestValues.randomLimbs(random, length);
+    }
+
+    private static void assertDivision(int[] u, int[] v, int[][] quotientAndRemainder) {
+        int[] quotient = TestValues.trimmed(quotientAndRemainder[0]);
+        int[] remainder = TestValues.trimmed(quotientAndRemainder[1]);
+        assertTrue(Limbs.compare(remainder, remainder.length, v, v.length) < 0, "remainder is not below the divisor");
+
+        int[] product = Multiplication.multiply(quotient, quotient.length, v, v.length);
+        int[] restored = Limbs.add(product, product.length, remainder, remainder.length);
+        assertArrayEquals(TestValues.trimmed(u), TestValues.trimmed(restored));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperandLengths")
+    void testKnuthDivisionRestoresDividend(int uLength, int vLength) {
+        Random random = new Random(101L * uLength + vLength);
+        for (int round = 0; round < 50; round++) {
+            boolean edgeLimbs = round % 2 == 0;
+            int[] u = randomLimbs(random, uLength, edgeLimbs);
+            int[] v = randomLimbs(random, vLength, edgeLimbs);
+            assertDivision(u, v, Division.divideAndRemainder(u, u.length, v, v.length));
+        }
+    }
+
+    private static Stream<Arguments> provideOperandLengths() {
+        return Stream.of(
+                Arguments.of(1, 1),
+                Arguments.of(5, 1),
+                Arguments.of(2, 2),
+                Arguments.of(3, 2),
+                Arguments.of(4, 3),
+                Arguments.of(10, 9),
+                Arguments.of(40, 7),
+                Arguments.of(128, 64),
+                // recursive division
+                Arguments.of(300, 150),
+                Arguments.of(1000, 700),
+                Arguments.of(2400, 81),
+                Arguments.of(5000, 2000)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideAddBackCases")
+    void testKnuthDivisionAddBack(int[] u, int[] v) {
+        assertDivision(u, v, Division.divideAndRemainder(u, u.length, v, v.length));
+    }
+
+    private static Stream<Arguments> provideAddBackCases() {
+        return Stream.of(
+                // the estimated quotient limb overshoots by one and the partial remainder goes negative
+                Arguments.of(new int[]{0, 0xFFFE, 0, 0x8000}, new int[]{0xFFFF, 0, 0x8000}),
+                Arguments.of(new int[]{3, 0, 0x80000000}, new int[]{1, 0, 0x20000000})
+        );
+    }
+}
@@ -0,0 +1,123 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FactorialsTests {
+
+    private static BigInt factorialByLoop(int n) {
+        BigInt result = BigInt.valueOf(1);
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInt.valueOf(i));
+        }
+        return result;
+    }
+
+    private static boolean isPrimeByTrialDivision(int n) {
+        if (n < 2) {
+            return false;
+        }
+        for (int d = 2; d * d <= n; d++) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideArguments")
+    void testFactorialMatchesLoop(int n) {
+        assertEquals(factorialByLoop(n).toString(), BigInt.factorial(n).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideArguments")
+    void testBinomialTimesFactorialsIsFactorial(int n) {
+        BigInt factorial = factorialByLoop(n);
+        for (int k : new int[]{0, 1, n / 3, n / 2, n - 1, n}) {
+            if (k < 0 || k > n) {
+                continue;
+            }
+            BigInt product = BigInt.binomial(n, k).multiply(factorialByLoop(k)).multiply(factorialByLoop(n - k));
+            assertEquals(factorial.toString(), product.toString(), "k = " + k);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideArguments")
+    void testPrimorialMatchesTrialDivision(int n) {
+        BigInt expected = BigInt.valueOf(1);
+        for (int i = 2; i <= n; i++) {
+            if (isPrimeByTrialDivision(i)) {
+                expected = expected.multiply(BigInt.valueOf(i));
+            }
+        }
+        assertEquals(expected.toString(), BigInt.primorial(n).toString());
+    }
+
+    private static Stream<Arguments> provideArguments() {
+        return Stream.of(
+                Arguments.of(0),
+                Arguments.of(1),
+                Arguments.of(2),
+                Arguments.of(20),
+                // the first factorial past a long
+                Arguments.of(21),
+                Arguments.of(64),
+                Arguments.of(1000),
+                // primes past the first sieve, which ends at 4096
+                Arguments.of(5003),
+                Arguments.of(10000)
+        );
+    }
+
+    @Test
+    void testSmallBinomials() {
+        assertEquals("1", BigInt.binomial(0, 0).toString());
+        assertEquals("10", BigInt.binomial(5, 2).toString());
+        assertEquals("0", BigInt.binomial(5, 6).toString());
+        assertEquals("0", BigInt.binomial(5, -1).toString());
+        assertEquals("100891344545564193334812497256", BigInt.binomial(100, 50).toString());
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            assertEquals("2", BigInt.binomial(2, 1, pool).toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testPrimesUpToGrowsTheSieve() {
+        int[] primes = Primes.primesUpTo(20000);
+        assertTrue(primes[primes.length - 1] >= 19997);
+        assertEquals(2262, Arrays.stream(primes).filter(p -> p <= 20000).count());
+    }
+
+    @Test
+    void testPublicPrimesUpToEndsAtTheLimit() {
+        assertArrayEquals(new int[0], BigInt.primesUpTo(1));
+        assertArrayEquals(new int[]{2, 3, 5, 7}, BigInt.primesUpTo(7));
+        assertArrayEquals(new int[]{2, 3, 5, 7}, BigInt.primesUpTo(10));
+        assertEquals(78498, BigInt.primesUpTo(1_000_000).length);
+    }
+
+    @Test
+    void testNegativeArguments() {
+        assertThrows(ArithmeticException.class, () -> BigInt.factorial(-1));
+        assertThrows(ArithmeticException.class, () -> BigInt.binomial(-1, 0));
+        assertThrows(ArithmeticException.class, () -> BigInt.primorial(-1));
+        assertThrows(ArithmeticException.class, () -> BigInt.primesUpTo(-1));
+    }
+}
@@ -0,0 +1,90 @@
+package dev.danilbel;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GcdTests {
+
+    private static int[] remainder(int[] x, int[] y) {
+        return TestValues.trimmed(Division.divideAndRemainder(x, x.length, y, y.length)[1]);
+    }
+
+    /**
+     * {@code g} divides both operands and {@code s * x = g (mod y)}, so every common divisor divides {@code g}.
+     */
+    private static void assertExtendedGcd(int[] x, int[] y, int[][] gcdAndCofactor) {
+        int[] gcd = gcdAndCofactor[0];
+        int[] cofactor = gcdAndCofactor[1];
+        assertEquals(0, remainder(x, gcd).length, "gcd does not divide x");
+        assertEquals(0, remainder(y, gcd).length, "gcd does not divide y");
+        assertTrue(Limbs.compare(cofactor, cofactor.length, y, y.length) < 0, "cofactor is not below y");
+
+        int[] product = cofactor.length == 0 ? Limbs.EMPTY : TestValues.trimmed(Multiplication.multiply(cofactor, cofactor.length, x, x.length));
+        assertArrayEquals(remainder(gcd, y), remainder(product, y));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperandLengths")
+    void testGcdOfRandomOperands(int xLength, int yLength, int commonLength) {
+        Random random = new Random(31L * xLength + 7L * yLength + commonLength);
+        for (int round = 0; round < 5; round++) {
+            int[] common = TestValues.randomLimbs(random, commonLength);
+            int[] x = TestValues.trimmed(Multiplication.multiply(TestValues.randomLimbs(random, xLength), xLength, common, commonLength));
+            int[] y = TestValues.trimmed(Multiplication.multiply(TestValues.randomLimbs(random, yLength), yLength, common, commonLength));
+
+            int[][] gcdAndCofactor = Gcd.extendedGcd(x, x.length, y, y.length);
+            assertExtendedGcd(x, y, gcdAndCofactor);
+            assertArrayEquals(gcdAndCofactor[0], Gcd.gcd(x, x.length, y, y.length));
+        }
+    }
+
+    private static Stream<Arguments> provideOperandLengths() {
+        return Stream.of(
+                Arguments.of(1, 1, 1),
+                Arguments.of(2, 1, 1),
+                Arguments.of(3, 3, 1),
+                Arguments.of(10, 1, 2),
+                Arguments.of(10, 12, 3),
+                Arguments.of(60, 60, 1),
+                // half-GCD
+                Arguments.of(200, 200, 1),
+                Arguments.of(400, 300, 20),
+                Arguments.of(1200, 1200, 150),
+                Arguments.of(2000, 100, 5)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideConsecutiveFibonacci")
+    void testGcdOfConsecutiveFibonacciNumbers(int index) {
+        // every Euclidean quotient is 1, the worst case for Lehmer's algorithm
+        int[] previous = {1};
+        int[] current = {1};
+        for (int i = 2; i < index; i++) {
+            int[] next = TestValues.trimmed(Limbs.add(previous, previous.length, current, current.length));
+            previous = current;
+            current = next;
+        }
+
+        int[][] gcdAndCofactor = Gcd.extendedGcd(current, current.length, previous, previous.length);
+        assertArrayEquals(new int[]{1}, gcdAndCofactor[0]);
+        assertExtendedGcd(current, previous, gcdAndCofactor);
+    }
+
+    private static Stream<Arguments> provideConsecutiveFibonacci() {
+        return Stream.of(
+                Arguments.of(3),
+                Arguments.of(93),
+                Arguments.of(1000),
+                Arguments.of(20000)
+        );
+    }
+}
@@ -0,0 +1,91 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModularContextTests {
+
+    private static Stream<Arguments> provideModuli() {
+        return Stream.of(
+                Arguments.of("2"),
+                Arguments.of("3"),
+                Arguments.of("4294967291"),
+                Arguments.of("4294967296"),
+                Arguments.of("18446744073709551617"),
+                Arguments.of("340282366920938463463374607431768211456"),
+                Arguments.of("9".repeat(300)),
+                Arguments.of("1" + "0".repeat(299))
+        );
+    }
+
+    private static BigInt randomResidue(Random random, BigInt modulus) {
+        int length = modulus.length() + 1;
+        return new BigInt(TestValues.randomLimbs(random, length), length, random.nextBoolean()).mod(modulus);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideModuli")
+    void testMultiplyMatchesMod(String value) {
+        BigInt modulus = new BigInt(value);
+        ModularContext context = ModularContext.forModulus(modulus);
+        Random random = new Random(value.length());
+        for (int i = 0; i < 50; i++) {
+            BigInt x = randomResidue(random, modulus);
+            BigInt y = randomResidue(random, modulus);
+            BigInt product = context.multiply(context.toDomain(x), context.toDomain(y));
+            assertEquals(x.multiply(y).mod(modulus).toString(), context.fromDomain(product).toString());
+            BigInt square = context.square(context.toDomain(x));
+            assertEquals(x.square().mod(modulus).toString(), context.fromDomain(square).toString());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideModuli")
+    void testDomainRoundTrip(String value) {
+        BigInt modulus = new BigInt(value);
+        ModularContext context = ModularContext.forModulus(modulus);
+        Random random = new Random(value.length());
+        for (int i = 0; i < 20; i++) {
+            BigInt x = randomResidue(random, modulus);
+            assertEquals(x.toString(), context.fromDomain(context.toDomain(x)).toString());
+        }
+        assertEquals("1", context.fromDomain(context.one()).toString());
+        assertEquals("0", context.fromDomain(context.toDomain(modulus)).toString());
+        assertEquals(modulus.subtract(BigInt.valueOf(1)).toString(),
+                context.fromDomain(context.toDomain(BigInt.valueOf(-1))).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideModuli")
+    void testPowMatchesModPow(String value) {
+        BigInt modulus = new BigInt(value);
+        ModularContext context = ModularContext.forModulus(modulus);
+        Random random = new Random(value.length());
+        for (int i = 0; i < 10; i++) {
+            BigInt x = randomResidue(random, modulus);
+            BigInt exponent = new BigInt(TestValues.randomLimbs(random, 1 + i % 3), 1 + i % 3, false);
+            BigInt power = context.pow(context.toDomain(x), exponent);
+            assertEquals(x.modPow(exponent, modulus).toString(), context.fromDomain(power).toString());
+        }
+        assertEquals("1", context.fromDomain(context.pow(context.toDomain(BigInt.valueOf(0)), BigInt.valueOf(0))).toString());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(ArithmeticException.class, () -> ModularContext.forModulus(BigInt.valueOf(1)));
+        assertThrows(ArithmeticException.class, () -> ModularContext.forModulus(BigInt.valueOf(-7)));
+
+        ModularContext context = ModularContext.forModulus(BigInt.valueOf(7));
+        assertThrows(IllegalArgumentException.class, () -> context.multiply(BigInt.valueOf(7), BigInt.valueOf(1)));
+        assertThrows(IllegalArgumentException.class, () -> context.square(BigInt.valueOf(-1)));
+        assertThrows(ArithmeticException.class, () -> context.pow(BigInt.valueOf(1), BigInt.valueOf(-1)));
+    }
+}
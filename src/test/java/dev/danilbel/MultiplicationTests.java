@@ -0,0 +1,177 @@
+package dev.danilbel;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MultiplicationTests {
+
+    private static int[] allOnes(int length) {
+        int[] limbs = new int[length];
+        Arrays.fill(limbs, -1);
+        return limbs;
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperandLengths")
+    void testKaratsubaMatchesSchoolbook(int xLength, int yLength, int threshold) {
+        Random random = new Random(31L * xLength + yLength);
+        int[] x = TestValues.randomLimbs(random, xLength);
+        int[] y = TestValues.randomLimbs(random, yLength);
+
+        int[] expected = Limbs.multiply(x, xLength, y, yLength);
+        int[] actual = Multiplication.multiply(x, xLength, y, yLength, threshold);
+        assertArrayEquals(TestValues.trimmed(expected), TestValues.trimmed(actual));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperandLengths")
+    void testKaratsubaSquareMatchesSchoolbook(int xLength, int yLength, int threshold) {
+        Random random = new Random(17L * xLength + yLength);
+        int[] x = TestValues.randomLimbs(random, xLength);
+
+        int[] expected = Limbs.multiply(x, xLength, x, xLength);
+        assertArrayEquals(TestValues.trimmed(expected), TestValues.trimmed(Limbs.square(x, xLength)));
+        assertArrayEquals(TestValues.trimmed(expected), TestValues.trimmed(Multiplication.square(x, xLength, threshold)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperandLengths")
+    void testKaratsubaWithMaximalLimbs(int xLength, int yLength, int threshold) {
+        int[] x = allOnes(xLength);
+        int[] y = allOnes(yLength);
+
+        int[] expected = Limbs.multiply(x, xLength, y, yLength);
+        assertArrayEquals(TestValues.trimmed(expected), TestValues.trimmed(Multiplication.multiply(x, xLength, y, yLength, threshold)));
+        assertArrayEquals(TestValues.trimmed(Limbs.square(x, xLength)), TestValues.trimmed(Multiplication.square(x, xLength, threshold)));
+    }
+
+    private static Stream<Arguments> provideOperandLengths() {
+        return Stream.of(
+                // balanced operands
+                Arguments.of(2, 2, 2),
+                Arguments.of(3, 3, 2),
+                Arguments.of(17, 16, 2),
+                Arguments.of(64, 64, 8),
+                Arguments.of(257, 255, 16),
+                // unbalanced operands
+                Arguments.of(5, 2, 2),
+                Arguments.of(100, 7, 4),
+                Arguments.of(7, 100, 4),
+                Arguments.of(1000, 130, 32)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideNttOperandLengths")
+    void testNttMatchesSchoolbook(int xLength, int yLength) {
+        Random random = new Random(7L * xLength + yLength);
+        int[] x = TestValues.randomLimbs(random, xLength);
+        int[] y = TestValues.randomLimbs(random, yLength);
+
+        int[] expected = Limbs.multiply(x, xLength, y, yLength);
+        assertArrayEquals(TestValues.trimmed(expected), TestValues.trimmed(Ntt.multiply(x, xLength, y, yLength)));
+        assertArrayEquals(TestValues.trimmed(Limbs.square(x, xLength)), TestValues.trimmed(Ntt.square(x, xLength)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideNttOperandLengths")
+    void testNttWithMaximalLimbs(int xLength, int yLength) {
+        int[] x = allOnes(xLength);
+        int[] y = allOnes(yLength);
+
+        int[] expected = Limbs.multiply(x, xLength, y, yLength);
+        assertArrayEquals(TestValues.trimmed(expected), TestValues.trimmed(Ntt.multiply(x, xLength, y, yLength)));
+    }
+
+    private static Stream<Arguments> provideNttOperandLengths() {
+        return Stream.of(
+                Arguments.of(1, 1),
+                Arguments.of(2, 1),
+                Arguments.of(33, 31),
+                Arguments.of(1024, 1024),
+                Arguments.of(1500, 3),
+                Arguments.of(4000, 2500),
+                Arguments.of(12000, 9000)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideVectorOperandLengths")
+    void testVectorKernelsMatchScalar(int xLength, int yLength) {
+        assumeTrue(Limbs.VECTORIZED, "jdk.incubator.vector is not available");
+        Random random = new Random(11L * xLength + yLength);
+        for (int[][] operands : new int[][][]{
+                {TestValues.randomLimbs(random, xLength), TestValues.randomLimbs(random, yLength)},
+                {allOnes(xLength), allOnes(yLength)}}) {
+            int[] x = operands[0];
+            int[] y = operands[1];
+
+            // scratch columns left over from an earlier product must not leak into this one
+            long[] columns = new long[3 * (xLength + yLength) + 3 * 2 * xLength];
+            Arrays.fill(columns, -1);
+
+            // Karatsuba down to a few limbs only ever uses the scalar kernels
+            int[] product = new int[xLength + yLength];
+            VectorLimbs.multiplyInto(x, xLength, y, yLength, product, columns);
+            assertArrayEquals(TestValues.trimmed(Multiplication.multiply(x, xLength, y, yLength, 2)), TestValues.trimmed(product));
+
+            int[] square = new int[2 * xLength];
+            VectorLimbs.squareInto(x, xLength, square, columns);
+            assertArrayEquals(TestValues.trimmed(Multiplication.square(x, xLength, 2)), TestValues.trimmed(square));
+        }
+    }
+
+    private static Stream<Arguments> provideVectorOperandLengths() {
+        return Stream.of(
+                // shorter than a vector
+                Arguments.of(1, 1),
+                Arguments.of(3, 2),
+                // whole vectors and a scalar tail
+                Arguments.of(16, 16),
+                Arguments.of(17, 33),
+                Arguments.of(100, 7),
+                Arguments.of(257, 255),
+                Arguments.of(1000, 130)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideParallelOperandLengths")
+    void testParallelMatchesSequential(int xLength, int yLength) {
+        Random random = new Random(13L * xLength + yLength);
+        int[] x = TestValues.randomLimbs(random, xLength);
+        int[] y = TestValues.randomLimbs(random, yLength);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(TestValues.trimmed(Multiplication.multiply(x, xLength, y, yLength)),
+                    TestValues.trimmed(ParallelMultiplication.multiply(x, xLength, y, yLength, pool)));
+            assertArrayEquals(TestValues.trimmed(Multiplication.square(x, xLength)),
+                    TestValues.trimmed(ParallelMultiplication.square(x, xLength, pool)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Stream<Arguments> provideParallelOperandLengths() {
+        return Stream.of(
+                // below the parallel threshold
+                Arguments.of(100, 90),
+                // Karatsuba sub-products as tasks
+                Arguments.of(2500, 2000),
+                // chunk products of an unbalanced multiplication as tasks
+                Arguments.of(20000, 1500),
+                // sliced NTT stages and recombination
+                Arguments.of(40000, 35000)
+        );
+    }
+}
@@ -0,0 +1,178 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MutableBigIntTests {
+
+    private static Stream<Arguments> provideOperands() {
+        return Stream.of(
+                Arguments.of("0", "0"),
+                Arguments.of("0", "-5"),
+                Arguments.of("5", "0"),
+                Arguments.of("4294967295", "1"),
+                Arguments.of("-4294967296", "1"),
+                Arguments.of("18446744073709551615", "-18446744073709551615"),
+                Arguments.of("123456789012345678901234567890", "-987654321098765432109876543210"),
+                Arguments.of("-340282366920938463463374607431768211456", "340282366920938463463374607431768211455"),
+                Arguments.of("9".repeat(600), "-" + "8".repeat(450))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperands")
+    void testAddInPlace(String first, String second) {
+        BigInt x = new BigInt(first);
+        BigInt y = new BigInt(second);
+        assertEquals(x.add(y).toString(), new MutableBigInt(x).addInPlace(y).toString());
+        assertEquals(x.add(y).toString(), new MutableBigInt(x).addInPlace(new MutableBigInt(y)).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperands")
+    void testSubtractInPlace(String first, String second) {
+        BigInt x = new BigInt(first);
+        BigInt y = new BigInt(second);
+        assertEquals(x.subtract(y).toString(), new MutableBigInt(x).subtractInPlace(y).toString());
+        assertEquals(y.subtract(x).toString(), new MutableBigInt(y).subtractInPlace(new MutableBigInt(x)).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperands")
+    void testMultiplyInPlace(String first, String second) {
+        BigInt x = new BigInt(first);
+        BigInt y = new BigInt(second);
+        assertEquals(x.multiply(y).toString(), new MutableBigInt(x).multiplyInPlace(y).toString());
+
+        MutableBigInt self = new MutableBigInt(x);
+        assertEquals(x.square().toString(), self.multiplyInPlace(self).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperands")
+    void testMagnitudeOperations(String first, String second) {
+        BigInt x = new BigInt(first).abs();
+        BigInt y = new BigInt(second).abs();
+        MutableBigInt value = new MutableBigInt(x.limbs(), x.length());
+        value.multiplyInPlace(y.limbs(), y.length()).squareInPlace();
+        BigInt expected = x.multiply(y).square();
+        assertEquals(expected.toString(), value.toString());
+        assertEquals(expected.length(), value.toLimbs().length);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperands")
+    void testLinearCombinations(String first, String second) {
+        BigInt x = new BigInt(first).abs();
+        BigInt y = new BigInt(second).abs();
+        BigInt p = BigInt.valueOf(Integer.MAX_VALUE);
+        BigInt q = BigInt.valueOf(12345);
+        // a larger previous value checks that its high limbs are cleared
+        MutableBigInt result = new MutableBigInt(new BigInt("7".repeat(1500)));
+        assertEquals(p.multiply(x).add(q.multiply(y)).toString(),
+                result.setLinearSum(new MutableBigInt(x), Integer.MAX_VALUE, new MutableBigInt(y), 12345).toString());
+
+        BigInt larger = x.isGreaterThanOrEquals(y) ? x : y;
+        BigInt smaller = larger == x ? y : x;
+        assertEquals(p.multiply(larger).subtract(q.multiply(smaller)).toString(), result.setLinearDifference(
+                new MutableBigInt(larger), Integer.MAX_VALUE, new MutableBigInt(smaller), 12345).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperands")
+    void testDivideAndNegateInPlace(String first, String second) {
+        BigInt x = new BigInt(first);
+        BigInt quotient = x.abs().divide(BigInt.valueOf(1000003));
+        BigInt expected = x.isLessThan(BigInt.valueOf(0)) ? quotient.negate() : quotient;
+        assertEquals(expected.toString(), new MutableBigInt(x).divideInPlace(1000003).toString());
+        assertEquals(x.negate().toString(), new MutableBigInt(x).negateInPlace().toString());
+    }
+
+    @Test
+    void testOperationsWithItself() {
+        MutableBigInt value = new MutableBigInt(new BigInt("-123456789012345678901234567890"));
+        assertEquals("-246913578024691357802469135780", value.addInPlace(value).toString());
+        assertEquals("0", value.subtractInPlace(value).toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideShiftLeft")
+    void testShiftLeftInPlace(String number, int bits, String expected) {
+        assertEquals(expected, new MutableBigInt(new BigInt(number)).shiftLeftInPlace(bits).toString());
+    }
+
+    private static Stream<Arguments> provideShiftLeft() {
+        return Stream.of(
+                Arguments.of("0", 10, "0"),
+                Arguments.of("1", 100, "1267650600228229401496703205376"),
+                Arguments.of("-3", 33, "-25769803776"),
+                Arguments.of("123456789012345678901234567890", 64, "2277375791072698140248390838022561708011411210240"),
+                Arguments.of("123456789012345678901234567890", 1, "246913578024691357802469135780")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideShiftRight")
+    void testShiftRightInPlace(String number, int bits, String expected) {
+        assertEquals(expected, new MutableBigInt(new BigInt(number)).shiftRightInPlace(bits).toString());
+    }
+
+    private static Stream<Arguments> provideShiftRight() {
+        return Stream.of(
+                Arguments.of("0", 10, "0"),
+                Arguments.of("12345678901234567890123456789", 40, "11228329550462665"),
+                // negative values round towards negative infinity
+                Arguments.of("-12345678901234567890123456789", 40, "-11228329550462666"),
+                Arguments.of("-5", 1, "-3"),
+                Arguments.of("-4", 1, "-2"),
+                Arguments.of("-1", 500, "-1"),
+                Arguments.of("7", 500, "0"),
+                Arguments.of("18446744073709551616", 64, "1"),
+                Arguments.of("-18446744073709551616", 63, "-2")
+        );
+    }
+
+    @Test
+    void testShiftByNegativeDistance() {
+        MutableBigInt value = new MutableBigInt(new BigInt("5"));
+        assertThrows(IllegalArgumentException.class, () -> value.shiftLeftInPlace(-1));
+        assertThrows(IllegalArgumentException.class, () -> value.shiftRightInPlace(-1));
+    }
+
+    @Test
+    void testAccumulationMatchesImmutableArithmetic() {
+        Random random = new Random(5);
+        BigInt expected = new BigInt("0");
+        MutableBigInt accumulator = new MutableBigInt();
+        for (int i = 0; i < 2000; i++) {
+            BigInt term = new BigInt((random.nextBoolean() ? "-" : "") + (random.nextInt(Integer.MAX_VALUE) + 1)).pow(1 + random.nextInt(20));
+            switch (i % 4) {
+                case 0 -> {
+                    expected = expected.add(term);
+                    accumulator.addInPlace(term);
+                }
+                case 1 -> {
+                    expected = expected.subtract(term);
+                    accumulator.subtractInPlace(term);
+                }
+                case 2 -> {
+                    expected = expected.multiply(term).remainder(new BigInt("1" + "0".repeat(400)));
+                    accumulator.set(accumulator.multiplyInPlace(term).toBigInt().remainder(new BigInt("1" + "0".repeat(400))));
+                }
+                default -> {
+                    expected = expected.add(term.square());
+                    accumulator.addInPlace(term.square());
+                }
+            }
+            assertEquals(expected.toString(), accumulator.toString());
+        }
+    }
+}
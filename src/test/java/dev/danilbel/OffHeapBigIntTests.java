@@ -0,0 +1,115 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapBigIntTests {
+
+    private static Stream<Arguments> provideOperands() {
+        return Stream.of(
+                Arguments.of("0", "0"),
+                Arguments.of("0", "-5"),
+                Arguments.of("-5", "0"),
+                Arguments.of("4294967295", "1"),
+                Arguments.of("-18446744073709551615", "18446744073709551615"),
+                Arguments.of("123456789012345678901234567890", "-987654321098765432109876543210"),
+                Arguments.of("-340282366920938463463374607431768211456", "-340282366920938463463374607431768211455"),
+                Arguments.of("9".repeat(3000), "-" + "7".repeat(2500))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideOperands")
+    void testArithmeticInDirectArena(String first, String second) {
+        BigInt x = new BigInt(first);
+        BigInt y = new BigInt(second);
+        try (LimbArena arena = LimbArena.ofDirect()) {
+            OffHeapBigInt offHeapX = arena.copyOf(x);
+            OffHeapBigInt offHeapY = arena.copyOf(y);
+            assertEquals(x.add(y).toString(), offHeapX.add(offHeapY).toString());
+            assertEquals(x.subtract(y).toString(), offHeapX.subtract(offHeapY).toString());
+            assertEquals(y.subtract(x).toString(), offHeapY.subtract(offHeapX).toString());
+            assertEquals(x.multiply(y).toString(), offHeapX.multiply(offHeapY).toString());
+            assertEquals(x.square().toString(), offHeapX.multiply(offHeapX).toString());
+            assertEquals(x.negate().toString(), offHeapX.negate().toString());
+        }
+    }
+
+    @Test
+    void testArithmeticInMappedArena() throws IOException {
+        Path directory = Files.createTempDirectory("limbs");
+        BigInt x = new BigInt("-" + "12345678901234567890".repeat(100));
+        BigInt y = new BigInt("98765432109876543210".repeat(70));
+        try (LimbArena arena = LimbArena.ofMappedFiles(directory)) {
+            OffHeapBigInt offHeapX = arena.copyOf(x);
+            OffHeapBigInt offHeapY = arena.copyOf(y);
+            assertEquals(x.multiply(y).add(x).toString(), offHeapX.multiply(offHeapY).add(offHeapX).toString());
+            assertEquals(x.subtract(y).toString(), offHeapX.subtract(offHeapY).toString());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        Files.delete(directory);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBlockedLengths")
+    void testBlockedMultiplicationMatchesHeap(int xLength, int yLength, int blockLimbs) {
+        Random random = new Random(7L * xLength + yLength);
+        int[] x = new int[xLength];
+        int[] y = new int[yLength];
+        for (int i = 0; i < xLength; i++) {
+            x[i] = random.nextInt();
+        }
+        for (int i = 0; i < yLength; i++) {
+            y[i] = i % 5 == 0 ? 0 : -1;
+        }
+
+        IntBuffer result = ByteBuffer.allocateDirect(4 * (xLength + yLength)).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        OffHeapLimbs.multiply(IntBuffer.wrap(x), xLength, IntBuffer.wrap(y), yLength, result, blockLimbs);
+        int[] actual = new int[xLength + yLength];
+        result.get(0, actual);
+        assertArrayEquals(Limbs.multiply(x, xLength, y, yLength), actual);
+
+        IntBuffer square = ByteBuffer.allocateDirect(8 * xLength).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        IntBuffer xBuffer = IntBuffer.wrap(x);
+        OffHeapLimbs.multiply(xBuffer, xLength, xBuffer, xLength, square, blockLimbs);
+        int[] actualSquare = new int[2 * xLength];
+        square.get(0, actualSquare);
+        assertArrayEquals(Limbs.square(x, xLength), actualSquare);
+    }
+
+    private static Stream<Arguments> provideBlockedLengths() {
+        return Stream.of(
+                Arguments.of(10, 10, 3),
+                Arguments.of(100, 37, 16),
+                Arguments.of(257, 300, 64),
+                Arguments.of(1000, 1000, 1000)
+        );
+    }
+
+    @Test
+    void testClosedArena() {
+        LimbArena arena = LimbArena.ofDirect();
+        OffHeapBigInt value = arena.copyOf(new BigInt("123"));
+        arena.close();
+        assertThrows(IllegalStateException.class, value::toBigInt);
+        assertThrows(IllegalStateException.class, () -> value.add(value));
+        assertThrows(IllegalStateException.class, () -> arena.copyOf(new BigInt("1")));
+    }
+}
@@ -0,0 +1,122 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrimesTests {
+
+    private static boolean isPrimeByTrialDivision(long n) {
+        if (n < 2) {
+            return false;
+        }
+        for (long d = 2; d * d <= n; d++) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] limbsOf(long value) {
+        return Limbs.trimmed(new int[]{(int) value, (int) (value >>> 32)});
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideRanges")
+    void testIsProbablePrimeMatchesTrialDivision(long from, long to) {
+        for (long n = from; n < to; n++) {
+            int[] limbs = limbsOf(n);
+            assertEquals(isPrimeByTrialDivision(n), Primes.isProbablePrime(limbs, limbs.length, 100, null), "n = " + n);
+        }
+    }
+
+    private static Stream<Arguments> provideRanges() {
+        return Stream.of(
+                // the small prime table
+                Arguments.of(0L, 5_000L),
+                // trial division alone up to the square of the largest small prime
+                Arguments.of(16_700_000L, 16_760_000L),
+                // the Baillie-PSW test
+                Arguments.of(16_760_000L, 16_800_000L),
+                Arguments.of(4_294_967_000L, 4_294_970_000L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideComposites")
+    void testPseudoprimesAreRejected(long composite) {
+        int[] limbs = limbsOf(composite);
+        assertFalse(Primes.isProbablePrime(limbs, limbs.length, 100, null));
+    }
+
+    private static Stream<Arguments> provideComposites() {
+        return Stream.of(
+                // strong pseudoprimes to base 2 and further prime bases
+                Arguments.of(3_215_031_751L),
+                Arguments.of(2_152_302_898_747L),
+                Arguments.of(3_474_749_660_383L),
+                Arguments.of(341_550_071_728_321L),
+                Arguments.of(3_825_123_056_546_413_051L),
+                // squares of primes above the small primes, for which no Lucas discriminant exists
+                Arguments.of(4099L * 4099L),
+                Arguments.of(65521L * 65521L),
+                // a product of two primes
+                Arguments.of(4_294_967_291L * 1_000_003L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideSearchStarts")
+    void testNextProbablePrimeIsTheNextPrime(int length) {
+        Random random = new Random(length);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int round = 0; round < 5; round++) {
+                int[] start = new int[length];
+                for (int i = 0; i < length; i++) {
+                    start[i] = random.nextInt();
+                }
+                start = Limbs.trimmed(start);
+
+                int[] expected = Limbs.trimmed(Limbs.add(start, start.length, new int[]{1}, 1));
+                while (!Primes.isProbablePrime(expected, expected.length, 100, null)) {
+                    expected = Limbs.trimmed(Limbs.add(expected, expected.length, new int[]{1}, 1));
+                }
+                assertArrayEquals(expected, Primes.nextProbablePrime(start, start.length, 100, null));
+                assertArrayEquals(expected, Primes.nextProbablePrime(start, start.length, 100, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Stream<Arguments> provideSearchStarts() {
+        return Stream.of(
+                Arguments.of(1),
+                Arguments.of(2),
+                Arguments.of(4),
+                Arguments.of(16)
+        );
+    }
+
+    @Test
+    void testRandomProbablePrimesHaveTheRequestedLength() {
+        Random random = new Random(7);
+        for (int bits = 2; bits <= 130; bits++) {
+            int[] prime = Primes.randomProbablePrime(bits, 100, random, null);
+            assertEquals(bits, Limbs.bitLength(prime, prime.length));
+            assertTrue(Primes.isProbablePrime(prime, prime.length, 100, null));
+        }
+    }
+}
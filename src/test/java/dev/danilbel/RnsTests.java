@@ -0,0 +1,142 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RnsTests {
+
+    private static final BigInt ZERO = BigInt.valueOf(0);
+    private static final BigInt ONE = BigInt.valueOf(1);
+
+    private static BigInt randomValue(Random random, int bits) {
+        int length = (bits + 31) / 32;
+        return TestValues.randomValue(random, Bits.lowBits(TestValues.randomLimbs(random, length), length, bits));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBitLengths")
+    void testRoundTrip(int bitLength) {
+        RnsBasis basis = RnsBasis.forBitLength(bitLength);
+        Random random = new Random(bitLength);
+        for (int round = 0; round < 20; round++) {
+            BigInt value = randomValue(random, 1 + random.nextInt(bitLength));
+            assertEquals(value.toString(), basis.toRns(value).toBigInt().toString());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideBitLengths")
+    void testArithmeticMatchesBigInt(int bitLength) {
+        RnsBasis basis = RnsBasis.forBitLength(bitLength);
+        Random random = new Random(31L * bitLength);
+        int factorBits = Math.max(1, bitLength / 2 - 4);
+        BigInt expected = ZERO;
+        RnsBigInt actual = basis.toRns(ZERO);
+        for (int round = 0; round < 8; round++) {
+            BigInt x = randomValue(random, factorBits);
+            BigInt y = randomValue(random, factorBits);
+            expected = expected.add(x.multiply(y)).subtract(x.square()).add(y.negate());
+            RnsBigInt rnsX = basis.toRns(x);
+            RnsBigInt rnsY = basis.toRns(y);
+            actual = actual.add(rnsX.multiply(rnsY)).subtract(rnsX.square()).add(rnsY.negate());
+        }
+        assertEquals(expected.toString(), actual.toBigInt().toString());
+    }
+
+    private static Stream<Arguments> provideBitLengths() {
+        return Stream.of(
+                Arguments.of(1),
+                Arguments.of(20),
+                Arguments.of(63),
+                Arguments.of(64),
+                Arguments.of(100),
+                Arguments.of(1000),
+                Arguments.of(10000),
+                // past the direct conversion, the residues come from the remainder tree
+                Arguments.of(40000)
+        );
+    }
+
+    @Test
+    void testIntermediateValuesWrapAround() {
+        RnsBasis basis = RnsBasis.forBitLength(64);
+        BigInt big = ONE.shiftLeft(100);
+        RnsBigInt square = basis.toRns(big).square();
+        // 2^200 does not fit, but 2^200 - 2^200 + 5 does
+        BigInt value = square.subtract(square).add(basis.toRns(BigInt.valueOf(5))).toBigInt();
+        assertEquals("5", value.toString());
+    }
+
+    @Test
+    void testRangeIsSymmetric() {
+        RnsBasis basis = RnsBasis.forBitLength(64);
+        BigInt half = basis.modulus().shiftRight(1);
+        assertEquals(half.toString(), basis.toRns(half).toBigInt().toString());
+        assertEquals(half.negate().toString(), basis.toRns(half.negate()).toBigInt().toString());
+        assertEquals(half.negate().toString(), basis.toRns(half.add(ONE)).toBigInt().toString());
+    }
+
+    @Test
+    void testModulusCoversBitLength() {
+        for (int bitLength : new int[]{1, 29, 30, 58, 59, 1000}) {
+            RnsBasis basis = RnsBasis.forBitLength(bitLength);
+            assertEquals(true, basis.modulus().bitLength() > bitLength, "bit length " + bitLength);
+            assertEquals(true, basis.modulus().testBit(0));
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> RnsBasis.forBitLength(0));
+        assertThrows(IllegalArgumentException.class, () -> RnsBasis.forBitLength(Integer.MAX_VALUE));
+        RnsBigInt x = RnsBasis.forBitLength(64).toRns(ONE);
+        RnsBigInt y = RnsBasis.forBitLength(64).toRns(ONE);
+        assertThrows(IllegalArgumentException.class, () -> x.add(y));
+    }
+
+    @Test
+    void testVectorKernelsMatchScalar() {
+        assumeTrue(Limbs.VECTORIZED, "jdk.incubator.vector is not available");
+        RnsBasis basis = RnsBasis.forBitLength(600);
+        long[] primes = basis.primes;
+        long[] inverses = basis.inverses;
+        Random random = new Random(5);
+        int size = primes.length;
+        long[] x = new long[size];
+        long[] y = new long[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = Math.floorMod(random.nextLong(), primes[i]);
+            y[i] = i % 3 == 0 ? primes[i] - 1 : Math.floorMod(random.nextLong(), primes[i]);
+        }
+        long[] sum = new long[size];
+        long[] difference = new long[size];
+        long[] product = new long[size];
+        for (int i = 0; i < size; i++) {
+            sum[i] = (x[i] + y[i]) % primes[i];
+            difference[i] = Math.floorMod(x[i] - y[i], primes[i]);
+            product[i] = Residues.reduce(x[i] * y[i], primes[i], inverses[i]);
+        }
+        long[] result = new long[size];
+        int vectorized = VectorResidues.add(x, y, primes, result);
+        assertTrue(vectorized > 0);
+        assertArrayEquals(Arrays.copyOf(sum, vectorized), Arrays.copyOf(result, vectorized));
+        VectorResidues.subtract(x, y, primes, result);
+        assertArrayEquals(Arrays.copyOf(difference, vectorized), Arrays.copyOf(result, vectorized));
+        VectorResidues.multiply(x, y, primes, inverses, result);
+        assertArrayEquals(Arrays.copyOf(product, vectorized), Arrays.copyOf(result, vectorized));
+        // the scalar loops finish the channels after the last whole vector
+        assertArrayEquals(product, Residues.multiply(x, y, primes, inverses));
+    }
+}
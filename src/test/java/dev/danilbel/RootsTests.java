@@ -0,0 +1,94 @@
+package dev.danilbel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RootsTests {
+
+    private static int compare(int[] x, int[] y) {
+        return Limbs.compare(x, Limbs.normalizedLength(x, x.length), y, Limbs.normalizedLength(y, y.length));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLengthsAndDegrees")
+    void testRootIsFloorOfTheRealRoot(int length, int k) {
+        Random random = new Random(13L * length + k);
+        for (int round = 0; round < 10; round++) {
+            int[] x = TestValues.randomLimbs(random, length);
+            int[] root = Roots.root(x, length, k);
+            int[] rootPlusOne = Limbs.add(root, root.length, new int[]{1}, 1);
+            assertTrue(compare(Exponentiation.pow(root, root.length, k), x) <= 0, "root is too large");
+            assertTrue(compare(Exponentiation.pow(rootPlusOne, rootPlusOne.length, k), x) > 0, "root is too small");
+        }
+    }
+
+    private static Stream<Arguments> provideLengthsAndDegrees() {
+        return Stream.of(
+                Arguments.of(1, 2),
+                Arguments.of(2, 2),
+                Arguments.of(2, 3),
+                Arguments.of(3, 2),
+                Arguments.of(10, 2),
+                Arguments.of(10, 7),
+                Arguments.of(10, 100),
+                Arguments.of(300, 2),
+                Arguments.of(300, 3),
+                Arguments.of(300, 5000),
+                Arguments.of(3000, 2),
+                Arguments.of(3000, 17)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLengthsAndDegrees")
+    void testRootOfExactPower(int length, int k) {
+        Random random = new Random(17L * length + k);
+        int[] base = TestValues.randomLimbs(random, Math.max(1, length / k));
+        int[] power = Exponentiation.pow(base, base.length, k);
+        int[] root = Roots.root(power, Limbs.normalizedLength(power, power.length), k);
+        assertTrue(compare(base, root) == 0);
+
+        int[] powerMinusOne = Limbs.subtract(power, Limbs.normalizedLength(power, power.length), new int[]{1}, 1);
+        int[] rootBelow = Roots.root(powerMinusOne, Limbs.normalizedLength(powerMinusOne, powerMinusOne.length), k);
+        assertTrue(compare(Limbs.add(rootBelow, rootBelow.length, new int[]{1}, 1), base) == 0);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLengths")
+    void testSquaresPassThePrefilter(int length) {
+        Random random = new Random(length);
+        for (int round = 0; round < 100; round++) {
+            int[] x = TestValues.randomLimbs(random, length);
+            int[] square = Limbs.square(x, length);
+            assertTrue(Roots.mayBeSquare(square, Limbs.normalizedLength(square, square.length)));
+        }
+    }
+
+    private static Stream<Arguments> provideLengths() {
+        return Stream.of(
+                Arguments.of(1),
+                Arguments.of(2),
+                Arguments.of(7),
+                Arguments.of(50)
+        );
+    }
+
+    @Test
+    void testPrefilterRejectsMostNonSquares() {
+        int passed = 0;
+        for (int n = 1; n < 100_000; n++) {
+            int root = (int) Math.sqrt(n);
+            if (root * root != n && Roots.mayBeSquare(new int[]{n}, 1)) {
+                passed++;
+            }
+        }
+        assertTrue(passed < 2_000, passed + " non-squares passed");
+    }
+}
@@ -0,0 +1,45 @@
+package dev.danilbel;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * Random operands shared by the engine tests.
+ */
+final class TestValues {
+
+    private TestValues() {
+    }
+
+    static int[] randomLimbs(Random random, int length) {
+        return randomLimbs(length, random::nextInt);
+    }
+
+    /**
+     * Returns {@code length} limbs from {@code limbs}, with the top one replaced by 1 if it is zero so that
+     * the magnitude has exactly that length.
+     */
+    static int[] randomLimbs(int length, IntSupplier limbs) {
+        int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = limbs.getAsInt();
+        }
+        if (length > 0 && result[length - 1] == 0) {
+            result[length - 1] = 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the magnitude with a random sign.
+     */
+    static BigInt randomValue(Random random, int[] magnitude) {
+        int length = Limbs.normalizedLength(magnitude, magnitude.length);
+        return length == 0 ? BigInt.valueOf(0) : new BigInt(magnitude, length, random.nextBoolean());
+    }
+
+    static int[] trimmed(int[] limbs) {
+        return Arrays.copyOf(limbs, Limbs.normalizedLength(limbs, limbs.length));
+    }
+}
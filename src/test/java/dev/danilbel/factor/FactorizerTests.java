@@ -0,0 +1,153 @@
+package dev.danilbel.factor;
+
+import dev.danilbel.BigInt;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FactorizerTests {
+
+    private static final Race NO_RACE = new Race(Factorizer.Method.ELLIPTIC_CURVES, new Factorizer.Listener() {
+    });
+
+    private static BigInt productOf(List<String> factors) {
+        BigInt product = new BigInt(1);
+        for (String factor : factors) {
+            product = product.multiply(new BigInt(factor));
+        }
+        return product;
+    }
+
+    private static String asString(List<BigInt> factors) {
+        return factors.stream().map(BigInt::toString).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideFactorizations")
+    void testFactor(List<String> expected) {
+        List<BigInt> factors = new Factorizer().factor(productOf(expected));
+        assertEquals(expected.toString(), asString(factors));
+    }
+
+    private static Stream<Arguments> provideFactorizations() {
+        return Stream.of(
+                Arguments.of(List.of()),
+                Arguments.of(List.of("2")),
+                Arguments.of(List.of("2", "2", "2", "3", "3", "5")),
+                Arguments.of(List.of("65521", "65537")),
+                // 2^64 + 1
+                Arguments.of(List.of("274177", "67280421310721")),
+                // Mersenne primes 2^31 - 1 and 2^61 - 1
+                Arguments.of(List.of("2147483647", "2305843009213693951")),
+                Arguments.of(List.of("3", "1000003", "1000003", "1000003")),
+                Arguments.of(List.of("65537", "65537", "2147483647", "2147483647")),
+                Arguments.of(List.of("170141183460469231731687303715884105727"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideNonPositive")
+    void testFactorThrowsForNonPositive(String value) {
+        assertThrows(IllegalArgumentException.class, () -> new Factorizer().factor(new BigInt(value)));
+    }
+
+    private static Stream<Arguments> provideNonPositive() {
+        return Stream.of(Arguments.of("0"), Arguments.of("-1"), Arguments.of("-274177"));
+    }
+
+    @Test
+    void testFactorReportsToListener() {
+        Set<Factorizer.Method> started = ConcurrentHashMap.newKeySet();
+        List<BigInt> found = new ArrayList<>();
+        AtomicLong work = new AtomicLong();
+        Factorizer.Listener listener = new Factorizer.Listener() {
+            @Override
+            public void started(Factorizer.Method method, BigInt n) {
+                started.add(method);
+            }
+
+            @Override
+            public void progress(Factorizer.Method method, long total) {
+                work.accumulateAndGet(total, Math::max);
+            }
+
+            @Override
+            public synchronized void factorFound(Factorizer.Method method, BigInt factor) {
+                found.add(factor);
+            }
+        };
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            new Factorizer(pool, listener).factor(new BigInt("36893488147419103234"));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(Set.of(Factorizer.Method.TRIAL_DIVISION, Factorizer.Method.POLLARD_RHO), started);
+        assertEquals(2, found.size());
+        assertEquals("2", found.get(0).toString());
+        assertTrue(work.get() > 0);
+    }
+
+    @Test
+    void testPollardRhoFindsFactor() {
+        Modulus modulus = new Modulus(new BigInt("18446744073709551617"));
+        BigInt factor = PollardRho.findFactor(modulus, new BigInt(1), new BigInt(2), 1 << 20, NO_RACE);
+        assertEquals("274177", factor.toString());
+    }
+
+    @Test
+    void testPollardRhoStopsAfterMaxSteps() {
+        Modulus modulus = new Modulus(new BigInt("4951760154835678088235319297"));
+        assertNull(PollardRho.findFactor(modulus, new BigInt(1), new BigInt(2), 1_000, NO_RACE));
+    }
+
+    @Test
+    void testPollardPMinusOneFindsSmoothFactor() {
+        // p - 1 = 2^4 * 3^2 * 5 * 7 * 11 * 13 * 41 * 997 is 1000-smooth, q - 1 = 2 * 500000003 is not
+        BigInt p = new BigInt("29460871441");
+        BigInt q = new BigInt("1000000007");
+        Modulus modulus = new Modulus(p.multiply(q));
+        int[] primes = BigInt.primesUpTo(1_000);
+        assertEquals(p.toString(), PollardPMinusOne.findFactor(modulus, primes, 1_000, NO_RACE).toString());
+        assertNull(PollardPMinusOne.findFactor(modulus, primes, 500, NO_RACE));
+    }
+
+    @Test
+    void testEllipticCurvesFindFactor() {
+        Random random = new Random(7);
+        BigInt p = BigInt.probablePrime(28, random);
+        BigInt q = BigInt.probablePrime(100, random);
+        Modulus modulus = new Modulus(p.multiply(q));
+        int[] primes = BigInt.primesUpTo(2_000);
+        BigInt factor = null;
+        for (int sigma = 6; factor == null && sigma < 100; sigma++) {
+            factor = EllipticCurves.findFactor(modulus, primes, 2_000, 200_000, sigma, NO_RACE);
+        }
+        assertEquals(p.toString(), factor.toString());
+    }
+
+    @Test
+    void testEllipticCurvesStopWhenRaceIsOver() {
+        Race race = new Race(Factorizer.Method.ELLIPTIC_CURVES, new Factorizer.Listener() {
+        });
+        race.finish(new BigInt(3));
+        Modulus modulus = new Modulus(new BigInt("4951760154835678088235319297"));
+        assertNull(EllipticCurves.findFactor(modulus, BigInt.primesUpTo(2_000), 2_000, 200_000, 6, race));
+    }
+}
@@ -0,0 +1,111 @@
+package dev.danilbel;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * {@link Limbs} kernels on the incubating Vector API, which handle a whole vector of limbs per instruction.
+ * Additions and subtractions stay scalar: their carries chain from limb to limb, and resolving them
+ * from lane masks was slower than the plain carry loop.
+ * Only {@link Limbs} refers to this class, and only when the {@code jdk.incubator.vector} module is
+ * present, so the class is never loaded without it.
+ */
+final class VectorLimbs {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private static final long LONG_MASK = 0xFFFFFFFFL;
+
+    private VectorLimbs() {
+    }
+
+    /**
+     * Writes {@code x * y} into the first {@code xLength + yLength} limbs of {@code result}.
+     * Every row multiplies a vector of limbs of {@code y} by one limb of {@code x} and adds the low and high
+     * halves of the products into separate 64-bit column sums. The sums cannot overflow below 2^30 limbs,
+     * so the carries are deferred to a single pass at the end. {@code columns} is scratch space of at least
+     * {@code 3 * (xLength + yLength)} longs, for the low sums, the high sums and the widened operand.
+     */
+    static void multiplyInto(int[] x, int xLength, int[] y, int yLength, int[] result, long[] columns) {
+        if (xLength > yLength) {
+            // the rows run along y, so y should be the longer operand
+            multiplyInto(y, yLength, x, xLength, result, columns);
+            return;
+        }
+        int count = xLength + yLength;
+        int wide = 2 * count;
+        Arrays.fill(columns, 0, wide, 0);
+        for (int j = 0; j < yLength; j++) {
+            columns[wide + j] = y[j] & LONG_MASK;
+        }
+
+        for (int i = 0; i < xLength; i++) {
+            accumulateRow(x[i] & LONG_MASK, columns, wide, 0, yLength, i, count);
+        }
+        resolveCarries(columns, count, result);
+    }
+
+    /**
+     * Writes {@code x * x} into the first {@code 2 * length} limbs of {@code result}, with {@code columns} as
+     * in {@link #multiplyInto}. Only the products above the diagonal are summed; their columns are doubled
+     * before the squares of the limbs are added.
+     */
+    static void squareInto(int[] x, int length, int[] result, long[] columns) {
+        int count = 2 * length;
+        int wide = 2 * count;
+        Arrays.fill(columns, 0, wide, 0);
+        for (int j = 0; j < length; j++) {
+            columns[wide + j] = x[j] & LONG_MASK;
+        }
+
+        for (int i = 0; i < length - 1; i++) {
+            accumulateRow(columns[wide + i], columns, wide, i + 1, length, i, count);
+        }
+        for (int k = 0; k < wide; k++) {
+            columns[k] <<= 1;
+        }
+        for (int i = 0; i < length; i++) {
+            long square = columns[wide + i] * columns[wide + i];
+            columns[2 * i] += square & LONG_MASK;
+            columns[count + 2 * i] += square >>> 32;
+        }
+        resolveCarries(columns, count, result);
+    }
+
+    /**
+     * Adds {@code xi * y[j]} for {@code from <= j < to} into columns {@code offset + j}, split into halves.
+     * The widened {@code y} starts at {@code wide}, and the high halves are {@code count} after the low ones.
+     */
+    private static void accumulateRow(long xi, long[] columns, int wide, int from, int to, int offset, int count) {
+        if (xi == 0) {
+            return;
+        }
+        LongVector multiplier = LongVector.broadcast(LONGS, xi);
+        int j = from;
+        for (int bound = from + LONGS.loopBound(to - from); j < bound; j += LONGS.length()) {
+            LongVector product = LongVector.fromArray(LONGS, columns, wide + j).mul(multiplier);
+            int low = offset + j;
+            int high = count + offset + j;
+            LongVector.fromArray(LONGS, columns, low).add(product.and(LONG_MASK)).intoArray(columns, low);
+            LongVector.fromArray(LONGS, columns, high).add(product.lanewise(VectorOperators.LSHR, 32)).intoArray(columns, high);
+        }
+        for (; j < to; j++) {
+            long product = xi * columns[wide + j];
+            columns[offset + j] += product & LONG_MASK;
+            columns[count + offset + j] += product >>> 32;
+        }
+    }
+
+    private static void resolveCarries(long[] columns, int count, int[] result) {
+        // the high half of a product belongs to the next column
+        long carry = 0;
+        for (int k = 0; k < count; k++) {
+            carry += columns[k];
+            result[k] = (int) carry;
+            carry = (carry >>> 32) + columns[count + k];
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.danilbel;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link Residues} kernels on the incubating Vector API, one vector of channels per instruction.
+ * The conditional subtractions use the same sign trick as the scalar loops instead of lane masks.
+ * Every kernel fills the channels that make up whole vectors and returns where it stopped; the scalar
+ * loops of {@link Residues} finish the rest. Only {@link Residues} refers to this class, and only when
+ * the {@code jdk.incubator.vector} module is present, so the class is never loaded without it.
+ */
+final class VectorResidues {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private static final long LONG_MASK = 0xFFFFFFFFL;
+
+    private VectorResidues() {
+    }
+
+    static int residues(int[] x, int length, long[] primes, long[] inverses, long[] rSquares, long[] result) {
+        int bound = LONGS.loopBound(primes.length);
+        for (int j = length - 1; j >= 0; j--) {
+            long limb = x[j] & LONG_MASK;
+            for (int i = 0; i < bound; i += LONGS.length()) {
+                LongVector p = LongVector.fromArray(LONGS, primes, i);
+                LongVector inverse = LongVector.fromArray(LONGS, inverses, i);
+                LongVector rSquare = LongVector.fromArray(LONGS, rSquares, i);
+                LongVector sum = reduce(LongVector.fromArray(LONGS, result, i).mul(rSquare), p, inverse)
+                        .add(reduce(rSquare.mul(limb), p, inverse)).sub(p);
+                sum.add(sum.lanewise(VectorOperators.ASHR, 63).and(p)).intoArray(result, i);
+            }
+        }
+        return bound;
+    }
+
+    static int add(long[] x, long[] y, long[] primes, long[] result) {
+        int bound = LONGS.loopBound(x.length);
+        for (int i = 0; i < bound; i += LONGS.length()) {
+            LongVector p = LongVector.fromArray(LONGS, primes, i);
+            LongVector sum = LongVector.fromArray(LONGS, x, i).add(LongVector.fromArray(LONGS, y, i)).sub(p);
+            sum.add(sum.lanewise(VectorOperators.ASHR, 63).and(p)).intoArray(result, i);
+        }
+        return bound;
+    }
+
+    static int subtract(long[] x, long[] y, long[] primes, long[] result) {
+        int bound = LONGS.loopBound(x.length);
+        for (int i = 0; i < bound; i += LONGS.length()) {
+            LongVector p = LongVector.fromArray(LONGS, primes, i);
+            LongVector difference = LongVector.fromArray(LONGS, x, i).sub(LongVector.fromArray(LONGS, y, i));
+            difference.add(difference.lanewise(VectorOperators.ASHR, 63).and(p)).intoArray(result, i);
+        }
+        return bound;
+    }
+
+    static int multiply(long[] x, long[] y, long[] primes, long[] inverses, long[] result) {
+        int bound = LONGS.loopBound(x.length);
+        for (int i = 0; i < bound; i += LONGS.length()) {
+            LongVector p = LongVector.fromArray(LONGS, primes, i);
+            LongVector t = LongVector.fromArray(LONGS, x, i).mul(LongVector.fromArray(LONGS, y, i));
+            reduce(t, p, LongVector.fromArray(LONGS, inverses, i)).intoArray(result, i);
+        }
+        return bound;
+    }
+
+    private static LongVector reduce(LongVector t, LongVector p, LongVector inverse) {
+        LongVector q = t.and(LONG_MASK).mul(inverse).and(LONG_MASK);
+        LongVector u = t.add(q.mul(p)).lanewise(VectorOperators.LSHR, 32).sub(p);
+        return u.add(u.lanewise(VectorOperators.ASHR, 63).and(p));
+    }
+}